@@ -0,0 +1,165 @@
+package control;
+
+import entity.*;
+import data.DataChangeListener;
+import data.DataManager;
+import java.util.*;
+
+/**
+ * Manager providing type-ahead completions for internship titles, company names, and the IDs and names
+ * of students and company representatives.
+ * The completions come from prefix indexes built from the data manager's internships, students and
+ * company representatives when the manager is created, and kept up to date as entities are added,
+ * removed or renamed.
+ *
+ * @version 1.0
+ */
+public class AutocompleteManager implements DataChangeListener {
+    private PrefixIndex internshipTitles;
+    private PrefixIndex companyNames;
+    private PrefixIndex userIDs;
+    private PrefixIndex userNames;
+
+    /**
+     * Constructs an AutocompleteManager over the data held by the specified DataManager
+     * and registers it for changes to that data.
+     *
+     * @param dataManager the DataManager instance for accessing internship and user data
+     */
+    public AutocompleteManager(DataManager dataManager) {
+        this.internshipTitles = new PrefixIndex(true);
+        this.companyNames = new PrefixIndex(true);
+        this.userIDs = new PrefixIndex(false);
+        this.userNames = new PrefixIndex(true);
+
+        for (Internship internship : dataManager.getAllInternships()) {
+            entityAdded(internship);
+        }
+        for (Student student : dataManager.getAllStudents()) {
+            entityAdded(student);
+        }
+        for (CompanyRepresentative rep : dataManager.getAllCompanyReps()) {
+            entityAdded(rep);
+        }
+        dataManager.addDataChangeListener(this);
+    }
+
+    /**
+     * Completes an internship title from a prefix of the title or of any word in it.
+     *
+     * @param prefix the text typed so far (case-insensitive)
+     * @param limit the maximum number of completions to return
+     * @return a list of matching internship titles
+     */
+    public List<String> completeInternshipTitles(String prefix, int limit) {
+        return internshipTitles.complete(prefix, limit);
+    }
+
+    /**
+     * Completes an internship title from a prefix of the title or of any word in it, suggesting only
+     * the titles of the given internships, such as those available to a student.
+     *
+     * @param prefix the text typed so far (case-insensitive)
+     * @param limit the maximum number of completions to return
+     * @param internships the internships whose titles may be suggested
+     * @return a list of matching internship titles
+     */
+    public List<String> completeInternshipTitles(String prefix, int limit, Collection<Internship> internships) {
+        Set<String> titles = new HashSet<>();
+        for (Internship internship : internships) {
+            titles.add(internship.getTitle());
+        }
+        return internshipTitles.complete(prefix, limit, titles::contains);
+    }
+
+    /**
+     * Completes the name of a company offering internships or employing a company representative.
+     *
+     * @param prefix the text typed so far (case-insensitive)
+     * @param limit the maximum number of completions to return
+     * @return a list of matching company names
+     */
+    public List<String> completeCompanyNames(String prefix, int limit) {
+        return companyNames.complete(prefix, limit);
+    }
+
+    /**
+     * Completes the user ID of a student or company representative.
+     *
+     * @param prefix the start of the user ID (case-insensitive)
+     * @param limit the maximum number of completions to return
+     * @return a list of matching user IDs
+     */
+    public List<String> completeUserIDs(String prefix, int limit) {
+        return userIDs.complete(prefix, limit);
+    }
+
+    /**
+     * Completes the name of a student or company representative from a prefix of any word in the name.
+     *
+     * @param prefix the text typed so far (case-insensitive)
+     * @param limit the maximum number of completions to return
+     * @return a list of matching user names
+     */
+    public List<String> completeUserNames(String prefix, int limit) {
+        return userNames.complete(prefix, limit);
+    }
+
+    /**
+     * Indexes an entity that has been added to the data storage.
+     *
+     * @param entity the entity that was added
+     */
+    @Override
+    public void entityAdded(Object entity) {
+        if (entity instanceof Internship) {
+            Internship internship = (Internship) entity;
+            internshipTitles.add(internship.getTitle());
+            companyNames.add(internship.getCompanyName());
+        } else if (entity instanceof Student || entity instanceof CompanyRepresentative) {
+            User user = (User) entity;
+            userIDs.add(user.getUserID());
+            userNames.add(user.getName());
+            if (user instanceof CompanyRepresentative) {
+                companyNames.add(((CompanyRepresentative) user).getCompanyName());
+            }
+        }
+    }
+
+    /**
+     * Removes an entity that has been removed from the data storage from the indexes.
+     *
+     * @param entity the entity that was removed
+     */
+    @Override
+    public void entityRemoved(Object entity) {
+        if (entity instanceof Internship) {
+            Internship internship = (Internship) entity;
+            internshipTitles.remove(internship.getTitle());
+            companyNames.remove(internship.getCompanyName());
+        } else if (entity instanceof Student || entity instanceof CompanyRepresentative) {
+            User user = (User) entity;
+            userIDs.remove(user.getUserID());
+            userNames.remove(user.getName());
+            if (user instanceof CompanyRepresentative) {
+                companyNames.remove(((CompanyRepresentative) user).getCompanyName());
+            }
+        }
+    }
+
+    /**
+     * Re-indexes the title of an internship after it has been edited.
+     *
+     * @param entity the entity that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    @Override
+    public void entityChanged(Object entity, String property, Object oldValue, Object newValue) {
+        if (entity instanceof Internship && property.equals("title")) {
+            internshipTitles.remove((String) oldValue);
+            internshipTitles.add((String) newValue);
+        }
+    }
+}
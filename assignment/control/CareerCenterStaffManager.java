@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
  */
 public class CareerCenterStaffManager {
     private DataManager dataManager;
+    private QueryPlanner planner;
 
     /**
      * Constructs a CareerCenterStaffManager with the specified DataManager.
@@ -21,14 +22,7 @@ public class CareerCenterStaffManager {
      */
     public CareerCenterStaffManager(DataManager dataManager) {
         this.dataManager = dataManager;
-    }
-
-    /**
-     * Saves all current data to their respective file paths.
-     */
-    private void saveData() {
-        dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-        dataManager.saveActivityLogs("data/activitylogs.txt");
+        this.planner = new QueryPlanner(dataManager);
     }
 
     /**
@@ -68,7 +62,7 @@ public class CareerCenterStaffManager {
                     "Approved company rep registration", repID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -98,7 +92,7 @@ public class CareerCenterStaffManager {
                 "Rejected company rep registration", repID);
             dataManager.addActivityLog(log);
         }
-        saveData();
+        dataManager.saveChanges();
         return true;
     }
 
@@ -128,7 +122,7 @@ public class CareerCenterStaffManager {
                     "Approved internship", internshipID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -160,7 +154,7 @@ public class CareerCenterStaffManager {
                     "Rejected internship", internshipID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -172,9 +166,7 @@ public class CareerCenterStaffManager {
      * @return a list of internships with "Pending" status
      */
     public List<Internship> getPendingInternships() {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> internship.getStatus().equals("Pending"))
-                .collect(Collectors.toList());
+        return dataManager.getInternshipsByStatus("Pending");
     }
 
     /**
@@ -236,7 +228,7 @@ public class CareerCenterStaffManager {
                     "Approved withdrawal request", applicationID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -268,7 +260,7 @@ public class CareerCenterStaffManager {
                     "Rejected withdrawal request", applicationID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -285,10 +277,7 @@ public class CareerCenterStaffManager {
      */
     public List<Internship> getInternshipsByFilter(String status, String preferredMajor, 
                                                    String level) {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> status == null || internship.getStatus().equals(status))
-                .filter(internship -> preferredMajor == null || internship.getPreferredMajor().equals(preferredMajor))
-                .filter(internship -> level == null || internship.getLevel().equals(level))
-                .collect(Collectors.toList());
+        InternshipQuery query = new InternshipQuery().status(status).preferredMajor(preferredMajor).level(level);
+        return planner.plan(query).execute();
     }
 }
@@ -23,14 +23,6 @@ public class CompanyRepresentativeManager {
         this.dataManager = dataManager;
     }
 
-    /**
-     * Saves all current data to their respective file paths.
-     */
-    private void saveData() {
-        dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-        dataManager.saveActivityLogs("data/activitylogs.txt");
-    }
-
     /**
      * Creates a new internship for the specified company representative.
      * Each company representative can create a maximum of 5 internships.
@@ -64,7 +56,7 @@ public class CompanyRepresentativeManager {
             "Created internship: " + title, internshipID);
         dataManager.addActivityLog(log);
         
-        saveData();
+        dataManager.saveChanges();
 
         return true;
     }
@@ -119,7 +111,7 @@ public class CompanyRepresentativeManager {
                     "Approved application", applicationID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -151,7 +143,7 @@ public class CompanyRepresentativeManager {
                     "Rejected application", applicationID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -193,7 +185,7 @@ public class CompanyRepresentativeManager {
                     "Toggled internship visibility to " + (newVisibility ? "visible" : "hidden"), internshipID);
                 dataManager.addActivityLog(log);
             }
-            saveData();
+            dataManager.saveChanges();
             return true;
         }
         return false;
@@ -210,7 +202,7 @@ public class CompanyRepresentativeManager {
             LocalDate today = LocalDate.now();
             if (!today.isBefore(internship.getOpeningDate()) && !today.isAfter(internship.getClosingDate())) {
                 internship.setVisible(true);
-                saveData();
+                dataManager.saveChanges();
             }
         }
     }
@@ -285,7 +277,7 @@ public class CompanyRepresentativeManager {
             dataManager.addActivityLog(log);
         }
 
-        saveData();
+        dataManager.saveChanges();
         return true;
     }
 
@@ -309,7 +301,7 @@ public class CompanyRepresentativeManager {
         ActivityLog log = new ActivityLog(rep.getUserID(), "CompanyRepresentative",
             "Deleted internship: " + internship.getTitle(), internshipID);
         dataManager.addActivityLog(log);
-        saveData();
+        dataManager.saveChanges();
         return true;
     }
 }
@@ -0,0 +1,191 @@
+package control;
+
+import entity.*;
+import data.DataChangeListener;
+import data.DataManager;
+import java.util.*;
+
+/**
+ * Index of the internships students are eligible to apply for, grouped into buckets.
+ * Students with the same major who may apply for the same internship levels are eligible for exactly
+ * the same internships, so they share a bucket holding the approved, visible internships of their major
+ * at those levels that still have free slots. A bucket is built from the data manager the first time a
+ * student of that kind asks for it, and is then kept up to date as internships are added, removed or
+ * modified, by re-checking only the changed internship against the buckets of its major. The
+ * eligibility rule of a bucket is an {@link InternshipQuery}, which is planned to build the bucket and
+ * matched against changed internships afterwards. Internships keep the order in which they became
+ * eligible within a bucket.
+ *
+ * @version 1.0
+ */
+public class EligibilityIndex implements DataChangeListener {
+    /**
+     * The eligibility rule of a bucket and the internships currently satisfying it.
+     */
+    private static class Bucket {
+        private final InternshipQuery query;
+        private final Set<Internship> internships;
+
+        /**
+         * Constructs a Bucket.
+         *
+         * @param query the eligibility rule of the bucket
+         * @param internships the internships satisfying the rule
+         */
+        Bucket(InternshipQuery query, Set<Internship> internships) {
+            this.query = query;
+            this.internships = internships;
+        }
+    }
+
+    private DataManager dataManager;
+    private QueryPlanner planner;
+    private Map<String, Map<Set<String>, Bucket>> bucketsByMajor;
+
+    /**
+     * Constructs an empty EligibilityIndex over the internships held by the specified DataManager
+     * and registers it for changes to them.
+     *
+     * @param dataManager the DataManager instance for accessing internship data
+     */
+    public EligibilityIndex(DataManager dataManager) {
+        this.dataManager = dataManager;
+        this.planner = new QueryPlanner(dataManager);
+        this.bucketsByMajor = new HashMap<>();
+        dataManager.addDataChangeListener(this);
+    }
+
+    /**
+     * Returns the internships the student is eligible for: approved and visible internships of the
+     * student's major, at a level the student may apply for, with free slots. Dates are not checked.
+     *
+     * @param student the student
+     * @return an unmodifiable view of the eligible internships
+     */
+    public Collection<Internship> getEligibleInternships(Student student) {
+        String major = student.getMajor();
+        Set<String> levels = levelsFor(student);
+        Map<Set<String>, Bucket> buckets = bucketsByMajor.computeIfAbsent(major, key -> new HashMap<>());
+        Bucket bucket = buckets.get(levels);
+        if (bucket == null) {
+            InternshipQuery query = new InternshipQuery().status("Approved").preferredMajor(major).visible(true)
+                    .withFreeSlots().where("level in " + levels, internship -> levels.contains(internship.getLevel()));
+            bucket = new Bucket(query, new LinkedHashSet<>(planner.plan(query).execute()));
+            buckets.put(levels, bucket);
+        }
+        return Collections.unmodifiableSet(bucket.internships);
+    }
+
+    /**
+     * Adds an internship that has been added to the data storage to the buckets it is eligible for.
+     *
+     * @param entity the entity that was added
+     */
+    @Override
+    public void entityAdded(Object entity) {
+        if (entity instanceof Internship) {
+            update((Internship) entity, ((Internship) entity).getPreferredMajor());
+        }
+    }
+
+    /**
+     * Removes an internship that has been removed from the data storage from its buckets.
+     *
+     * @param entity the entity that was removed
+     */
+    @Override
+    public void entityRemoved(Object entity) {
+        if (entity instanceof Internship) {
+            removeFromMajor((Internship) entity, ((Internship) entity).getPreferredMajor());
+        }
+    }
+
+    /**
+     * Re-checks an internship after a property affecting its eligibility has changed,
+     * moving it to the buckets of its new major if its preferred major has changed.
+     * Internships that are no longer held by the data manager are ignored.
+     *
+     * @param entity the entity that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    @Override
+    public void entityChanged(Object entity, String property, Object oldValue, Object newValue) {
+        if (!(entity instanceof Internship)) {
+            return;
+        }
+        Internship internship = (Internship) entity;
+        if (dataManager.getInternship(internship.getInternshipID()) != internship) {
+            return;
+        }
+        switch (property) {
+            case "preferredMajor":
+                removeFromMajor(internship, (String) oldValue);
+                update(internship, (String) newValue);
+                break;
+            case "status":
+            case "visible":
+            case "level":
+            case "filledSlots":
+            case "numSlots":
+                update(internship, internship.getPreferredMajor());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Adds an internship to or removes it from each bucket of a major according to its eligibility.
+     *
+     * @param internship the internship to check
+     * @param major the preferred major of the internship
+     */
+    private void update(Internship internship, String major) {
+        Map<Set<String>, Bucket> buckets = bucketsByMajor.get(major);
+        if (buckets == null) {
+            return;
+        }
+        for (Bucket bucket : buckets.values()) {
+            if (bucket.query.matches(internship)) {
+                bucket.internships.add(internship);
+            } else {
+                bucket.internships.remove(internship);
+            }
+        }
+    }
+
+    /**
+     * Removes an internship from every bucket of a major.
+     *
+     * @param internship the internship to remove
+     * @param major the major whose buckets may hold the internship
+     */
+    private void removeFromMajor(Internship internship, String major) {
+        Map<Set<String>, Bucket> buckets = bucketsByMajor.get(major);
+        if (buckets == null) {
+            return;
+        }
+        for (Bucket bucket : buckets.values()) {
+            bucket.internships.remove(internship);
+        }
+    }
+
+    /**
+     * Returns the internship levels a student may apply for, which identify the student's bucket
+     * together with the student's major.
+     *
+     * @param student the student
+     * @return the display names of the allowed levels
+     */
+    private static Set<String> levelsFor(Student student) {
+        Set<String> levels = new HashSet<>();
+        for (InternshipLevel level : InternshipLevel.values()) {
+            if (student.canApplyForLevel(level.getDisplayName())) {
+                levels.add(level.getDisplayName());
+            }
+        }
+        return levels;
+    }
+}
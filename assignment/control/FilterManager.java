@@ -4,16 +4,47 @@ import entity.*;
 import data.DataManager;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 /**
  * Manager for filtering and sorting internship data based on various criteria.
  * Provides methods to search, filter, and sort internships by status, major, level, and other attributes.
+ * Query results are cached under a key made of the query and its normalized parameters, together with
+ * the internship version of the data manager they were computed at. A cached result is returned only
+ * while the version is unchanged, so any added, removed or edited internship makes the next query
+ * recompute its result. The least recently used results are evicted once the cache holds too many
+ * results or too many internships in total. Since cached lists are shared between callers, the lists
+ * returned by the query methods cannot be modified.
  *
  * @version 1.0
  */
 public class FilterManager {
+    private static final int CACHE_CAPACITY = 64;
+    private static final int CACHE_MAX_ROWS = 100000;
+
+    /**
+     * A query result together with the internship version it was computed at.
+     */
+    private static class CachedResult {
+        private final long version;
+        private final List<Internship> internships;
+
+        /**
+         * Constructs a CachedResult.
+         *
+         * @param version the internship version the result was computed at
+         * @param internships the unmodifiable result
+         */
+        CachedResult(long version, List<Internship> internships) {
+            this.version = version;
+            this.internships = internships;
+        }
+    }
+
     private DataManager dataManager;
+    private QueryPlanner planner;
+    private LinkedHashMap<String, CachedResult> cache;
+    private int cachedRows;
 
     /**
      * Constructs a FilterManager with the specified DataManager.
@@ -22,6 +53,8 @@ public class FilterManager {
      */
     public FilterManager(DataManager dataManager) {
         this.dataManager = dataManager;
+        this.planner = new QueryPlanner(dataManager);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
     }
 
     /**
@@ -33,39 +66,150 @@ public class FilterManager {
      * @param level the internship level to filter by (or null to skip)
      * @param closingDateBefore filter internships closing on or before this date (or null to skip)
      * @param sortAlphabetically if true, sorts results alphabetically by title
-     * @return a list of internships matching the specified criteria
+     * @return an unmodifiable list of internships matching the specified criteria
      */
     public List<Internship> filterInternships(String status, String preferredMajor, 
                                                String level, LocalDate closingDateBefore,
                                                boolean sortAlphabetically) {
-        List<Internship> filtered = dataManager.getAllInternships().stream()
-                .filter(internship -> status == null || internship.getStatus().equals(status))
-                .filter(internship -> preferredMajor == null || internship.getPreferredMajor().equals(preferredMajor))
-                .filter(internship -> level == null || internship.getLevel().equals(level))
-                .filter(internship -> closingDateBefore == null || !internship.getClosingDate().isAfter(closingDateBefore))
-                .collect(Collectors.toList());
-
-        if (sortAlphabetically) {
-            filtered.sort(Comparator.comparing(Internship::getTitle));
-        }
+        InternshipQuery query = new InternshipQuery().status(status).preferredMajor(preferredMajor).level(level)
+                .closingBetween(null, closingDateBefore)
+                .orderBy(sortAlphabetically ? InternshipQuery.Order.TITLE : InternshipQuery.Order.NONE);
+        return cached(key("filter", status, preferredMajor, level, closingDateBefore, sortAlphabetically),
+                () -> planner.plan(query).execute());
+    }
+
+    /**
+     * Retrieves the first internships, alphabetically by title, that match multiple criteria.
+     * Passing null for any criterion skips filtering on that attribute.
+     *
+     * @param status the internship status to filter by (or null to skip)
+     * @param preferredMajor the preferred major to filter by (or null to skip)
+     * @param level the internship level to filter by (or null to skip)
+     * @param closingDateBefore filter internships closing on or before this date (or null to skip)
+     * @param limit the maximum number of internships to return
+     * @return an unmodifiable list of at most limit matching internships sorted by title
+     */
+    public List<Internship> filterFirstInternships(String status, String preferredMajor, String level,
+                                                   LocalDate closingDateBefore, int limit) {
+        InternshipQuery query = new InternshipQuery().status(status).preferredMajor(preferredMajor).level(level)
+                .closingBetween(null, closingDateBefore).orderBy(InternshipQuery.Order.TITLE).limit(limit);
+        return cached(key("first", status, preferredMajor, level, closingDateBefore, limit),
+                () -> planner.plan(query).execute());
+    }
+
+    /**
+     * Runs a query built with {@link InternshipQuery}, reading the candidates from the cheapest index.
+     * Query results are not cached, since a query may hold arbitrary conditions.
+     *
+     * @param query the query to run
+     * @return a list of the internships matching the query, in its order and within its limit
+     */
+    public List<Internship> query(InternshipQuery query) {
+        return planner.plan(query).execute();
+    }
+
+    /**
+     * Describes how a query would be run: the index its candidates are read from, the conditions
+     * tested on them, how they are ordered, and the estimated cost of each access path considered.
+     *
+     * @param query the query to describe
+     * @return the multi-line description of the query plan
+     */
+    public String explain(InternshipQuery query) {
+        return planner.plan(query).explain();
+    }
 
-        return filtered;
+    /**
+     * Retrieves one page of the internships matching multiple criteria, alphabetically by title.
+     * Passing null for any criterion skips filtering on that attribute. Only the rows of the page are
+     * produced, starting right after the position recorded in the cursor.
+     *
+     * @param status the internship status to filter by (or null to skip)
+     * @param preferredMajor the preferred major to filter by (or null to skip)
+     * @param level the internship level to filter by (or null to skip)
+     * @param closingDateBefore filter internships closing on or before this date (or null to skip)
+     * @param cursor the next cursor of the previous page, or null for the first page
+     * @param limit the maximum number of internships on the page
+     * @return the page of matching internships
+     * @throws IllegalArgumentException if the cursor was not returned by a previous page
+     */
+    public InternshipPage filterInternships(String status, String preferredMajor, String level,
+                                            LocalDate closingDateBefore, String cursor, int limit) {
+        String[] after = InternshipPage.decode(cursor);
+        return new InternshipPage(dataManager.filterInternshipsByTitle(status, preferredMajor, level, null,
+                closingDateBefore, after[0], after[1], InternshipPage.rowsToRead(limit)), limit);
     }
 
     /**
      * Searches for internships by keyword in title, description, or company name.
+     * Every word of the keyword must start a word in one of those fields.
      * Results are sorted alphabetically by title.
      *
      * @param keyword the search keyword (case-insensitive)
-     * @return a list of internships matching the keyword
+     * @return an unmodifiable list of internships matching the keyword
      */
     public List<Internship> searchInternships(String keyword) {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> internship.getTitle().toLowerCase().contains(keyword.toLowerCase()) ||
-                        internship.getDescription().toLowerCase().contains(keyword.toLowerCase()) ||
-                        internship.getCompanyName().toLowerCase().contains(keyword.toLowerCase()))
-                .sorted(Comparator.comparing(Internship::getTitle))
-                .collect(Collectors.toList());
+        return cached(key("search", normalizeKeyword(keyword)),
+                () -> dataManager.sortByTitle(dataManager.searchInternships(keyword)));
+    }
+
+    /**
+     * Retrieves one page of the internships matching a keyword, alphabetically by title.
+     * Matching follows {@link #searchInternships(String)}; only the first rows after the position recorded
+     * in the cursor are kept while the matches are scanned, so the matches are never sorted in full.
+     *
+     * @param keyword the search keyword (case-insensitive)
+     * @param cursor the next cursor of the previous page, or null for the first page
+     * @param limit the maximum number of internships on the page
+     * @return the page of matching internships
+     * @throws IllegalArgumentException if the cursor was not returned by a previous page
+     */
+    public InternshipPage searchInternships(String keyword, String cursor, int limit) {
+        String[] after = InternshipPage.decode(cursor);
+        return new InternshipPage(dataManager.firstByTitle(dataManager.searchInternships(keyword),
+                after[0], after[1], InternshipPage.rowsToRead(limit)), limit);
+    }
+
+    /**
+     * Searches for internships by keyword, tolerating typos such as "Aple" or "Electircal".
+     * Every word of the keyword must be close to a word of the title, company name, or preferred major.
+     * Results are sorted alphabetically by title.
+     *
+     * @param keyword the search keyword (case-insensitive, possibly misspelled)
+     * @return an unmodifiable list of internships approximately matching the keyword
+     */
+    public List<Internship> fuzzySearchInternships(String keyword) {
+        return cached(key("fuzzy", normalizeKeyword(keyword)),
+                () -> dataManager.sortByTitle(dataManager.fuzzySearchInternships(keyword)));
+    }
+
+    /**
+     * Searches for internships by keyword and returns the most relevant matches first.
+     * Matching follows {@link #searchInternships(String)}; a keyword found in the title counts more than
+     * one found in the company name or description, and words that are rare across all internships count
+     * more than common ones.
+     *
+     * @param keyword the search keyword (case-insensitive)
+     * @param limit the maximum number of internships to return
+     * @return an unmodifiable list of at most limit internships in decreasing order of relevance
+     */
+    public List<Internship> rankInternships(String keyword, int limit) {
+        return cached(key("rank", normalizeKeyword(keyword), limit),
+                () -> dataManager.rankInternships(keyword, limit, null));
+    }
+
+    /**
+     * Searches among the specified internships by keyword and returns the most relevant matches first.
+     *
+     * @param keyword the search keyword (case-insensitive)
+     * @param limit the maximum number of internships to return
+     * @param candidates the internships that may be returned
+     * @return an unmodifiable list of at most limit internships in decreasing order of relevance
+     */
+    public List<Internship> rankInternships(String keyword, int limit, Collection<Internship> candidates) {
+        Set<Internship> allowed = Collections.newSetFromMap(new IdentityHashMap<>());
+        allowed.addAll(candidates);
+        return Collections.unmodifiableList(dataManager.rankInternships(keyword, limit, allowed::contains));
     }
 
     /**
@@ -73,13 +217,10 @@ public class FilterManager {
      * Results are sorted alphabetically by title.
      *
      * @param status the internship status to filter by
-     * @return a list of internships with the specified status
+     * @return an unmodifiable list of internships with the specified status
      */
     public List<Internship> getInternshipsByStatus(String status) {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> internship.getStatus().equals(status))
-                .sorted(Comparator.comparing(Internship::getTitle))
-                .collect(Collectors.toList());
+        return cached(key("status", status), () -> dataManager.sortByTitle(dataManager.getInternshipsByStatus(status)));
     }
 
     /**
@@ -87,13 +228,10 @@ public class FilterManager {
      * Results are sorted alphabetically by title.
      *
      * @param major the preferred major to filter by
-     * @return a list of internships for the specified major
+     * @return an unmodifiable list of internships for the specified major
      */
     public List<Internship> getInternshipsByMajor(String major) {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> internship.getPreferredMajor().equals(major))
-                .sorted(Comparator.comparing(Internship::getTitle))
-                .collect(Collectors.toList());
+        return cached(key("major", major), () -> dataManager.sortByTitle(dataManager.getInternshipsByMajor(major)));
     }
 
     /**
@@ -101,24 +239,111 @@ public class FilterManager {
      * Results are sorted alphabetically by title.
      *
      * @param level the internship level to filter by (Basic, Intermediate, or Advanced)
-     * @return a list of internships with the specified level
+     * @return an unmodifiable list of internships with the specified level
      */
     public List<Internship> getInternshipsByLevel(String level) {
-        return dataManager.getAllInternships().stream()
-                .filter(internship -> internship.getLevel().equals(level))
-                .sorted(Comparator.comparing(Internship::getTitle))
-                .collect(Collectors.toList());
+        return cached(key("level", level), () -> dataManager.sortByTitle(dataManager.getInternshipsByLevel(level)));
+    }
+
+    /**
+     * Retrieves the internships closing between today and the specified number of days from today.
+     * Results are ordered by closing date.
+     *
+     * @param days the number of days from today
+     * @return an unmodifiable list of internships closing within the period
+     */
+    public List<Internship> getInternshipsClosingWithin(int days) {
+        LocalDate today = LocalDate.now();
+        return cached(key("closing", today, days), () -> dataManager.getInternshipsClosingBetween(today, today.plusDays(days)));
+    }
+
+    /**
+     * Retrieves the internships opening within the specified date range.
+     * Results are ordered by opening date.
+     *
+     * @param from the earliest opening date, inclusive
+     * @param to the latest opening date, inclusive
+     * @return an unmodifiable list of internships opening within the range
+     */
+    public List<Internship> getInternshipsOpeningBetween(LocalDate from, LocalDate to) {
+        return cached(key("opening", from, to), () -> dataManager.getInternshipsOpeningBetween(from, to));
     }
 
     /**
      * Sorts the specified list of internships by their closing date in ascending order.
+     * Internships closing on the same day are ordered by internship ID.
      *
      * @param internships the list of internships to sort
      * @return a new sorted list of internships
      */
     public List<Internship> sortInternshipsByClosingDate(List<Internship> internships) {
-        return internships.stream()
-                .sorted(Comparator.comparing(Internship::getClosingDate))
-                .collect(Collectors.toList());
+        return dataManager.sortByClosingDate(internships);
+    }
+
+    /**
+     * Returns the cached result of a query if it is still current, or runs the query and caches its result.
+     * Results holding more than a tenth of the row budget are returned without being cached.
+     *
+     * @param key the normalized query key
+     * @param query the query computing the result
+     * @return the unmodifiable result of the query
+     */
+    private List<Internship> cached(String key, Supplier<List<Internship>> query) {
+        long version = dataManager.getInternshipVersion();
+        CachedResult result = cache.get(key);
+        if (result != null && result.version == version) {
+            return result.internships;
+        }
+        if (result != null) {
+            cache.remove(key);
+            cachedRows -= result.internships.size();
+        }
+
+        List<Internship> internships = Collections.unmodifiableList(query.get());
+        if (internships.size() <= CACHE_MAX_ROWS / 10) {
+            cache.put(key, new CachedResult(version, internships));
+            cachedRows += internships.size();
+            evict();
+        }
+        return internships;
+    }
+
+    /**
+     * Evicts the least recently used results until the cache is within its capacity and row budget.
+     */
+    private void evict() {
+        Iterator<CachedResult> eldest = cache.values().iterator();
+        while (cache.size() > CACHE_CAPACITY || cachedRows > CACHE_MAX_ROWS) {
+            cachedRows -= eldest.next().internships.size();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Builds a cache key from the name of a query and its parameters.
+     *
+     * @param query the name of the query
+     * @param parameters the query parameters, possibly null
+     * @return the cache key
+     */
+    private static String key(String query, Object... parameters) {
+        StringBuilder key = new StringBuilder(query);
+        for (Object parameter : parameters) {
+            key.append(parameter == null ? "\u0000" : "\u0001" + parameter);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Normalizes a keyword so that keywords differing only in case or spacing share a cache key.
+     *
+     * @param keyword the keyword, possibly null
+     * @return the lowercase keyword with runs of whitespace collapsed, or null
+     */
+    private static String normalizeKeyword(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        return keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,109 @@
+package control;
+
+import entity.Internship;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * One page of an internship listing sorted by title, together with the cursor of the next page.
+ * A cursor is an opaque string recording the title and ID of the last internship of a page; the next
+ * page starts right after that position, so it stays correct when internships are added or removed
+ * between pages, and reading a later page costs no more than reading the first one.
+ *
+ * @version 1.0
+ */
+public class InternshipPage {
+    private static final char SEPARATOR = '\u0000';
+
+    private final List<Internship> internships;
+    private final String nextCursor;
+
+    /**
+     * Constructs an InternshipPage from the rows read for a page.
+     * One row more than the page size should be read; it is dropped and only tells whether there is a next page.
+     *
+     * @param rows the internships read for the page, in title order
+     * @param limit the page size; a page size below one gives an empty last page
+     */
+    InternshipPage(List<Internship> rows, int limit) {
+        if (limit <= 0) {
+            rows = Collections.emptyList();
+            this.nextCursor = null;
+        } else if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Internship last = rows.get(limit - 1);
+            this.nextCursor = encode(last.getTitle() != null ? last.getTitle() : "", last.getInternshipID());
+        } else {
+            this.nextCursor = null;
+        }
+        this.internships = Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    /**
+     * Returns the internships on this page.
+     *
+     * @return an unmodifiable list of the internships in title order
+     */
+    public List<Internship> getInternships() {
+        return internships;
+    }
+
+    /**
+     * Returns the cursor to pass to read the next page.
+     *
+     * @return the cursor of the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether there is a page after this one.
+     *
+     * @return true if there is a next page, false otherwise
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Returns the number of rows to read for a page: one more than the page size.
+     *
+     * @param limit the page size
+     * @return the number of rows to read
+     */
+    static int rowsToRead(int limit) {
+        return limit < Integer.MAX_VALUE ? Math.max(limit, 0) + 1 : limit;
+    }
+
+    /**
+     * Decodes a cursor into the title and ID of the internship the page starts after.
+     *
+     * @param cursor the cursor returned by a previous page, or null for the first page
+     * @return a {title, internshipID} pair, or {null, null} for the first page
+     * @throws IllegalArgumentException if the cursor was not returned by a page
+     */
+    static String[] decode(String cursor) {
+        if (cursor == null) {
+            return new String[2];
+        }
+        String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = position.lastIndexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new String[] {position.substring(0, separator), position.substring(separator + 1)};
+    }
+
+    /**
+     * Encodes the position of an internship as a cursor.
+     *
+     * @param title the title of the internship
+     * @param internshipID the ID of the internship
+     * @return the cursor
+     */
+    private static String encode(String title, String internshipID) {
+        String position = title + SEPARATOR + internshipID;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,465 @@
+package control;
+
+import entity.Internship;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Composable description of an internship query: the conditions an internship must satisfy, the order
+ * of the results and the maximum number of results. A query only describes what is wanted; it is turned
+ * into a {@link QueryPlan} by a {@link QueryPlanner}, which decides which index to read the candidates
+ * from. Each condition method returns the query itself so that conditions can be chained, and passing
+ * null to a condition method skips that condition.
+ *
+ * @version 1.0
+ */
+public class InternshipQuery {
+    /**
+     * Orders in which query results can be returned.
+     */
+    public enum Order {
+        /** No particular order */
+        NONE,
+        /** Alphabetically by title, then by internship ID */
+        TITLE,
+        /** By closing date, earliest first */
+        CLOSING_DATE
+    }
+
+    /**
+     * Attributes a condition can restrict, used by the planner to tell which conditions an index covers.
+     */
+    enum Field {
+        STATUS, PREFERRED_MAJOR, LEVEL, COMPANY_NAME, VISIBLE, OPENING_DATE, CLOSING_DATE, FREE_SLOTS, CUSTOM
+    }
+
+    /**
+     * One condition of a query.
+     */
+    static class Condition {
+        private final Field field;
+        private final String description;
+        private final Predicate<Internship> predicate;
+
+        /**
+         * Constructs a Condition.
+         *
+         * @param field the attribute the condition restricts
+         * @param description the readable form of the condition
+         * @param predicate the test an internship must pass
+         */
+        Condition(Field field, String description, Predicate<Internship> predicate) {
+            this.field = field;
+            this.description = description;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Returns the attribute the condition restricts.
+         *
+         * @return the field
+         */
+        Field getField() {
+            return field;
+        }
+
+        /**
+         * Tests an internship against the condition.
+         *
+         * @param internship the internship to test
+         * @return true if the internship satisfies the condition
+         */
+        boolean test(Internship internship) {
+            return predicate.test(internship);
+        }
+
+        /**
+         * Returns the readable form of the condition.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private String status;
+    private String preferredMajor;
+    private String level;
+    private String companyName;
+    private Boolean visible;
+    private LocalDate openingFrom;
+    private LocalDate openingTo;
+    private LocalDate closingFrom;
+    private LocalDate closingTo;
+    private List<Condition> conditions;
+    private Order order;
+    private int limit;
+
+    /**
+     * Constructs a query matching every internship, in no particular order and without a limit.
+     */
+    public InternshipQuery() {
+        this.conditions = new ArrayList<>();
+        this.order = Order.NONE;
+        this.limit = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Restricts the query to internships with the specified status.
+     *
+     * @param status the internship status (or null to skip)
+     * @return this query
+     */
+    public InternshipQuery status(String status) {
+        if (status != null) {
+            this.status = status;
+            add(Field.STATUS, "status = " + status, internship -> status.equals(internship.getStatus()));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships for the specified preferred major.
+     *
+     * @param preferredMajor the preferred major (or null to skip)
+     * @return this query
+     */
+    public InternshipQuery preferredMajor(String preferredMajor) {
+        if (preferredMajor != null) {
+            this.preferredMajor = preferredMajor;
+            add(Field.PREFERRED_MAJOR, "preferredMajor = " + preferredMajor,
+                    internship -> preferredMajor.equals(internship.getPreferredMajor()));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships with the specified level.
+     *
+     * @param level the internship level (or null to skip)
+     * @return this query
+     */
+    public InternshipQuery level(String level) {
+        if (level != null) {
+            this.level = level;
+            add(Field.LEVEL, "level = " + level, internship -> level.equals(internship.getLevel()));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships offered by the specified company.
+     *
+     * @param companyName the company name (or null to skip)
+     * @return this query
+     */
+    public InternshipQuery companyName(String companyName) {
+        if (companyName != null) {
+            this.companyName = companyName;
+            add(Field.COMPANY_NAME, "companyName = " + companyName,
+                    internship -> companyName.equals(internship.getCompanyName()));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to visible or to hidden internships.
+     *
+     * @param visible true for visible internships only, false for hidden ones only (or null to skip)
+     * @return this query
+     */
+    public InternshipQuery visible(Boolean visible) {
+        if (visible != null) {
+            this.visible = visible;
+            add(Field.VISIBLE, "visible = " + visible, internship -> internship.isVisible() == visible);
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships opening within a date range.
+     *
+     * @param from the earliest opening date, inclusive (or null for no lower bound)
+     * @param to the latest opening date, inclusive (or null for no upper bound)
+     * @return this query
+     */
+    public InternshipQuery openingBetween(LocalDate from, LocalDate to) {
+        if (from != null || to != null) {
+            this.openingFrom = from;
+            this.openingTo = to;
+            add(Field.OPENING_DATE, describeRange("openingDate", from, to),
+                    internship -> isWithin(internship.getOpeningDate(), from, to));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships closing within a date range.
+     *
+     * @param from the earliest closing date, inclusive (or null for no lower bound)
+     * @param to the latest closing date, inclusive (or null for no upper bound)
+     * @return this query
+     */
+    public InternshipQuery closingBetween(LocalDate from, LocalDate to) {
+        if (from != null || to != null) {
+            this.closingFrom = from;
+            this.closingTo = to;
+            add(Field.CLOSING_DATE, describeRange("closingDate", from, to),
+                    internship -> isWithin(internship.getClosingDate(), from, to));
+        }
+        return this;
+    }
+
+    /**
+     * Restricts the query to internships that still have free slots.
+     *
+     * @return this query
+     */
+    public InternshipQuery withFreeSlots() {
+        add(Field.FREE_SLOTS, "has free slots", internship -> !internship.isFull());
+        return this;
+    }
+
+    /**
+     * Restricts the query with any other condition. No index can serve such a condition, so it is
+     * tested on the candidates read for the other conditions.
+     *
+     * @param description the readable form of the condition, shown by {@link QueryPlan#explain()}
+     * @param predicate the test an internship must pass
+     * @return this query
+     */
+    public InternshipQuery where(String description, Predicate<Internship> predicate) {
+        add(Field.CUSTOM, description, predicate);
+        return this;
+    }
+
+    /**
+     * Sets the order of the results.
+     *
+     * @param order the order of the results
+     * @return this query
+     */
+    public InternshipQuery orderBy(Order order) {
+        this.order = order != null ? order : Order.NONE;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of results.
+     *
+     * @param limit the maximum number of internships to return
+     * @return this query
+     */
+    public InternshipQuery limit(int limit) {
+        this.limit = Math.max(limit, 0);
+        return this;
+    }
+
+    /**
+     * Checks whether an internship satisfies every condition of the query.
+     *
+     * @param internship the internship to test
+     * @return true if the internship matches the query
+     */
+    public boolean matches(Internship internship) {
+        for (Condition condition : conditions) {
+            if (!condition.test(internship)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the readable form of the query.
+     *
+     * @return the conditions, order and limit of the query
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("internships");
+        if (!conditions.isEmpty()) {
+            text.append(" where ");
+            for (int i = 0; i < conditions.size(); i++) {
+                text.append(i > 0 ? " and " : "").append(conditions.get(i));
+            }
+        }
+        if (order != Order.NONE) {
+            text.append(", order by ").append(order.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        }
+        if (limit != Integer.MAX_VALUE) {
+            text.append(", limit ").append(limit);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the conditions of the query.
+     *
+     * @return the conditions in the order they were added
+     */
+    List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Checks whether the query has a condition on an attribute.
+     *
+     * @param field the attribute
+     * @return true if some condition restricts the attribute
+     */
+    boolean restricts(Field field) {
+        for (Condition condition : conditions) {
+            if (condition.getField() == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the status the query asks for.
+     *
+     * @return the status condition, or null if there is none
+     */
+    String getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the preferred major the query asks for.
+     *
+     * @return the preferred major condition, or null if there is none
+     */
+    String getPreferredMajor() {
+        return preferredMajor;
+    }
+
+    /**
+     * Returns the level the query asks for.
+     *
+     * @return the level condition, or null if there is none
+     */
+    String getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the company name the query asks for.
+     *
+     * @return the company name condition, or null if there is none
+     */
+    String getCompanyName() {
+        return companyName;
+    }
+
+    /**
+     * Returns the visibility the query asks for.
+     *
+     * @return the visibility condition, or null if there is none
+     */
+    Boolean getVisible() {
+        return visible;
+    }
+
+    /**
+     * Returns the earliest opening date the query asks for.
+     *
+     * @return the earliest opening date, or null for no lower bound
+     */
+    LocalDate getOpeningFrom() {
+        return openingFrom;
+    }
+
+    /**
+     * Returns the latest opening date the query asks for.
+     *
+     * @return the latest opening date, or null for no upper bound
+     */
+    LocalDate getOpeningTo() {
+        return openingTo;
+    }
+
+    /**
+     * Returns the earliest closing date the query asks for.
+     *
+     * @return the earliest closing date, or null for no lower bound
+     */
+    LocalDate getClosingFrom() {
+        return closingFrom;
+    }
+
+    /**
+     * Returns the latest closing date the query asks for.
+     *
+     * @return the latest closing date, or null for no upper bound
+     */
+    LocalDate getClosingTo() {
+        return closingTo;
+    }
+
+    /**
+     * Returns the order of the results.
+     *
+     * @return the order
+     */
+    Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the maximum number of results.
+     *
+     * @return the limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Adds a condition, replacing an earlier condition on the same attribute unless it is a custom one.
+     *
+     * @param field the attribute the condition restricts
+     * @param description the readable form of the condition
+     * @param predicate the test an internship must pass
+     */
+    private void add(Field field, String description, Predicate<Internship> predicate) {
+        if (field != Field.CUSTOM) {
+            conditions.removeIf(condition -> condition.getField() == field);
+        }
+        conditions.add(new Condition(field, description, predicate));
+    }
+
+    /**
+     * Checks whether a date lies within a range; a missing date lies within no range.
+     *
+     * @param date the date, or null
+     * @param from the first date, inclusive (or null for no lower bound)
+     * @param to the last date, inclusive (or null for no upper bound)
+     * @return true if the date is within the range
+     */
+    private static boolean isWithin(LocalDate date, LocalDate from, LocalDate to) {
+        return date != null && (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    /**
+     * Returns the readable form of a date range condition.
+     *
+     * @param property the name of the date property
+     * @param from the first date, or null
+     * @param to the last date, or null
+     * @return the description
+     */
+    private static String describeRange(String property, LocalDate from, LocalDate to) {
+        if (from == null) {
+            return property + " <= " + to;
+        }
+        if (to == null) {
+            return property + " >= " + from;
+        }
+        return property + " between " + from + " and " + to;
+    }
+}
@@ -0,0 +1,296 @@
+package control;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Sorted-array index answering prefix queries over a changing collection of strings.
+ * Every indexed text is stored under a lowercase key in two parallel arrays kept in key order, so
+ * the completions of a prefix are found with one binary search followed by a scan of the matching
+ * entries. Texts can optionally be found by the start of any of their words, in which case a text is
+ * stored once per word under the key running from that word to its end. Texts are reference counted,
+ * so the same text may be added by several entities and stays indexed until the last one removes it.
+ * Additions and removals are queued and applied at the next query: a few changes are inserted in place,
+ * while a large batch, such as the initial load, is sorted and merged into the arrays in one pass.
+ *
+ * @version 1.0
+ */
+public class PrefixIndex {
+    private static final int IN_PLACE_LIMIT = 64;
+    private static final Comparator<String[]> ENTRY_ORDER =
+            (entry1, entry2) -> compare(entry1[0], entry1[1], entry2[0], entry2[1]);
+
+    private final boolean matchWordStarts;
+    private final Map<String, Integer> counts;
+    private final List<String> pendingAdditions;
+    private final List<String> pendingRemovals;
+    private String[] keys;
+    private String[] texts;
+    private int size;
+
+    /**
+     * Constructs an empty PrefixIndex.
+     *
+     * @param matchWordStarts true to match prefixes of every word of a text, false to match prefixes of the whole text only
+     */
+    public PrefixIndex(boolean matchWordStarts) {
+        this.matchWordStarts = matchWordStarts;
+        this.counts = new HashMap<>();
+        this.pendingAdditions = new ArrayList<>();
+        this.pendingRemovals = new ArrayList<>();
+        this.keys = new String[16];
+        this.texts = new String[16];
+    }
+
+    /**
+     * Adds one reference to a text.
+     *
+     * @param text the text to add; null and blank texts are ignored
+     */
+    public void add(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+        if (counts.merge(text, 1, Integer::sum) == 1) {
+            pendingAdditions.add(text);
+        }
+    }
+
+    /**
+     * Removes one reference to a text; the text is no longer completed once every reference is removed.
+     *
+     * @param text the text to remove; texts that are not indexed are ignored
+     */
+    public void remove(String text) {
+        Integer count = text != null ? counts.get(text) : null;
+        if (count == null) {
+            return;
+        }
+        if (count == 1) {
+            counts.remove(text);
+            pendingRemovals.add(text);
+        } else {
+            counts.put(text, count - 1);
+        }
+    }
+
+    /**
+     * Returns the first indexed texts, in order of their matching keys, that start with the prefix,
+     * or that have a word starting with it if word starts are matched. Case is ignored.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit the maximum number of completions to return
+     * @return a list of at most limit distinct texts
+     */
+    public List<String> complete(String prefix, int limit) {
+        return complete(prefix, limit, text -> true);
+    }
+
+    /**
+     * Returns the first indexed texts accepted by a filter, in order of their matching keys, that start
+     * with the prefix, or that have a word starting with it if word starts are matched. Case is ignored.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit the maximum number of completions to return
+     * @param filter the test a text must pass to be returned
+     * @return a list of at most limit distinct texts
+     */
+    public List<String> complete(String prefix, int limit, Predicate<String> filter) {
+        applyPending();
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        Set<String> completions = new LinkedHashSet<>();
+        for (int i = lowerBound(key, ""); i < size && completions.size() < limit && keys[i].startsWith(key); i++) {
+            if (filter.test(texts[i])) {
+                completions.add(texts[i]);
+            }
+        }
+        return new ArrayList<>(completions);
+    }
+
+    /**
+     * Returns the number of distinct texts in the index.
+     *
+     * @return the number of indexed texts
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Applies the queued additions and removals to the sorted arrays.
+     * Additions are applied first; since a text is only queued for removal after it was queued for
+     * addition, every removal then finds its entries.
+     */
+    private void applyPending() {
+        if (!pendingAdditions.isEmpty()) {
+            List<String[]> entries = entriesOf(pendingAdditions);
+            pendingAdditions.clear();
+            if (entries.size() <= IN_PLACE_LIMIT) {
+                for (String[] entry : entries) {
+                    insert(entry);
+                }
+            } else {
+                merge(entries);
+            }
+        }
+        if (!pendingRemovals.isEmpty()) {
+            List<String[]> entries = entriesOf(pendingRemovals);
+            pendingRemovals.clear();
+            if (entries.size() <= IN_PLACE_LIMIT) {
+                for (String[] entry : entries) {
+                    delete(entry);
+                }
+            } else {
+                subtract(entries);
+            }
+        }
+    }
+
+    /**
+     * Returns the sorted key and text pairs to store for the given texts.
+     *
+     * @param batch the texts
+     * @return a new list of {key, text} pairs in key order
+     */
+    private List<String[]> entriesOf(List<String> batch) {
+        List<String[]> entries = new ArrayList<>();
+        for (String text : batch) {
+            entries.add(new String[] {text.trim().toLowerCase(Locale.ROOT), text});
+            for (int i = 1; matchWordStarts && i < text.length(); i++) {
+                if (Character.isLetterOrDigit(text.charAt(i)) && !Character.isLetterOrDigit(text.charAt(i - 1))) {
+                    entries.add(new String[] {text.substring(i).trim().toLowerCase(Locale.ROOT), text});
+                }
+            }
+        }
+        entries.sort(ENTRY_ORDER);
+        return entries;
+    }
+
+    /**
+     * Inserts one entry at its sorted position.
+     *
+     * @param entry the {key, text} pair to insert
+     */
+    private void insert(String[] entry) {
+        ensureCapacity(size + 1);
+        int position = lowerBound(entry[0], entry[1]);
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(texts, position, texts, position + 1, size - position);
+        keys[position] = entry[0];
+        texts[position] = entry[1];
+        size++;
+    }
+
+    /**
+     * Deletes one occurrence of an entry.
+     *
+     * @param entry the {key, text} pair to delete
+     */
+    private void delete(String[] entry) {
+        int position = lowerBound(entry[0], entry[1]);
+        if (position < size && keys[position].equals(entry[0]) && texts[position].equals(entry[1])) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(texts, position + 1, texts, position, size - position - 1);
+            size--;
+            keys[size] = null;
+            texts[size] = null;
+        }
+    }
+
+    /**
+     * Merges a sorted batch of entries into the arrays.
+     *
+     * @param entries the {key, text} pairs to add, in key order
+     */
+    private void merge(List<String[]> entries) {
+        int total = size + entries.size();
+        String[] mergedKeys = new String[Math.max(16, total)];
+        String[] mergedTexts = new String[mergedKeys.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j == entries.size() || (i < size && compare(keys[i], texts[i], entries.get(j)[0], entries.get(j)[1]) <= 0)) {
+                mergedKeys[k] = keys[i];
+                mergedTexts[k] = texts[i++];
+            } else {
+                mergedKeys[k] = entries.get(j)[0];
+                mergedTexts[k] = entries.get(j++)[1];
+            }
+        }
+        keys = mergedKeys;
+        texts = mergedTexts;
+        size = total;
+    }
+
+    /**
+     * Removes a sorted batch of entries from the arrays in one pass, one occurrence per entry.
+     *
+     * @param entries the {key, text} pairs to remove, in key order
+     */
+    private void subtract(List<String[]> entries) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < entries.size() && compare(entries.get(j)[0], entries.get(j)[1], keys[i], texts[i]) < 0) {
+                j++;
+            }
+            if (j < entries.size() && compare(entries.get(j)[0], entries.get(j)[1], keys[i], texts[i]) == 0) {
+                j++;
+                continue;
+            }
+            keys[kept] = keys[i];
+            texts[kept++] = texts[i];
+        }
+        Arrays.fill(keys, kept, size, null);
+        Arrays.fill(texts, kept, size, null);
+        size = kept;
+    }
+
+    /**
+     * Returns the position of the first entry not ordered before the given key and text.
+     *
+     * @param key the key
+     * @param text the text
+     * @return the insertion position, between 0 and the number of entries
+     */
+    private int lowerBound(String key, String text) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(keys[middle], texts[middle], key, text) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares two entries by key, then by text.
+     *
+     * @param key1 the key of the first entry
+     * @param text1 the text of the first entry
+     * @param key2 the key of the second entry
+     * @param text2 the text of the second entry
+     * @return a negative number, zero or a positive number as the first entry is ordered before, with or after the second
+     */
+    private static int compare(String key1, String text1, String key2, String text2) {
+        int byKey = key1.compareTo(key2);
+        return byKey != 0 ? byKey : text1.compareTo(text2);
+    }
+
+    /**
+     * Grows the arrays to hold at least the given number of entries.
+     *
+     * @param capacity the required capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int length = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, length);
+            texts = Arrays.copyOf(texts, length);
+        }
+    }
+}
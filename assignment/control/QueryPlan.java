@@ -0,0 +1,193 @@
+package control;
+
+import entity.Internship;
+import data.DataManager;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Execution plan of an {@link InternshipQuery}, produced by a {@link QueryPlanner}.
+ * A plan reads candidate internships through one access path, such as an attribute index, the bitmap
+ * intersection of several attributes, a date index, a walk of the title index or a full scan. It then
+ * tests the candidates against the conditions the access path does not already guarantee, orders
+ * them if the access path did not, and applies the limit. Testing a large number of candidates, such as
+ * in a full scan, is split across the data manager's scan pool without changing the order of the
+ * results. The estimates shown by {@link #explain()} reflect the index counts at the time the plan was made.
+ *
+ * @version 1.0
+ */
+public class QueryPlan {
+    /**
+     * A way of reading the candidate internships of a query, with its estimated cost.
+     */
+    static class AccessPath {
+        private final String description;
+        private final Set<InternshipQuery.Field> covered;
+        private final int estimatedRows;
+        private final double cost;
+        private final boolean ordered;
+        private final Supplier<? extends Collection<Internship>> fetch;
+
+        /**
+         * Constructs an AccessPath.
+         *
+         * @param description the readable form of the access path
+         * @param covered the attributes whose conditions every candidate is guaranteed to satisfy
+         * @param estimatedRows the estimated number of candidates
+         * @param cost the estimated cost of reading the candidates and putting them in the query's order
+         * @param ordered true if the candidates are already in the query's order
+         * @param fetch the function reading the candidates
+         */
+        AccessPath(String description, Set<InternshipQuery.Field> covered, int estimatedRows, double cost,
+                   boolean ordered, Supplier<? extends Collection<Internship>> fetch) {
+            this.description = description;
+            this.covered = covered;
+            this.estimatedRows = estimatedRows;
+            this.cost = cost;
+            this.ordered = ordered;
+            this.fetch = fetch;
+        }
+
+        /**
+         * Returns the estimated number of candidates.
+         *
+         * @return the estimated number of rows
+         */
+        int getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        /**
+         * Returns the estimated cost of the access path.
+         *
+         * @return the estimated cost
+         */
+        double getCost() {
+            return cost;
+        }
+
+        /**
+         * Returns the readable form of the access path with its estimates.
+         *
+         * @return the description
+         */
+        @Override
+        public String toString() {
+            return description + " (est. " + estimatedRows + " rows, cost " + Math.round(cost) + ")";
+        }
+    }
+
+    private InternshipQuery query;
+    private AccessPath access;
+    private List<AccessPath> alternatives;
+    private List<InternshipQuery.Condition> residual;
+    private DataManager dataManager;
+
+    /**
+     * Constructs a QueryPlan.
+     *
+     * @param query the query to execute
+     * @param access the chosen access path
+     * @param alternatives the access paths that were considered and rejected
+     * @param dataManager the DataManager used to order the results
+     */
+    QueryPlan(InternshipQuery query, AccessPath access, List<AccessPath> alternatives, DataManager dataManager) {
+        this.query = query;
+        this.access = access;
+        this.alternatives = alternatives;
+        this.dataManager = dataManager;
+        this.residual = new ArrayList<>();
+        for (InternshipQuery.Condition condition : query.getConditions()) {
+            if (!access.covered.contains(condition.getField())) {
+                residual.add(condition);
+            }
+        }
+    }
+
+    /**
+     * Executes the plan.
+     *
+     * @return a new list of the internships matching the query, in the query's order and within its limit
+     */
+    public List<Internship> execute() {
+        Collection<Internship> candidates = access.fetch.get();
+        List<Internship> rows;
+        if (residual.isEmpty()) {
+            rows = candidates instanceof ArrayList ? (List<Internship>) candidates : new ArrayList<>(candidates);
+        } else {
+            List<Internship> candidateList = candidates instanceof List ? (List<Internship>) candidates : new ArrayList<>(candidates);
+            rows = dataManager.scanInternships(candidateList, this::passesResidual);
+        }
+
+        int limit = query.getLimit();
+        if (!access.ordered) {
+            if (query.getOrder() == InternshipQuery.Order.TITLE) {
+                rows = dataManager.firstByTitle(rows, null, null, limit);
+            } else if (query.getOrder() == InternshipQuery.Order.CLOSING_DATE) {
+                rows = dataManager.sortByClosingDate(rows);
+            }
+        }
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    /**
+     * Describes how the plan reads, filters and orders the internships, and which other access paths
+     * were considered, with the estimated number of rows and cost of each.
+     *
+     * @return the multi-line description of the plan
+     */
+    public String explain() {
+        StringBuilder text = new StringBuilder();
+        text.append("Query: ").append(query).append('\n');
+        text.append("Access: ").append(access).append('\n');
+        text.append("Filter: ").append(residual.isEmpty() ? "none" : describe(residual)).append('\n');
+        text.append("Order: ");
+        if (query.getOrder() == InternshipQuery.Order.NONE) {
+            text.append("none");
+        } else if (access.ordered) {
+            text.append("provided by the access path");
+        } else if (query.getOrder() == InternshipQuery.Order.TITLE) {
+            text.append("title, keeping the first rows in a bounded heap");
+        } else {
+            text.append("closing date, sorted");
+        }
+        text.append('\n');
+        text.append("Rejected:");
+        if (alternatives.isEmpty()) {
+            text.append(" none");
+        }
+        for (AccessPath alternative : alternatives) {
+            text.append("\n  ").append(alternative);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks whether a candidate satisfies the conditions the access path does not guarantee.
+     *
+     * @param internship the candidate
+     * @return true if the candidate satisfies every residual condition
+     */
+    private boolean passesResidual(Internship internship) {
+        for (InternshipQuery.Condition condition : residual) {
+            if (!condition.test(internship)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Joins the readable forms of conditions.
+     *
+     * @param conditions the conditions
+     * @return the conditions joined with "and"
+     */
+    private static String describe(List<InternshipQuery.Condition> conditions) {
+        StringBuilder text = new StringBuilder();
+        for (InternshipQuery.Condition condition : conditions) {
+            text.append(text.length() > 0 ? " and " : "").append(condition);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package control;
+
+import entity.Internship;
+import data.DataManager;
+import data.InternshipIndex;
+import java.util.*;
+import java.util.function.Supplier;
+import control.InternshipQuery.Field;
+
+/**
+ * Cost-based planner turning an {@link InternshipQuery} into a {@link QueryPlan}.
+ * For every index that can serve a condition of the query, the planner asks the data manager how many
+ * internships the index would return and estimates the cost of reading them and, if needed, putting
+ * them in the query's order. The access paths considered are the attribute index of each equality
+ * condition, the intersection of the bitmap indexes of all conditions they support, the opening and
+ * closing date indexes, a walk of the title index for queries wanting the first few results by title,
+ * and a full scan, which is only chosen when no index applies or every index would return about as
+ * many internships. Costs count one unit per bitmap word combined, four per candidate read and one
+ * per condition tested on a candidate. The cheapest access path is used; the conditions it does not
+ * cover are tested on its candidates.
+ *
+ * @version 1.0
+ */
+public class QueryPlanner {
+    private static final int BITMAP_WORD_BITS = 64;
+    private static final int ROW_COST = 4;
+    private static final int COMPARISON_COST = 4;
+
+    private DataManager dataManager;
+
+    /**
+     * Constructs a QueryPlanner over the internships held by the specified DataManager.
+     *
+     * @param dataManager the DataManager instance for accessing internship data and index counts
+     */
+    public QueryPlanner(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * Plans a query.
+     *
+     * @param query the query to plan
+     * @return the cheapest plan found for the query
+     */
+    public QueryPlan plan(InternshipQuery query) {
+        int total = dataManager.getInternshipCount();
+        List<QueryPlan.AccessPath> paths = new ArrayList<>();
+
+        addIndexPath(paths, query, Field.STATUS, InternshipIndex.Attribute.STATUS, query.getStatus());
+        addIndexPath(paths, query, Field.PREFERRED_MAJOR, InternshipIndex.Attribute.PREFERRED_MAJOR, query.getPreferredMajor());
+        addIndexPath(paths, query, Field.LEVEL, InternshipIndex.Attribute.LEVEL, query.getLevel());
+        addIndexPath(paths, query, Field.COMPANY_NAME, InternshipIndex.Attribute.COMPANY_NAME, query.getCompanyName());
+        addBitmapPath(paths, query, total);
+        if (query.restricts(Field.CLOSING_DATE)) {
+            int rows = dataManager.countInternshipsClosingBetween(query.getClosingFrom(), query.getClosingTo());
+            boolean ordered = query.getOrder() == InternshipQuery.Order.CLOSING_DATE;
+            paths.add(path("closing date index", EnumSet.of(Field.CLOSING_DATE), rows, 0, ordered, query,
+                    () -> dataManager.getInternshipsClosingBetween(query.getClosingFrom(), query.getClosingTo())));
+        }
+        if (query.restricts(Field.OPENING_DATE)) {
+            int rows = dataManager.countInternshipsOpeningBetween(query.getOpeningFrom(), query.getOpeningTo());
+            paths.add(path("opening date index", EnumSet.of(Field.OPENING_DATE), rows, 0, false, query,
+                    () -> dataManager.getInternshipsOpeningBetween(query.getOpeningFrom(), query.getOpeningTo())));
+        }
+        addTitleWalkPath(paths, query, total);
+        paths.add(path("full scan", EnumSet.noneOf(Field.class), total, 0, false, query,
+                dataManager::getInternshipSnapshot));
+
+        QueryPlan.AccessPath best = paths.get(0);
+        for (QueryPlan.AccessPath candidate : paths) {
+            if (candidate.getCost() < best.getCost()) {
+                best = candidate;
+            }
+        }
+        paths.remove(best);
+        return new QueryPlan(query, best, paths, dataManager);
+    }
+
+    /**
+     * Adds the access path reading an attribute index, if the query has an equality condition on the attribute.
+     *
+     * @param paths the access paths considered so far
+     * @param query the query being planned
+     * @param field the attribute of the condition
+     * @param attribute the index attribute
+     * @param value the value the query asks for, or null if it has no condition on the attribute
+     */
+    private void addIndexPath(List<QueryPlan.AccessPath> paths, InternshipQuery query, Field field,
+                              InternshipIndex.Attribute attribute, String value) {
+        if (value == null) {
+            return;
+        }
+        int rows = dataManager.countInternships(attribute, value);
+        paths.add(path(field.name().toLowerCase(Locale.ROOT) + " index", EnumSet.of(field), rows, 0, false, query,
+                () -> {
+                    switch (attribute) {
+                        case STATUS:
+                            return dataManager.getInternshipsByStatus(value);
+                        case PREFERRED_MAJOR:
+                            return dataManager.getInternshipsByMajor(value);
+                        case LEVEL:
+                            return dataManager.getInternshipsByLevel(value);
+                        default:
+                            return dataManager.getInternshipsByCompany(value);
+                    }
+                }));
+    }
+
+    /**
+     * Adds the access path intersecting the bitmap indexes of the status, major, level, visibility and
+     * latest closing date conditions, if the query has at least one of them. The number of rows is
+     * exact, since counting the intersection only costs one pass over the bitmap words.
+     *
+     * @param paths the access paths considered so far
+     * @param query the query being planned
+     * @param total the number of internships
+     */
+    private void addBitmapPath(List<QueryPlan.AccessPath> paths, InternshipQuery query, int total) {
+        Set<Field> covered = EnumSet.noneOf(Field.class);
+        for (Field field : new Field[] {Field.STATUS, Field.PREFERRED_MAJOR, Field.LEVEL, Field.VISIBLE}) {
+            if (query.restricts(field)) {
+                covered.add(field);
+            }
+        }
+        boolean closing = query.getClosingTo() != null;
+        if (closing && query.getClosingFrom() == null) {
+            covered.add(Field.CLOSING_DATE);
+        }
+        if (covered.isEmpty() && !closing) {
+            return;
+        }
+
+        int bitmaps = covered.size() + (closing && !covered.contains(Field.CLOSING_DATE) ? 1 : 0);
+        int rows = dataManager.countInternships(query.getStatus(), query.getPreferredMajor(), query.getLevel(),
+                query.getVisible(), query.getClosingTo());
+        List<String> names = new ArrayList<>();
+        for (Field field : covered) {
+            names.add(field.name().toLowerCase(Locale.ROOT));
+        }
+        if (!covered.contains(Field.CLOSING_DATE) && closing) {
+            names.add("closing_date upper bound");
+        }
+        paths.add(path("bitmap intersection of " + String.join(", ", names), covered, rows,
+                (double) total / BITMAP_WORD_BITS * bitmaps, false, query,
+                () -> dataManager.filterInternships(query.getStatus(), query.getPreferredMajor(), query.getLevel(),
+                        query.getVisible(), query.getClosingTo())));
+    }
+
+    /**
+     * Adds the access path walking the title index and testing every condition, if the query wants
+     * a limited number of results by title. The walk is expected to visit about limit / (matches / total)
+     * internships, where the matches are estimated by the most selective of the other access paths.
+     *
+     * @param paths the access paths considered so far
+     * @param query the query being planned
+     * @param total the number of internships
+     */
+    private void addTitleWalkPath(List<QueryPlan.AccessPath> paths, InternshipQuery query, int total) {
+        if (query.getOrder() != InternshipQuery.Order.TITLE || query.getLimit() == Integer.MAX_VALUE) {
+            return;
+        }
+        int matches = total;
+        for (QueryPlan.AccessPath path : paths) {
+            matches = Math.min(matches, path.getEstimatedRows());
+        }
+        int limit = query.getLimit();
+        double walked = matches == 0 ? total : Math.min(total, (double) Math.min(limit, matches) * total / matches);
+        double cost = walked * (ROW_COST + query.getConditions().size());
+        paths.add(new QueryPlan.AccessPath("title index walk", EnumSet.allOf(Field.class), Math.min(limit, matches),
+                cost, true, () -> dataManager.firstInTitleOrder(query::matches, limit)));
+    }
+
+    /**
+     * Builds an access path. Its cost is the cost of searching the index, plus reading the candidates and
+     * testing them against the conditions the index does not cover, plus putting them in the query's order
+     * unless they already are.
+     *
+     * @param description the readable form of the access path
+     * @param covered the attributes whose conditions every candidate satisfies
+     * @param rows the estimated number of candidates
+     * @param indexCost the estimated cost of searching the index before reading the candidates
+     * @param ordered true if the candidates come in the query's order
+     * @param query the query being planned
+     * @param fetch the function reading the candidates
+     * @return the access path
+     */
+    private static QueryPlan.AccessPath path(String description, Set<Field> covered, int rows, double indexCost,
+                                             boolean ordered, InternshipQuery query,
+                                             Supplier<? extends Collection<Internship>> fetch) {
+        int residual = 0;
+        for (InternshipQuery.Condition condition : query.getConditions()) {
+            if (!covered.contains(condition.getField())) {
+                residual++;
+            }
+        }
+        double cost = indexCost + (double) rows * (ROW_COST + residual);
+        if (!ordered && query.getOrder() != InternshipQuery.Order.NONE && rows > 1) {
+            int kept = query.getOrder() == InternshipQuery.Order.TITLE ? Math.min(query.getLimit(), rows) : rows;
+            cost += (double) rows * (Math.log(kept + 1) / Math.log(2)) * COMPARISON_COST;
+        }
+        return new QueryPlan.AccessPath(description, covered, rows, cost, ordered, fetch);
+    }
+}
@@ -13,6 +13,7 @@ import java.time.LocalDate;
  */
 public class StudentManager {
     private DataManager dataManager;
+    private EligibilityIndex eligibility;
 
     /**
      * Constructs a StudentManager with the specified DataManager.
@@ -21,15 +22,7 @@ public class StudentManager {
      */
     public StudentManager(DataManager dataManager) {
         this.dataManager = dataManager;
-    }
-
-    /**
-     * Saves all current data and activity logs to their respective file paths.
-     * Persists students, staff, company representatives, internships, applications, and activity logs.
-     */
-    private void saveData() {
-        dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-        dataManager.saveActivityLogs("data/activitylogs.txt");
+        this.eligibility = new EligibilityIndex(dataManager);
     }
 
     /**
@@ -45,35 +38,42 @@ public class StudentManager {
 
     /**
      * Retrieves available internships for the specified student that match their major and level requirements.
+     * The internships are read from the bucket of the eligibility index shared by students with the same
+     * major and allowed levels, so only the dates of the eligible internships are checked here, in parallel
+     * when there are enough of them.
      *
      * @param student the student to get available internships for
      * @param openOnly if true, only returns internships currently open for applications; if false, returns all available
      * @return a list of available internships
      */
     public List<Internship> getAvailableInternships(Student student, boolean openOnly) {
-        List<Internship> availableInternships = new ArrayList<>();
-        LocalDate today = LocalDate.now();
-        
-        String studentMajor = student.getMajor();
-
-        for (Internship internship : dataManager.getAllInternships()) {
-            if (internship.isVisible() && 
-                internship.getStatus().equals("Approved") &&
-                internship.getPreferredMajor().equals(studentMajor) &&
-                student.canApplyForLevel(internship.getLevel()) &&
-                !internship.isFull()) {
-                
-                if (openOnly) {
-                    if (!today.isBefore(internship.getOpeningDate()) && !today.isAfter(internship.getClosingDate())) {
-                        availableInternships.add(internship);
-                    }
-                } else {
-                    availableInternships.add(internship);
-                }
-            }
+        List<Internship> eligibleInternships = new ArrayList<>(eligibility.getEligibleInternships(student));
+        if (!openOnly) {
+            return eligibleInternships;
         }
 
-        return availableInternships;
+        LocalDate today = LocalDate.now();
+        return dataManager.scanInternships(eligibleInternships, internship ->
+                !today.isBefore(internship.getOpeningDate()) && !today.isAfter(internship.getClosingDate()));
+    }
+
+    /**
+     * Retrieves one page of the available internships for the specified student, alphabetically by title.
+     * Only the rows of the page are produced, starting right after the position recorded in the cursor.
+     *
+     * @param student the student to get available internships for
+     * @param openOnly if true, only returns internships currently open for applications; if false, returns all available
+     * @param cursor the next cursor of the previous page, or null for the first page
+     * @param limit the maximum number of internships on the page
+     * @return the page of available internships
+     * @throws IllegalArgumentException if the cursor was not returned by a previous page
+     */
+    public InternshipPage getAvailableInternships(Student student, boolean openOnly, String cursor, int limit) {
+        String[] after = InternshipPage.decode(cursor);
+        Collection<Internship> candidates = openOnly ? getAvailableInternships(student, true)
+                : eligibility.getEligibleInternships(student);
+        return new InternshipPage(dataManager.firstByTitle(candidates, after[0], after[1],
+                InternshipPage.rowsToRead(limit)), limit);
     }
 
     /**
@@ -114,7 +114,7 @@ public class StudentManager {
             "Applied for internship: " + internship.getTitle(), internshipID);
         dataManager.addActivityLog(log);
         
-        saveData();
+        dataManager.saveChanges();
 
         return true;
     }
@@ -139,7 +139,7 @@ public class StudentManager {
                 ActivityLog log = new ActivityLog(student.getUserID(), "Student",
                     "Requested withdrawal for application", applicationID);
                 dataManager.addActivityLog(log);
-                saveData();
+                dataManager.saveChanges();
                 return true;
             }
         }
@@ -185,7 +185,7 @@ public class StudentManager {
                     "Accepted placement for internship", app.getInternshipID());
                 dataManager.addActivityLog(log);
                 
-                saveData();
+                dataManager.saveChanges();
                 return true;
             }
         }
@@ -0,0 +1,396 @@
+package data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import entity.ActivityLog;
+
+/**
+ * Compressed, seekable archive of a closed activity log segment.
+ * The records are written in the same pipe-separated text format as the segment, but grouped into
+ * blocks of about 64 KB that are each compressed on their own with {@link Deflater}. Every block is
+ * primed with the same preset dictionary of the user types and activity descriptions the application
+ * writes, so even the first records of a block compress well. A block index at the end of the file
+ * records the position, length, checksum, entry count and timestamp range of each block, so a reader
+ * can decompress only the blocks that overlap a time range.
+ * <p>
+ * Layout: header (magic, version), compressed blocks, block index, trailer (index position, block
+ * count, entry count, earliest and latest timestamp, magic).
+ *
+ * @version 1.0
+ */
+public class ActivityLogArchive {
+    private static final int MAGIC = 0x49414C41;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int TRAILER_SIZE = 8 + 4 + 4 + 12 + 12 + 4;
+    private static final int BLOCK_INDEX_ENTRY_SIZE = 8 + 4 + 4 + 4 + 4 + 12 + 12;
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * Preset dictionary shared by every block. Deflate finds matches closer to the end of the
+     * dictionary more cheaply, so the most frequent strings come last.
+     */
+    private static final byte[] DICTIONARY = String.join("|",
+            "Rejected company rep registration", "Approved company rep registration",
+            "Updated internship details", "Deleted internship: ", "Created internship: ",
+            "Approved internship", "Rejected internship", "Accepted placement for internship",
+            "Requested withdrawal for application", "Approved withdrawal request", "Rejected withdrawal request",
+            "Toggled internship visibility to visible", "Changed password", "Approved application",
+            "Rejected application", "Applied for internship: ", "Toggled internship visibility to hidden",
+            "Student", "CareerCenterStaff", "CompanyRepresentative")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final String filePath;
+    private final Charset charset;
+    private final int count;
+    private final LocalDateTime minTimestamp;
+    private final LocalDateTime maxTimestamp;
+    private final Block[] blocks;
+
+    /**
+     * Location and summary of one compressed block.
+     */
+    private static class Block {
+        private long offset;
+        private int compressedLength;
+        private int rawLength;
+        private int checksum;
+        private int count;
+        private LocalDateTime minTimestamp;
+        private LocalDateTime maxTimestamp;
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            if (minTimestamp == null) {
+                return true;
+            }
+            return (from == null || !maxTimestamp.isBefore(from)) && (to == null || !minTimestamp.isAfter(to));
+        }
+    }
+
+    /**
+     * Opens an archive and reads its trailer and block index. The blocks themselves are read on demand.
+     *
+     * @param filePath the path of the archive file
+     * @throws IOException if the file cannot be read or is not a valid archive
+     */
+    public ActivityLogArchive(String filePath) throws IOException {
+        this.filePath = filePath;
+        this.charset = Charset.defaultCharset();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw new IOException("Activity log archive is truncated: " + filePath);
+            }
+            ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long indexOffset = trailer.getLong();
+            int blockCount = trailer.getInt();
+            this.count = trailer.getInt();
+            this.minTimestamp = getTimestamp(trailer);
+            this.maxTimestamp = getTimestamp(trailer);
+            if (trailer.getInt() != MAGIC || blockCount < 0
+                    || indexOffset + (long) blockCount * BLOCK_INDEX_ENTRY_SIZE != size - TRAILER_SIZE) {
+                throw new IOException("Not a valid activity log archive: " + filePath);
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a valid activity log archive: " + filePath);
+            }
+
+            ByteBuffer index = readFully(channel, indexOffset, blockCount * BLOCK_INDEX_ENTRY_SIZE);
+            this.blocks = new Block[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                Block block = new Block();
+                block.offset = index.getLong();
+                block.compressedLength = index.getInt();
+                block.rawLength = index.getInt();
+                block.checksum = index.getInt();
+                block.count = index.getInt();
+                block.minTimestamp = getTimestamp(index);
+                block.maxTimestamp = getTimestamp(index);
+                blocks[i] = block;
+            }
+        }
+    }
+
+    /**
+     * Writes activity logs to a new archive file, replacing any file at that path.
+     *
+     * @param logs the activity logs to archive, in order
+     * @param filePath the path of the archive file
+     * @return the size of the archive in bytes
+     * @throws IOException if the file cannot be written
+     */
+    public static long write(Iterator<ActivityLog> logs, String filePath) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        String lineSeparator = System.lineSeparator();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        CRC32 crc = new CRC32();
+        List<Block> blocks = new ArrayList<>();
+        Block total = new Block();
+        StringBuilder text = new StringBuilder(BLOCK_SIZE + 256);
+        byte[] output = new byte[BLOCK_SIZE];
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(channel, header);
+
+            Block block = new Block();
+            while (logs.hasNext()) {
+                ActivityLog log = logs.next();
+                text.append(ActivityLogSink.format(log)).append(lineSeparator);
+                include(block, log.getTimestamp());
+                include(total, log.getTimestamp());
+                if (text.length() >= BLOCK_SIZE) {
+                    blocks.add(writeBlock(channel, block, text, charset, deflater, crc, output));
+                    block = new Block();
+                }
+            }
+            if (text.length() > 0) {
+                blocks.add(writeBlock(channel, block, text, charset, deflater, crc, output));
+            }
+
+            long indexOffset = channel.position();
+            ByteBuffer index = ByteBuffer.allocate(blocks.size() * BLOCK_INDEX_ENTRY_SIZE + TRAILER_SIZE);
+            for (Block written : blocks) {
+                index.putLong(written.offset).putInt(written.compressedLength).putInt(written.rawLength)
+                     .putInt(written.checksum).putInt(written.count);
+                putTimestamp(index, written.minTimestamp);
+                putTimestamp(index, written.maxTimestamp);
+            }
+            index.putLong(indexOffset).putInt(blocks.size()).putInt(total.count);
+            putTimestamp(index, total.minTimestamp);
+            putTimestamp(index, total.maxTimestamp);
+            index.putInt(MAGIC).flip();
+            writeFully(channel, index);
+            channel.force(false);
+            return channel.position();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the number of activity logs in the archive.
+     *
+     * @return the entry count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the earliest timestamp in the archive.
+     *
+     * @return the earliest timestamp, or null if the archive is empty
+     */
+    public LocalDateTime getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    /**
+     * Returns the latest timestamp in the archive.
+     *
+     * @return the latest timestamp, or null if the archive is empty
+     */
+    public LocalDateTime getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Returns the number of compressed blocks in the archive.
+     *
+     * @return the block count
+     */
+    public int getBlockCount() {
+        return blocks.length;
+    }
+
+    /**
+     * Reads the activity logs of every block that overlaps a time range, in order.
+     * Blocks outside the range are skipped without being read, so the result may still contain
+     * activity logs outside the range that share a block with ones inside it.
+     *
+     * @param from the earliest timestamp of interest, or null for no lower bound
+     * @param to the latest timestamp of interest, or null for no upper bound
+     * @return the activity logs of the overlapping blocks
+     * @throws IOException if a block cannot be read or is corrupt
+     */
+    public List<ActivityLog> read(LocalDateTime from, LocalDateTime to) throws IOException {
+        List<ActivityLog> logs = new ArrayList<>();
+        Inflater inflater = new Inflater(true);
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            for (Block block : blocks) {
+                if ((from != null || to != null) && !block.overlaps(from, to)) {
+                    continue;
+                }
+                ByteBuffer compressed = readFully(channel, block.offset, block.compressedLength);
+                byte[] raw = new byte[block.rawLength];
+                inflater.reset();
+                inflater.setDictionary(DICTIONARY);
+                inflater.setInput(compressed.array(), 0, block.compressedLength);
+                int inflated = 0;
+                try {
+                    while (inflated < raw.length && !inflater.finished()) {
+                        int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        inflated += n;
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Corrupt block in activity log archive " + filePath + ": " + e.getMessage());
+                }
+                crc.reset();
+                crc.update(raw, 0, inflated);
+                if (inflated != raw.length || (int) crc.getValue() != block.checksum) {
+                    throw new IOException("Corrupt block in activity log archive " + filePath);
+                }
+
+                CharBuffer chars = charset.decode(ByteBuffer.wrap(raw));
+                try (PipeRecordReader reader = new PipeRecordReader(
+                        new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()))) {
+                    while (reader.nextRecord()) {
+                        ActivityLog log = ActivityLogStore.readRecord(reader);
+                        if (log != null) {
+                            logs.add(log);
+                        }
+                    }
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+        return logs;
+    }
+
+    /**
+     * Compresses the buffered text as one block, writes it and clears the buffer.
+     *
+     * @param channel the channel of the archive file
+     * @param block the summary of the records in the buffer
+     * @param text the buffered records
+     * @param charset the charset the records are encoded with
+     * @param deflater the deflater, reset for each block
+     * @param crc the checksum, reset for each block
+     * @param output a scratch buffer for compressed output
+     * @return the completed block summary
+     * @throws IOException if the block cannot be written
+     */
+    private static Block writeBlock(FileChannel channel, Block block, StringBuilder text, Charset charset,
+                                    Deflater deflater, CRC32 crc, byte[] output) throws IOException {
+        byte[] raw = text.toString().getBytes(charset);
+        text.setLength(0);
+        crc.reset();
+        crc.update(raw, 0, raw.length);
+        block.offset = channel.position();
+        block.rawLength = raw.length;
+        block.checksum = (int) crc.getValue();
+
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(raw);
+        deflater.finish();
+        long written = 0;
+        while (!deflater.finished()) {
+            int n = deflater.deflate(output);
+            writeFully(channel, ByteBuffer.wrap(output, 0, n));
+            written += n;
+        }
+        block.compressedLength = (int) written;
+        return block;
+    }
+
+    /**
+     * Adds a record's timestamp to a block summary.
+     *
+     * @param block the block summary
+     * @param timestamp the timestamp of the record
+     */
+    private static void include(Block block, LocalDateTime timestamp) {
+        block.count++;
+        if (timestamp != null) {
+            if (block.minTimestamp == null || timestamp.isBefore(block.minTimestamp)) {
+                block.minTimestamp = timestamp;
+            }
+            if (block.maxTimestamp == null || timestamp.isAfter(block.maxTimestamp)) {
+                block.maxTimestamp = timestamp;
+            }
+        }
+    }
+
+    /**
+     * Writes a timestamp as epoch seconds followed by nanoseconds.
+     *
+     * @param buffer the buffer to write to
+     * @param timestamp the timestamp, or null
+     */
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            buffer.putLong(NULL_TIMESTAMP).putInt(0);
+        } else {
+            buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        }
+    }
+
+    /**
+     * Reads a timestamp written by {@link #putTimestamp(ByteBuffer, LocalDateTime)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the timestamp, or null
+     */
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * Reads a range of bytes from the file.
+     *
+     * @param channel the channel of the archive file
+     * @param position the position of the first byte
+     * @param length the number of bytes to read
+     * @return a buffer holding the bytes, positioned at the start
+     * @throws IOException if the range cannot be read
+     */
+    private ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Activity log archive is truncated: " + filePath);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the whole buffer to the channel.
+     *
+     * @param channel the channel of the archive file
+     * @param buffer the bytes to write
+     * @throws IOException if the channel cannot be written
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
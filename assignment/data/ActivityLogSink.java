@@ -0,0 +1,295 @@
+package data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import entity.ActivityLog;
+
+/**
+ * Append-only writer for the activity log file.
+ * Activity logs are never changed once written, so instead of rewriting the whole file on every save,
+ * the sink remembers how many entries and bytes of the file are already persisted and only appends
+ * the entries added since. The byte length of the valid part of the file is kept in a separate
+ * high-water mark file; readers ignore anything past it, so a torn append left behind by a crash is
+ * simply overwritten by the next one. Because the persisted part never changes, the same file can be
+ * shared by several snapshot generations, each with its own high-water mark. The file is only
+ * rewritten in full by {@link #compact(List)}.
+ *
+ * @version 1.0
+ */
+public class ActivityLogSink {
+    private static final String MARK_EXTENSION = ".hwm";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private String filePath;
+    private int persistedCount;
+    private long persistedBytes;
+    private final Charset charset;
+
+    /**
+     * Constructs an ActivityLogSink for a file whose first bytes already hold the first entries of the log.
+     *
+     * @param filePath the path to the activity log file
+     * @param persistedCount the number of log entries already in the file
+     * @param persistedBytes the number of bytes those entries occupy
+     */
+    public ActivityLogSink(String filePath, int persistedCount, long persistedBytes) {
+        this.filePath = filePath;
+        this.persistedCount = persistedCount;
+        this.persistedBytes = persistedBytes;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Formats an activity log entry as a pipe-separated record matching the activity logs data file.
+     *
+     * @param log the activity log to format
+     * @return the formatted record
+     */
+    public static String format(ActivityLog log) {
+        return log.getActivityID() + "|" + log.getUserID() + "|" +
+               log.getUserType() + "|" + log.getActivityDescription() + "|" +
+               log.getTimestamp() + "|" + log.getRelatedEntity();
+    }
+
+    /**
+     * Returns the path of the high-water mark file that belongs to an activity log file.
+     *
+     * @param filePath the path to the activity log file
+     * @return the path of its high-water mark file
+     */
+    public static String markPathOf(String filePath) {
+        String base = filePath.endsWith(".txt") ? filePath.substring(0, filePath.length() - 4) : filePath;
+        return base + MARK_EXTENSION;
+    }
+
+    /**
+     * Returns the number of valid bytes in an activity log file.
+     * This is the persisted high-water mark if there is one, otherwise the length of the whole file.
+     *
+     * @param filePath the path to the activity log file
+     * @return the number of valid bytes, or 0 if the file does not exist
+     */
+    public static long readHighWaterMark(String filePath) {
+        long length = new File(filePath).length();
+        File mark = new File(markPathOf(filePath));
+        if (!mark.exists()) {
+            return length;
+        }
+        try {
+            long bytes = Long.parseLong(new String(Files.readAllBytes(mark.toPath()), StandardCharsets.UTF_8).trim());
+            if (bytes > length) {
+                System.out.println("Activity log is shorter than its high-water mark: " + filePath);
+                return length;
+            }
+            return bytes;
+        } catch (IOException | NumberFormatException e) {
+            System.out.println("Error reading activity log high-water mark: " + e.getMessage());
+            return length;
+        }
+    }
+
+    /**
+     * Opens a reader over a byte range of an activity log file.
+     *
+     * @param filePath the path to the activity log file
+     * @param from the position of the first byte to read, which must be the start of a record
+     * @param to the position after the last byte to read
+     * @return a reader over the range, decoded with the platform default charset
+     * @throws IOException if the file cannot be opened
+     */
+    public static Reader openReader(String filePath, long from, long to) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        channel.position(from);
+        InputStream bounded = new FilterInputStream(Channels.newInputStream(channel)) {
+            private long remaining = Math.max(0, to - from);
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+        };
+        return new InputStreamReader(bounded, Charset.defaultCharset());
+    }
+
+    /**
+     * Returns the path of the file this sink appends to.
+     *
+     * @return the activity log file path
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the number of log entries persisted in the file.
+     *
+     * @return the persisted entry count
+     */
+    public int getPersistedCount() {
+        return persistedCount;
+    }
+
+    /**
+     * Returns the number of valid bytes in the file.
+     *
+     * @return the high-water mark in bytes
+     */
+    public long getPersistedBytes() {
+        return persistedBytes;
+    }
+
+    /**
+     * Points the sink at another path that holds the same persisted bytes, such as a hard link or copy of the current file.
+     *
+     * @param filePath the new path of the activity log file
+     */
+    public void moveTo(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Appends the entries of the log that are not persisted yet and forces them to the storage device.
+     * Anything in the file past the high-water mark is discarded first.
+     *
+     * @param logs the complete activity log, of which the first entries are already persisted
+     * @return the number of entries appended
+     * @throws IOException if the file cannot be written
+     */
+    public int append(List<ActivityLog> logs) throws IOException {
+        if (persistedCount >= logs.size()) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            if (channel.size() < persistedBytes) {
+                throw new IOException("Activity log is shorter than its high-water mark: " + filePath);
+            }
+            channel.truncate(persistedBytes);
+            channel.position(persistedBytes);
+            long written = writeEntries(channel, logs, persistedCount);
+            channel.force(false);
+            int appended = logs.size() - persistedCount;
+            persistedBytes += written;
+            persistedCount = logs.size();
+            return appended;
+        }
+    }
+
+    /**
+     * Rewrites the whole file from the given log.
+     * The new file is written next to the old one and then moved into place, so a file shared with
+     * another snapshot generation is replaced rather than modified.
+     *
+     * @param logs the complete activity log
+     * @throws IOException if the file cannot be written
+     */
+    public void compact(List<ActivityLog> logs) throws IOException {
+        Path target = Paths.get(filePath);
+        Path temp = Paths.get(filePath + ".tmp");
+        long written;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            written = writeEntries(channel, logs, 0);
+            channel.force(false);
+        }
+        move(temp, target);
+        persistedCount = logs.size();
+        persistedBytes = written;
+    }
+
+    /**
+     * Persists the current high-water mark next to the activity log file.
+     *
+     * @throws IOException if the mark cannot be written
+     */
+    public void writeHighWaterMark() throws IOException {
+        Path mark = Paths.get(markPathOf(filePath));
+        Path temp = Paths.get(markPathOf(filePath) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap((persistedBytes + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+        move(temp, mark);
+    }
+
+    /**
+     * Writes log entries from the given index onwards at the channel's position.
+     *
+     * @param channel the channel to write to
+     * @param logs the activity log
+     * @param from the index of the first entry to write
+     * @return the number of bytes written
+     * @throws IOException if the channel cannot be written
+     */
+    private long writeEntries(FileChannel channel, List<ActivityLog> logs, int from) throws IOException {
+        String lineSeparator = System.lineSeparator();
+        StringBuilder pending = new StringBuilder(WRITE_BUFFER_SIZE);
+        long written = 0;
+        for (int i = from; i < logs.size(); i++) {
+            pending.append(format(logs.get(i))).append(lineSeparator);
+            if (pending.length() >= WRITE_BUFFER_SIZE) {
+                written += writeFully(channel, pending);
+            }
+        }
+        written += writeFully(channel, pending);
+        return written;
+    }
+
+    /**
+     * Encodes and writes the pending text, then clears it.
+     *
+     * @param channel the channel to write to
+     * @param pending the text to write
+     * @return the number of bytes written
+     * @throws IOException if the channel cannot be written
+     */
+    private long writeFully(FileChannel channel, StringBuilder pending) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(pending.toString().getBytes(charset));
+        pending.setLength(0);
+        long written = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        return written;
+    }
+
+    /**
+     * Moves a file into place, atomically if the file system supports it.
+     *
+     * @param source the file to move
+     * @param target the destination path
+     * @throws IOException if the file cannot be moved
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
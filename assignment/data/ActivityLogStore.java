@@ -0,0 +1,906 @@
+package data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
+import entity.ActivityLog;
+
+/**
+ * Segmented, append-only store for activity logs.
+ * Activity logs are written to a sequence of segment files in the same pipe-separated text format as
+ * the activity logs data file. A segment is closed once it reaches its size limit or when a log from a
+ * later day arrives, and a footer line holding its entry count and its earliest and latest timestamps
+ * is appended to it. Queries for a time range only open the segments whose timestamps overlap it, and
+ * iteration streams through the segments one at a time instead of holding the whole history in memory.
+ * New logs are kept in memory until {@link #flush()} writes them to the open segment.
+ * <p>
+ * Closed segments never change, and the open segment only grows, so the store state is captured by an
+ * index file listing the segments and their valid lengths. Each snapshot generation keeps its own index;
+ * anything in a segment beyond the length in the index (for example a write cut short by a crash) is
+ * overwritten by the next flush. Closed segments can be replaced by compressed
+ * {@link ActivityLogArchive} files, which are read block by block.
+ * <p>
+ * Opening a store only lists its segment files; the index and segment footers are read the first time
+ * the store is queried or flushed (or in the background after {@link #startLoading()}), so new activity
+ * logs can be appended straight after startup however long the history is.
+ *
+ * @version 1.0
+ */
+public class ActivityLogStore implements Iterable<ActivityLog> {
+    /** Name of the segment index file inside a generation directory */
+    public static final String INDEX_FILE = "activitylogs.idx";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final String ARCHIVE_SUFFIX = ".arc";
+    /** First field of a segment footer; the footer has fewer fields than a log record, so record readers skip it */
+    private static final String FOOTER_MARKER = "#segment";
+    private static final long DEFAULT_MAX_SEGMENT_BYTES = 8L << 20;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int FOOTER_PROBE_SIZE = 512;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Charset charset;
+    private final List<Segment> segments;
+    private final List<ActivityLog> pending;
+    private int nextSegmentNumber;
+    private FutureTask<List<Segment>> loading;
+    private boolean loadingStarted;
+
+    /**
+     * Metadata of a single segment file.
+     */
+    private static class Segment {
+        private final String name;
+        private long bytes;
+        private int count;
+        private LocalDateTime minTimestamp;
+        private LocalDateTime maxTimestamp;
+        private boolean sealed;
+
+        Segment(String name) {
+            this.name = name;
+        }
+
+        void include(LocalDateTime timestamp) {
+            count++;
+            if (timestamp != null) {
+                if (minTimestamp == null || timestamp.isBefore(minTimestamp)) {
+                    minTimestamp = timestamp;
+                }
+                if (maxTimestamp == null || timestamp.isAfter(maxTimestamp)) {
+                    maxTimestamp = timestamp;
+                }
+            }
+        }
+
+        boolean isArchived() {
+            return name.endsWith(ARCHIVE_SUFFIX);
+        }
+
+        Segment copy() {
+            Segment copy = new Segment(name);
+            copy.bytes = bytes;
+            copy.count = count;
+            copy.minTimestamp = minTimestamp;
+            copy.maxTimestamp = maxTimestamp;
+            copy.sealed = sealed;
+            return copy;
+        }
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            if (count == 0 || minTimestamp == null) {
+                return count > 0;
+            }
+            return (from == null || !maxTimestamp.isBefore(from)) && (to == null || !minTimestamp.isAfter(to));
+        }
+    }
+
+    /**
+     * Constructs an empty ActivityLogStore keeping its segments in the specified directory.
+     *
+     * @param directory the directory holding the segment files
+     */
+    public ActivityLogStore(String directory) {
+        this(directory, DEFAULT_MAX_SEGMENT_BYTES);
+    }
+
+    /**
+     * Constructs an empty ActivityLogStore with the specified segment size limit.
+     *
+     * @param directory the directory holding the segment files
+     * @param maxSegmentBytes the size in bytes at which a segment is closed and a new one started
+     */
+    public ActivityLogStore(String directory, long maxSegmentBytes) {
+        this.directory = Paths.get(directory);
+        this.maxSegmentBytes = Math.max(1, maxSegmentBytes);
+        this.charset = Charset.defaultCharset();
+        this.segments = new ArrayList<>();
+        this.pending = new ArrayList<>();
+        this.nextSegmentNumber = 1;
+    }
+
+    /**
+     * Opens the segments listed in an index file, replacing the current contents of the store,
+     * and waits until they are loaded.
+     *
+     * @param indexPath the path of the index file, or null to open an empty store
+     * @throws IOException if the index or a listed segment cannot be read
+     */
+    public void open(String indexPath) throws IOException {
+        openLazily(indexPath);
+        awaitLoaded();
+    }
+
+    /**
+     * Opens the segments listed in an index file without reading them yet, replacing the current contents of the store.
+     * The segment footers are read, and the open segment scanned, only when the store is first queried or
+     * written to, or in the background once {@link #startLoading()} is called. Activity logs can be appended
+     * in the meantime. A missing index file opens an empty store. New segments are always numbered after
+     * every segment file in the directory, so segments still referenced by other index files are never overwritten.
+     *
+     * @param indexPath the path of the index file, or null to open an empty store
+     * @throws IOException if the segment directory cannot be listed
+     */
+    public synchronized void openLazily(String indexPath) throws IOException {
+        segments.clear();
+        pending.clear();
+        nextSegmentNumber = 1;
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Object entry : files.toArray()) {
+                String name = ((Path) entry).getFileName().toString();
+                if (isSegmentFile(name)) {
+                    nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(name) + 1);
+                }
+            }
+        }
+        loadingStarted = false;
+        loading = null;
+        if (indexPath != null && Files.exists(Paths.get(indexPath))) {
+            loading = new FutureTask<>(() -> readIndex(indexPath));
+        }
+    }
+
+    /**
+     * Starts loading the segments on a background thread, if they are not loaded or being loaded already.
+     */
+    public void startLoading() {
+        FutureTask<List<Segment>> task;
+        synchronized (this) {
+            if (loading == null || loadingStarted) {
+                return;
+            }
+            loadingStarted = true;
+            task = loading;
+        }
+        Thread thread = new Thread(task, "activity-log-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Checks if the segments have been loaded.
+     *
+     * @return true if the store can be queried without reading segment metadata first, false otherwise
+     */
+    public synchronized boolean isLoaded() {
+        return loading == null;
+    }
+
+    /**
+     * Loads the segments if that has not happened yet, waiting for a background load in progress.
+     *
+     * @throws IOException if the index or a listed segment cannot be read
+     */
+    private void awaitLoaded() throws IOException {
+        FutureTask<List<Segment>> task;
+        synchronized (this) {
+            task = loading;
+        }
+        if (task == null) {
+            return;
+        }
+        task.run();
+        List<Segment> loaded;
+        try {
+            loaded = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading activity log segments");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Error loading activity log segments", cause);
+        }
+        synchronized (this) {
+            if (loading == task) {
+                segments.addAll(loaded);
+                loading = null;
+            }
+        }
+    }
+
+    /**
+     * Loads the segments if that has not happened yet, for callers that cannot throw checked exceptions.
+     *
+     * @throws UncheckedIOException if the index or a listed segment cannot be read
+     */
+    private void ensureLoaded() {
+        try {
+            awaitLoaded();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the segment list of an index file, together with the footer of each closed segment.
+     * The open segment, which has no footer, is scanned instead.
+     *
+     * @param indexPath the path of the index file
+     * @return the segments in order
+     * @throws IOException if the index or a listed segment cannot be read
+     */
+    private List<Segment> readIndex(String indexPath) throws IOException {
+        List<Segment> loaded = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(indexPath), StandardCharsets.UTF_8)) {
+            String[] fields = line.trim().split("\\|");
+            if (fields.length < 2) continue;
+            Segment segment = new Segment(fields[0]);
+            segment.bytes = Long.parseLong(fields[1]);
+            Path file = directory.resolve(segment.name);
+            if (!Files.exists(file) || Files.size(file) < segment.bytes) {
+                throw new IOException("Activity log segment is missing or shorter than its index entry: " + file);
+            }
+            if (segment.isArchived()) {
+                readArchiveSummary(segment);
+            } else if (!readFooter(segment)) {
+                scan(segment);
+            }
+            loaded.add(segment);
+        }
+        return loaded;
+    }
+
+    /**
+     * Imports every activity log in a plain activity logs data file into new segments.
+     * Only the part of the file up to its high-water mark is imported.
+     *
+     * @param filePath the path to the activity logs data file
+     * @throws IOException if the file cannot be read or the segments cannot be written
+     */
+    public synchronized void importFile(String filePath) throws IOException {
+        awaitLoaded();
+        long limit = ActivityLogSink.readHighWaterMark(filePath);
+        List<Segment> before = copyOf(segments);
+        try (RecordIterator records = new RecordIterator(ActivityLogSink.openReader(filePath, 0, limit))) {
+            writeEntries(records, false);
+        } catch (IOException | UncheckedIOException e) {
+            restore(before);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds an activity log to the store. It is kept in memory until the next flush.
+     *
+     * @param log the activity log to add
+     */
+    public synchronized void append(ActivityLog log) {
+        pending.add(log);
+    }
+
+    /**
+     * Writes the activity logs added since the last flush to the open segment, rotating segments as needed,
+     * and forces them to the storage device.
+     *
+     * @throws IOException if a segment cannot be written
+     */
+    public synchronized void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        awaitLoaded();
+        List<Segment> before = copyOf(segments);
+        try {
+            writeEntries(pending.iterator(), true);
+        } catch (IOException e) {
+            restore(before);
+            throw e;
+        }
+        pending.clear();
+    }
+
+    /**
+     * Rewrites every activity log into a fresh set of full segments.
+     * The old segment files are left in place for older generations until they are no longer referenced.
+     *
+     * @throws IOException if a segment cannot be read or written
+     */
+    public synchronized void compact() throws IOException {
+        awaitLoaded();
+        flush();
+        List<Segment> before = copyOf(segments);
+        segments.clear();
+        try {
+            writeEntries(new SegmentIterator(before, Collections.emptyList(), null, null), false);
+        } catch (IOException | UncheckedIOException e) {
+            restore(before);
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces every closed text segment with a compressed {@link ActivityLogArchive}.
+     * The archives are written under new file names, so the text segments stay valid for older
+     * index files until they are no longer referenced.
+     *
+     * @return the number of segments archived
+     * @throws IOException if a segment cannot be read or its archive cannot be written
+     */
+    public synchronized int archiveClosedSegments() throws IOException {
+        awaitLoaded();
+        int archived = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (!segment.sealed || segment.isArchived()) {
+                continue;
+            }
+            String name = segment.name.substring(0, segment.name.lastIndexOf('.')) + ARCHIVE_SUFFIX;
+            Segment archive = new Segment(name);
+            archive.count = segment.count;
+            archive.minTimestamp = segment.minTimestamp;
+            archive.maxTimestamp = segment.maxTimestamp;
+            archive.sealed = true;
+            try (RecordIterator records = new RecordIterator(
+                    ActivityLogSink.openReader(directory.resolve(segment.name).toString(), 0, segment.bytes))) {
+                archive.bytes = ActivityLogArchive.write(records, directory.resolve(name).toString());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            segments.set(i, archive);
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * Writes an index file describing the segments and their current lengths.
+     * The index is written next to its final path and then moved into place, so it is never seen half-written.
+     * Activity logs that have not been flushed are not covered by the index.
+     *
+     * @param indexPath the path of the index file
+     * @throws IOException if the index cannot be written
+     */
+    public synchronized void writeIndex(String indexPath) throws IOException {
+        awaitLoaded();
+        StringBuilder index = new StringBuilder();
+        for (Segment segment : segments) {
+            index.append(segment.name).append('|').append(segment.bytes).append(System.lineSeparator());
+        }
+        Path target = Paths.get(indexPath);
+        Path temp = Paths.get(indexPath + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(index.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the names of the segments listed in an index file.
+     *
+     * @param indexPath the path of the index file
+     * @return the segment names, or an empty set if the index does not exist
+     */
+    public static Set<String> readSegmentNames(String indexPath) {
+        Set<String> names = new HashSet<>();
+        try {
+            if (Files.exists(Paths.get(indexPath))) {
+                for (String line : Files.readAllLines(Paths.get(indexPath), StandardCharsets.UTF_8)) {
+                    String name = line.trim().split("\\|")[0];
+                    if (!name.isEmpty()) {
+                        names.add(name);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error reading activity log index: " + e.getMessage());
+        }
+        return names;
+    }
+
+    /**
+     * Deletes segment files that are neither used by the store nor listed in any of the given names.
+     *
+     * @param referenced the names of segments still referenced by other generations
+     */
+    public synchronized void deleteUnreferencedSegments(Set<String> referenced) {
+        try {
+            awaitLoaded();
+        } catch (IOException e) {
+            System.out.println("Error removing old activity log segments: " + e.getMessage());
+            return;
+        }
+        Set<String> keep = new HashSet<>(referenced);
+        for (Segment segment : segments) {
+            keep.add(segment.name);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Object entry : files.toArray()) {
+                Path file = (Path) entry;
+                String name = file.getFileName().toString();
+                if (isSegmentFile(name) && !keep.contains(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Error removing old activity log segments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the total number of activity logs in the store, including those not flushed yet.
+     *
+     * @return the activity log count
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        int count = pending.size();
+        for (Segment segment : segments) {
+            count += segment.count;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of segment files in the store.
+     *
+     * @return the segment count
+     */
+    public synchronized int getSegmentCount() {
+        ensureLoaded();
+        return segments.size();
+    }
+
+    /**
+     * Checks if activity logs have been added since the last flush.
+     *
+     * @return true if there are unflushed activity logs, false otherwise
+     */
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Returns an iterator over every activity log in insertion order.
+     * Segments are read one at a time as the iteration reaches them.
+     *
+     * @return an iterator over the activity logs
+     */
+    @Override
+    public Iterator<ActivityLog> iterator() {
+        ensureLoaded();
+        synchronized (this) {
+            return new SegmentIterator(new ArrayList<>(segments), new ArrayList<>(pending), null, null);
+        }
+    }
+
+    /**
+     * Returns the activity logs of a user within a time range, in insertion order.
+     * Only segments whose timestamps overlap the range are read.
+     *
+     * @param userID the user whose activity logs to return, or null for all users
+     * @param from the earliest timestamp to include, or null for no lower bound
+     * @param to the latest timestamp to include, or null for no upper bound
+     * @return the matching activity logs
+     */
+    public List<ActivityLog> query(String userID, LocalDateTime from, LocalDateTime to) {
+        ensureLoaded();
+        SegmentIterator candidates;
+        synchronized (this) {
+            candidates = new SegmentIterator(new ArrayList<>(segments), new ArrayList<>(pending), from, to);
+        }
+        List<ActivityLog> results = new ArrayList<>();
+        while (candidates.hasNext()) {
+            ActivityLog log = candidates.next();
+            if ((userID == null || userID.equals(log.getUserID())) && matches(log.getTimestamp(), from, to)) {
+                results.add(log);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Builds an activity log from the current record of a reader.
+     *
+     * @param reader the reader positioned on a record
+     * @return the activity log, or null if the record is not an activity log record
+     */
+    static ActivityLog readRecord(PipeRecordReader reader) {
+        if (reader.getFieldCount() < 5) {
+            return null;
+        }
+        String activityID = reader.getString(0);
+        String userID = reader.getSharedString(1);
+        String userType = reader.getSharedString(2);
+        String activityDescription = reader.getSharedString(3);
+        LocalDateTime timestamp = reader.getDateTime(4);
+        String relatedEntity = reader.getFieldCount() > 5 ? reader.getSharedString(5) : "";
+        return new ActivityLog(activityID, userID, userType, activityDescription, timestamp, relatedEntity);
+    }
+
+    /**
+     * Checks if a timestamp lies within a range.
+     *
+     * @param timestamp the timestamp to check
+     * @param from the earliest timestamp to include, or null for no lower bound
+     * @param to the latest timestamp to include, or null for no upper bound
+     * @return true if the timestamp is within the range, false otherwise
+     */
+    private static boolean matches(LocalDateTime timestamp, LocalDateTime from, LocalDateTime to) {
+        if (timestamp == null) {
+            return from == null && to == null;
+        }
+        return (from == null || !timestamp.isBefore(from)) && (to == null || !timestamp.isAfter(to));
+    }
+
+    /**
+     * Appends activity logs to the open segment, closing it and starting a new one whenever it is full
+     * or, if requested, when a log from a later day arrives.
+     *
+     * @param entries the activity logs to write
+     * @param rotateByDay true to start a new segment for each new day, false to rotate by size only
+     * @throws IOException if a segment cannot be written
+     */
+    private void writeEntries(Iterator<ActivityLog> entries, boolean rotateByDay) throws IOException {
+        Files.createDirectories(directory);
+        Segment active = segments.isEmpty() || segments.get(segments.size() - 1).sealed ? null : segments.get(segments.size() - 1);
+        FileChannel channel = null;
+        StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE);
+        String lineSeparator = System.lineSeparator();
+        try {
+            while (entries.hasNext()) {
+                ActivityLog log = entries.next();
+                if (active == null || needsRotation(active, buffer.length(), log, rotateByDay)) {
+                    if (active != null) {
+                        if (channel == null) {
+                            channel = openForAppend(active);
+                        }
+                        writeBuffer(channel, active, buffer);
+                        seal(channel, active);
+                        channel.close();
+                    }
+                    active = new Segment(SEGMENT_PREFIX + String.format("%06d", nextSegmentNumber++) + SEGMENT_SUFFIX);
+                    segments.add(active);
+                    channel = openForAppend(active);
+                } else if (channel == null) {
+                    channel = openForAppend(active);
+                }
+                buffer.append(ActivityLogSink.format(log)).append(lineSeparator);
+                active.include(log.getTimestamp());
+                if (buffer.length() >= WRITE_BUFFER_SIZE) {
+                    writeBuffer(channel, active, buffer);
+                }
+            }
+            if (channel != null) {
+                writeBuffer(channel, active, buffer);
+                channel.force(false);
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Checks if the open segment must be closed before the given activity log is written.
+     *
+     * @param active the open segment
+     * @param buffered the number of characters written to the segment but not yet flushed
+     * @param log the activity log about to be written
+     * @param rotateByDay true to close the segment when the log is from a later day
+     * @return true if a new segment must be started, false otherwise
+     */
+    private boolean needsRotation(Segment active, int buffered, ActivityLog log, boolean rotateByDay) {
+        if (active.count == 0) {
+            return false;
+        }
+        if (active.bytes + buffered >= maxSegmentBytes) {
+            return true;
+        }
+        return rotateByDay && log.getTimestamp() != null && active.maxTimestamp != null
+                && log.getTimestamp().toLocalDate().isAfter(active.maxTimestamp.toLocalDate());
+    }
+
+    /**
+     * Opens a segment for appending at its valid length, discarding anything written past it.
+     *
+     * @param segment the segment to open
+     * @return the open channel positioned at the end of the valid data
+     * @throws IOException if the segment cannot be opened
+     */
+    private FileChannel openForAppend(Segment segment) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(segment.name),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        channel.truncate(segment.bytes);
+        channel.position(segment.bytes);
+        return channel;
+    }
+
+    /**
+     * Writes the buffered records to a segment and clears the buffer.
+     *
+     * @param channel the channel of the segment
+     * @param segment the segment being written
+     * @param buffer the buffered records
+     * @throws IOException if the segment cannot be written
+     */
+    private void writeBuffer(FileChannel channel, Segment segment, StringBuilder buffer) throws IOException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toString().getBytes(charset));
+        buffer.setLength(0);
+        segment.bytes += bytes.remaining();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Appends the footer to a segment and marks it closed.
+     *
+     * @param channel the channel of the segment
+     * @param segment the segment to close
+     * @throws IOException if the footer cannot be written
+     */
+    private void seal(FileChannel channel, Segment segment) throws IOException {
+        String footer = FOOTER_MARKER + "|" + segment.count + "|"
+                + (segment.minTimestamp != null ? segment.minTimestamp : "") + "|"
+                + (segment.maxTimestamp != null ? segment.maxTimestamp : "") + System.lineSeparator();
+        StringBuilder buffer = new StringBuilder(footer);
+        writeBuffer(channel, segment, buffer);
+        channel.force(false);
+        segment.sealed = true;
+    }
+
+    /**
+     * Reads the footer at the end of a segment's valid data.
+     *
+     * @param segment the segment whose footer to read
+     * @return true if the segment is closed and its footer was read, false if it has no footer
+     * @throws IOException if the segment cannot be read
+     */
+    private boolean readFooter(Segment segment) throws IOException {
+        int probe = (int) Math.min(FOOTER_PROBE_SIZE, segment.bytes);
+        if (probe == 0) {
+            return false;
+        }
+        ByteBuffer tail = ByteBuffer.allocate(probe);
+        try (FileChannel channel = FileChannel.open(directory.resolve(segment.name), StandardOpenOption.READ)) {
+            while (tail.hasRemaining()) {
+                if (channel.read(tail, segment.bytes - probe + tail.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        String text = new String(tail.array(), 0, tail.position(), charset).trim();
+        int lineStart = Math.max(text.lastIndexOf('\n'), text.lastIndexOf('\r')) + 1;
+        String[] fields = text.substring(lineStart).split("\\|", -1);
+        if (fields.length != 4 || !fields[0].equals(FOOTER_MARKER)) {
+            return false;
+        }
+        try {
+            segment.count = Integer.parseInt(fields[1]);
+            segment.minTimestamp = fields[2].isEmpty() ? null : LocalDateTime.parse(fields[2]);
+            segment.maxTimestamp = fields[3].isEmpty() ? null : LocalDateTime.parse(fields[3]);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid footer in activity log segment " + segment.name);
+        }
+        segment.sealed = true;
+        return true;
+    }
+
+    /**
+     * Reads the entry count and timestamp range of an archived segment from the archive's trailer.
+     *
+     * @param segment the archived segment
+     * @throws IOException if the archive cannot be read
+     */
+    private void readArchiveSummary(Segment segment) throws IOException {
+        ActivityLogArchive archive = new ActivityLogArchive(directory.resolve(segment.name).toString());
+        segment.count = archive.getCount();
+        segment.minTimestamp = archive.getMinTimestamp();
+        segment.maxTimestamp = archive.getMaxTimestamp();
+        segment.sealed = true;
+    }
+
+    /**
+     * Checks if a file name follows the naming scheme of text or archived segments.
+     *
+     * @param name the file name
+     * @return true if the file is a segment, false otherwise
+     */
+    private static boolean isSegmentFile(String name) {
+        return name.startsWith(SEGMENT_PREFIX) && (name.endsWith(SEGMENT_SUFFIX) || name.endsWith(ARCHIVE_SUFFIX));
+    }
+
+    /**
+     * Computes the entry count and timestamp range of a segment without a footer by reading it.
+     *
+     * @param segment the segment to scan
+     * @throws IOException if the segment cannot be read
+     */
+    private void scan(Segment segment) throws IOException {
+        try (RecordIterator records = new RecordIterator(
+                ActivityLogSink.openReader(directory.resolve(segment.name).toString(), 0, segment.bytes))) {
+            while (records.hasNext()) {
+                segment.include(records.next().getTimestamp());
+            }
+        }
+    }
+
+    /**
+     * Copies segment metadata, so that later writes to the store do not affect the copies.
+     *
+     * @param source the segments to copy
+     * @return the copied segments
+     */
+    private static List<Segment> copyOf(List<Segment> source) {
+        List<Segment> copies = new ArrayList<>(source.size());
+        for (Segment segment : source) {
+            copies.add(segment.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * Restores the segment list after a failed write. Anything written past the restored lengths
+     * is overwritten by the next flush.
+     *
+     * @param before the segments as they were before the write
+     */
+    private void restore(List<Segment> before) {
+        segments.clear();
+        segments.addAll(before);
+    }
+
+    /**
+     * Extracts the sequence number from a segment file name.
+     *
+     * @param name the segment file name
+     * @return the sequence number, or 0 if the name does not follow the segment naming scheme
+     */
+    private static int segmentNumber(String name) {
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.lastIndexOf('.')));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Iterator over the activity log records of a character stream.
+     */
+    private static class RecordIterator implements Iterator<ActivityLog>, Closeable {
+        private final PipeRecordReader reader;
+        private ActivityLog next;
+
+        RecordIterator(Reader source) {
+            this.reader = new PipeRecordReader(source);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && reader.nextRecord()) {
+                    next = readRecord(reader);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public ActivityLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ActivityLog result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Iterator that reads the given segments one at a time, followed by the unflushed activity logs.
+     * If a time range is given, segments that do not overlap it are skipped without being opened.
+     */
+    private class SegmentIterator implements Iterator<ActivityLog> {
+        private final Iterator<Segment> remainingSegments;
+        private final Iterator<ActivityLog> pendingLogs;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private Iterator<ActivityLog> current;
+
+        SegmentIterator(List<Segment> segments, List<ActivityLog> pendingLogs, LocalDateTime from, LocalDateTime to) {
+            this.remainingSegments = copyOf(segments).iterator();
+            this.pendingLogs = pendingLogs.iterator();
+            this.from = from;
+            this.to = to;
+            this.current = Collections.emptyIterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && remainingSegments.hasNext()) {
+                Segment segment = remainingSegments.next();
+                if ((from != null || to != null) && !segment.overlaps(from, to)) {
+                    continue;
+                }
+                current = readSegment(segment).iterator();
+            }
+            return current.hasNext() || pendingLogs.hasNext();
+        }
+
+        @Override
+        public ActivityLog next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.hasNext() ? current.next() : pendingLogs.next();
+        }
+
+        /**
+         * Reads every activity log in the valid part of a segment.
+         * For an archived segment, only the blocks overlapping the iterator's time range are read.
+         *
+         * @param segment the segment to read
+         * @return the activity logs of the segment
+         */
+        private List<ActivityLog> readSegment(Segment segment) {
+            if (segment.isArchived()) {
+                try {
+                    return new ActivityLogArchive(directory.resolve(segment.name).toString()).read(from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            List<ActivityLog> logs = new ArrayList<>(segment.count);
+            try (RecordIterator records = new RecordIterator(
+                    ActivityLogSink.openReader(directory.resolve(segment.name).toString(), 0, segment.bytes))) {
+                while (records.hasNext()) {
+                    logs.add(records.next());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return logs;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package data;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import entity.*;
+
+/**
+ * Compact binary copy of every data file, used to speed up startup.
+ * Strings are stored as length-prefixed UTF-8, dates as epoch days, timestamps as epoch seconds and
+ * nanoseconds, and booleans are packed into a flag byte. Low-cardinality values such as statuses,
+ * majors and company names, as well as the user and internship IDs that records refer to, are written
+ * once into a string table and referenced by index. Loaded references therefore share a single String
+ * instance with the key they point to, which keeps linking cheap.
+ * Records are stored in the same order as in the text files, so loading either produces the same data.
+ * The text files remain the interchange format; the binary snapshot is only used while it is at least
+ * as new as every text file next to it. Activity logs are not part of the snapshot; they are kept
+ * in an {@link ActivityLogStore} or, without one, loaded from the activity logs text file.
+ *
+ * @version 1.0
+ */
+public class BinarySnapshot {
+    /** Name of the binary snapshot file inside a data or generation directory */
+    public static final String FILE_NAME = "snapshot.bin";
+
+    private static final int MAGIC = 0x494D5342;
+    private static final int VERSION = 3;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private static final int FLAG_APPROVED = 1;
+    private static final int FLAG_VISIBLE = 1;
+    private static final int FLAG_CONFIRMED = 1;
+    private static final int FLAG_WITHDRAWAL_REQUESTED = 2;
+
+    private File file;
+
+    /**
+     * Constructs a BinarySnapshot backed by the specified file path.
+     *
+     * @param filePath the path of the binary snapshot file
+     */
+    public BinarySnapshot(String filePath) {
+        this.file = new File(filePath);
+    }
+
+    /**
+     * Checks if the binary snapshot exists and is at least as new as every text data file in the directory.
+     * The activity logs file is not compared, since activity logs are not part of the snapshot.
+     *
+     * @param directory the directory holding the text data files
+     * @return true if the binary snapshot can be loaded instead of the text files, false otherwise
+     */
+    public boolean isNewerThanTextFiles(String directory) {
+        if (!file.isFile()) {
+            return false;
+        }
+        long modified = file.lastModified();
+        for (DataFile dataFile : DataFile.values()) {
+            if (dataFile == DataFile.ACTIVITY_LOGS) {
+                continue;
+            }
+            File textFile = Paths.get(directory, dataFile.getFileName()).toFile();
+            if (textFile.lastModified() > modified) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes every entity held by the data manager, except the activity logs, to the binary snapshot file.
+     *
+     * @param dataManager the data manager whose data should be written
+     * @throws IOException if the file cannot be written
+     */
+    public void write(DataManager dataManager) throws IOException {
+        Encoder body = new Encoder();
+
+        Collection<Student> students = dataManager.getAllStudents();
+        body.writeCount(students.size());
+        for (Student student : students) {
+            body.writeShared(student.getUserID());
+            body.writeString(student.getName());
+            body.writeString(student.getPassword());
+            body.writeInt(student.getYearOfStudy());
+            body.writeShared(student.getMajor());
+            body.writeString(student.getEmail());
+        }
+
+        Collection<CareerCenterStaff> staffMembers = dataManager.getAllStaff();
+        body.writeCount(staffMembers.size());
+        for (CareerCenterStaff staff : staffMembers) {
+            body.writeString(staff.getUserID());
+            body.writeString(staff.getName());
+            body.writeString(staff.getPassword());
+            body.writeShared(staff.getDepartment());
+            body.writeString(staff.getEmail());
+        }
+
+        Collection<CompanyRepresentative> reps = dataManager.getAllCompanyReps();
+        body.writeCount(reps.size());
+        for (CompanyRepresentative rep : reps) {
+            body.writeString(rep.getUserID());
+            body.writeString(rep.getName());
+            body.writeString(rep.getPassword());
+            body.writeShared(rep.getCompanyName());
+            body.writeShared(rep.getDepartment());
+            body.writeShared(rep.getPosition());
+            body.writeFlags(rep.isApproved() ? FLAG_APPROVED : 0);
+        }
+
+        Collection<Internship> internships = dataManager.getAllInternships();
+        body.writeCount(internships.size());
+        for (Internship internship : internships) {
+            body.writeShared(internship.getInternshipID());
+            body.writeString(internship.getTitle());
+            body.writeString(internship.getDescription());
+            body.writeShared(internship.getLevel());
+            body.writeShared(internship.getPreferredMajor());
+            body.writeDate(internship.getOpeningDate());
+            body.writeDate(internship.getClosingDate());
+            body.writeShared(internship.getStatus());
+            body.writeShared(internship.getCompanyName());
+            body.writeShared(internship.getRepInCharge());
+            body.writeInt(internship.getNumSlots());
+            body.writeInt(internship.getFilledSlots());
+            body.writeFlags(internship.isVisible() ? FLAG_VISIBLE : 0);
+        }
+
+        Collection<InternshipApplication> applications = dataManager.getAllApplications();
+        body.writeCount(applications.size());
+        for (InternshipApplication application : applications) {
+            body.writeString(application.getApplicationID());
+            body.writeShared(application.getStudentID());
+            body.writeShared(application.getInternshipID());
+            body.writeShared(application.getStatus());
+            body.writeFlags((application.isConfirmed() ? FLAG_CONFIRMED : 0)
+                    | (application.isWithdrawalRequested() ? FLAG_WITHDRAWAL_REQUESTED : 0));
+            body.writeShared(application.getWithdrawalReason());
+        }
+
+        Encoder header = new Encoder();
+        header.writeRawInt(MAGIC);
+        header.writeRawInt(VERSION);
+        header.writeCount(body.sharedStrings.size());
+        for (String value : body.sharedStrings.keySet()) {
+            header.writeString(value);
+        }
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            header.bytes.writeTo(out);
+            body.bytes.writeTo(out);
+            Encoder trailer = new Encoder();
+            trailer.writeRawInt(MAGIC);
+            trailer.bytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Reads the binary snapshot file and loads its contents into the data manager.
+     * Nothing is added to the data manager unless the whole file could be read.
+     *
+     * @param dataManager the data manager to load into
+     * @throws IOException if the file cannot be read or is not a valid binary snapshot
+     */
+    public void read(DataManager dataManager) throws IOException {
+        Decoder in;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary snapshot too large: " + file);
+            }
+            in = new Decoder(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+
+        EntityChangeListener changeTracker = dataManager.getChangeTracker();
+        List<Student> students;
+        List<CareerCenterStaff> staffMembers;
+        List<CompanyRepresentative> reps;
+        List<Internship> internships;
+        List<InternshipApplication> applications;
+        try {
+            if (in.readRawInt() != MAGIC || in.readRawInt() != VERSION) {
+                throw new IOException("Not a binary snapshot: " + file);
+            }
+            int sharedCount = in.readCount();
+            in.sharedStrings = new String[sharedCount];
+            for (int i = 0; i < sharedCount; i++) {
+                in.sharedStrings[i] = in.readString();
+            }
+
+            int count = in.readCount();
+            students = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Student student = new Student(in.readShared(), in.readString(), in.readString(),
+                                              in.readInt(), in.readShared(), in.readString());
+                student.setChangeListener(changeTracker);
+                students.add(student);
+            }
+
+            count = in.readCount();
+            staffMembers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                CareerCenterStaff staff = new CareerCenterStaff(in.readString(), in.readString(), in.readString(),
+                                                                in.readShared(), in.readString());
+                staff.setChangeListener(changeTracker);
+                staffMembers.add(staff);
+            }
+
+            count = in.readCount();
+            reps = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                CompanyRepresentative rep = new CompanyRepresentative(in.readString(), in.readString(), in.readString(),
+                                                                      in.readShared(), in.readShared(), in.readShared());
+                rep.setApproved((in.readFlags() & FLAG_APPROVED) != 0);
+                rep.setChangeListener(changeTracker);
+                reps.add(rep);
+            }
+
+            count = in.readCount();
+            internships = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String internshipID = in.readShared();
+                String title = in.readString();
+                String description = in.readString();
+                String level = in.readShared();
+                String preferredMajor = in.readShared();
+                LocalDate openingDate = in.readDate();
+                LocalDate closingDate = in.readDate();
+                String status = in.readShared();
+                String companyName = in.readShared();
+                String repInCharge = in.readShared();
+                int numSlots = in.readInt();
+                int filledSlots = in.readInt();
+                boolean visible = (in.readFlags() & FLAG_VISIBLE) != 0;
+
+                Internship internship = new Internship(internshipID, title, description, level, preferredMajor,
+                                                      openingDate, closingDate, companyName, repInCharge, numSlots);
+                internship.setStatus(status);
+                internship.setFilledSlots(filledSlots);
+                internship.setVisible(visible);
+                internship.setChangeListener(changeTracker);
+                internships.add(internship);
+            }
+
+            count = in.readCount();
+            applications = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                InternshipApplication application = new InternshipApplication(in.readString(), in.readShared(), in.readShared());
+                application.setStatus(in.readShared());
+                int flags = in.readFlags();
+                String withdrawalReason = in.readShared();
+                application.setConfirmed((flags & FLAG_CONFIRMED) != 0);
+                if ((flags & FLAG_WITHDRAWAL_REQUESTED) != 0) {
+                    application.requestWithdrawal(withdrawalReason != null ? withdrawalReason : "");
+                }
+                application.setChangeListener(changeTracker);
+                applications.add(application);
+            }
+
+            if (in.readRawInt() != MAGIC) {
+                throw new IOException("Binary snapshot is incomplete: " + file);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Binary snapshot is truncated or corrupt: " + file);
+        }
+
+        dataManager.mergeStudents(students);
+        dataManager.mergeStaff(staffMembers);
+        dataManager.mergeCompanyReps(reps);
+        dataManager.mergeInternships(internships);
+        dataManager.linkInternshipsToReps();
+        dataManager.mergeApplications(applications);
+    }
+
+    /**
+     * Buffered writer for the binary encoding.
+     * Integers are written as variable-length zig-zag values so that small numbers take a single byte.
+     */
+    private static class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        private final Map<String, Integer> sharedStrings = new LinkedHashMap<>();
+
+        void writeRawInt(int value) {
+            bytes.write(value >>> 24);
+            bytes.write(value >>> 16);
+            bytes.write(value >>> 8);
+            bytes.write(value);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+
+        void writeCount(int count) {
+            writeVarLong(count);
+        }
+
+        void writeInt(int value) {
+            writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void writeFlags(int flags) {
+            bytes.write(flags);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(encoded.length + 1L);
+            bytes.write(encoded, 0, encoded.length);
+        }
+
+        void writeShared(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            Integer index = sharedStrings.get(value);
+            if (index == null) {
+                index = sharedStrings.size();
+                sharedStrings.put(value, index);
+            }
+            writeVarLong(index + 1L);
+        }
+
+        void writeDate(LocalDate date) {
+            writeRawInt(date != null ? (int) date.toEpochDay() : NULL_DATE);
+        }
+    }
+
+    /**
+     * Reader for the binary encoding over a mapped file.
+     */
+    private static class Decoder {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+        private String[] sharedStrings;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int readRawInt() {
+            return buffer.getInt();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable-length integer");
+        }
+
+        int readCount() throws IOException {
+            long count = readVarLong();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IOException("Invalid record count: " + count);
+            }
+            return (int) count;
+        }
+
+        int readInt() throws IOException {
+            long encoded = readVarLong();
+            return (int) (encoded >>> 1) ^ -(int) (encoded & 1);
+        }
+
+        int readFlags() {
+            return buffer.get() & 0xFF;
+        }
+
+        String readString() throws IOException {
+            long length = readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new IOException("Invalid string length: " + length);
+            }
+            int size = (int) length;
+            if (size > scratch.length) {
+                scratch = new byte[Math.max(size, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, size);
+            return new String(scratch, 0, size, StandardCharsets.UTF_8);
+        }
+
+        String readShared() throws IOException {
+            long index = readVarLong() - 1;
+            if (index < 0) {
+                return null;
+            }
+            return sharedStrings[(int) index];
+        }
+
+        LocalDate readDate() {
+            int epochDay = buffer.getInt();
+            return epochDay != NULL_DATE ? LocalDate.ofEpochDay(epochDay) : null;
+        }
+    }
+}
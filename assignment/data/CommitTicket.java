@@ -0,0 +1,64 @@
+package data;
+
+/**
+ * Handle returned for a submitted commit request.
+ * Allows callers that need durability to wait until their changes have been flushed,
+ * while callers that do not care can simply ignore it.
+ *
+ * @version 1.0
+ */
+public class CommitTicket {
+    private final GroupCommitFlusher flusher;
+    private final long sequence;
+
+    /**
+     * Constructs a CommitTicket for the given request.
+     *
+     * @param flusher the flusher responsible for the request, or null if the request is already durable
+     * @param sequence the sequence number of the request
+     */
+    CommitTicket(GroupCommitFlusher flusher, long sequence) {
+        this.flusher = flusher;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns a ticket for changes that have already been made durable.
+     *
+     * @return a completed ticket
+     */
+    static CommitTicket completed() {
+        return new CommitTicket(null, 0);
+    }
+
+    /**
+     * Checks if the changes covered by this ticket have been flushed.
+     *
+     * @return true if committed, false if still pending
+     */
+    public boolean isCommitted() {
+        return flusher == null || flusher.isFlushed(sequence);
+    }
+
+    /**
+     * Blocks until the changes covered by this ticket have been flushed.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void await() throws InterruptedException {
+        if (flusher != null) {
+            flusher.awaitFlushed(sequence, 0);
+        }
+    }
+
+    /**
+     * Blocks until the changes covered by this ticket have been flushed or the timeout elapses.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds
+     * @return true if committed, false if the timeout elapsed first
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public boolean await(long timeoutMillis) throws InterruptedException {
+        return flusher == null || flusher.awaitFlushed(sequence, Math.max(1, timeoutMillis));
+    }
+}
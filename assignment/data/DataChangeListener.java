@@ -0,0 +1,26 @@
+package data;
+
+import entity.EntityChangeListener;
+
+/**
+ * Listener notified when entities are added to or removed from the data manager, in addition to
+ * the property changes of the entities it holds.
+ * Used by components outside the data layer that keep derived structures over the stored entities.
+ *
+ * @version 1.0
+ */
+public interface DataChangeListener extends EntityChangeListener {
+    /**
+     * Called after an entity has been added to the data storage, or has replaced a stored entity with the same ID.
+     *
+     * @param entity the entity that was added
+     */
+    void entityAdded(Object entity);
+
+    /**
+     * Called after an entity has been removed from the data storage, or has been replaced by another entity with the same ID.
+     *
+     * @param entity the entity that was removed
+     */
+    void entityRemoved(Object entity);
+}
@@ -0,0 +1,36 @@
+package data;
+
+/**
+ * Enumeration of the data files persisted by the system, one per entity set.
+ * Each constant carries the file name used inside a data or snapshot directory.
+ *
+ * @version 1.0
+ */
+public enum DataFile {
+    STUDENTS("students.txt"),
+    STAFF("staff.txt"),
+    COMPANY_REPS("companyreps.txt"),
+    INTERNSHIPS("internships.txt"),
+    APPLICATIONS("applications.txt"),
+    ACTIVITY_LOGS("activitylogs.txt");
+
+    private final String fileName;
+
+    /**
+     * Constructs a DataFile constant with its file name.
+     *
+     * @param fileName the name of the file inside a data directory
+     */
+    DataFile(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the name of the file inside a data directory.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -4,6 +4,10 @@ import java.io.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import entity.*;
 
 /**
@@ -14,6 +18,11 @@ import entity.*;
  * @version 1.0
  */
 public class DataManager {
+    /** Size in bytes above which a file is parsed in parallel chunks when mapped loading is enabled */
+    private static final long MAPPED_LOADING_THRESHOLD = 8L << 20;
+    /** Default number of internships from which scans are run in parallel */
+    private static final int DEFAULT_PARALLEL_SCAN_THRESHOLD = 50000;
+
     private Map<String, User> users;
     private Map<String, Internship> internships;
     private Map<String, InternshipApplication> applications;
@@ -21,6 +30,27 @@ public class DataManager {
     private Map<String, CompanyRepresentative> companyReps;
     private Map<String, CareerCenterStaff> staffMembers;
     private List<ActivityLog> activityLogs;
+    private volatile WriteAheadJournal journal;
+    private GroupCommitFlusher flusher;
+    private EnumSet<DataFile> dirtySets;
+    private EntityChangeListener changeTracker;
+    private int filesWritten;
+    private int filesSkipped;
+    private ForkJoinPool parsePool;
+    private ActivityLogSink activityLogSink;
+    private ActivityLogStore activityLogStore;
+    private SnapshotStore snapshotStore;
+    private InternshipIndex internshipIndex;
+    private InternshipBitmapIndex internshipBitmaps;
+    private InternshipTextIndex internshipText;
+    private InternshipFuzzyIndex internshipFuzzy;
+    private InternshipDateIndex internshipDates;
+    private InternshipTitleIndex internshipTitles;
+    private List<DataChangeListener> dataChangeListeners;
+    private long internshipVersion;
+    private Internship[] internshipSnapshot;
+    private int parallelScanThreshold;
+    private final ForkJoinPool scanPool;
 
     /**
      * Constructs a new DataManager, initializing all data storage maps and lists.
@@ -33,6 +63,39 @@ public class DataManager {
         this.companyReps = new HashMap<>();
         this.staffMembers = new HashMap<>();
         this.activityLogs = new ArrayList<>();
+        this.dirtySets = EnumSet.noneOf(DataFile.class);
+        this.internshipIndex = new InternshipIndex();
+        this.internshipBitmaps = new InternshipBitmapIndex();
+        this.internshipText = new InternshipTextIndex();
+        this.internshipFuzzy = new InternshipFuzzyIndex();
+        this.internshipDates = new InternshipDateIndex();
+        this.internshipTitles = new InternshipTitleIndex();
+        this.dataChangeListeners = new ArrayList<>();
+        this.changeTracker = this::entityChanged;
+        this.parallelScanThreshold = DEFAULT_PARALLEL_SCAN_THRESHOLD;
+        this.scanPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Sets whether large application and activity log files are loaded by memory-mapping them and
+     * parsing newline-aligned chunks in parallel on the common fork-join pool.
+     * The loaded records keep the same order as with the default single-threaded reader.
+     *
+     * @param enabled true to use mapped parallel loading for large files, false to always read them sequentially
+     */
+    public void setMappedLoading(boolean enabled) {
+        this.parsePool = enabled ? ForkJoinPool.commonPool() : null;
+    }
+
+    /**
+     * Sets the number of internships from which scans of the catalog, or of a candidate list, are split
+     * across a dedicated fork-join pool with one thread per processor. Smaller scans run on the calling
+     * thread. Either way the results keep the order of the sequential scan.
+     *
+     * @param threshold the smallest number of internships scanned in parallel, or Integer.MAX_VALUE to never scan in parallel
+     */
+    public void setParallelScanThreshold(int threshold) {
+        this.parallelScanThreshold = Math.max(threshold, 1);
     }
 
     /**
@@ -42,36 +105,48 @@ public class DataManager {
      * @param filePath the path to the students data file
      */
     public void loadStudents(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 6) {
-                    String userID = parts[0].trim();
-                    String name = parts[1].trim();
-                    String password = parts[2].trim();
-                    int yearOfStudy = Integer.parseInt(parts[3].trim());
-                    String major = parts[4].trim();
-                    String email = parts[5].trim();
+        mergeStudents(readStudents(filePath));
+    }
+
+    /**
+     * Reads student data from the specified file path without touching the shared maps.
+     * Safe to call from a loader thread; the result is merged with {@link #mergeStudents(List)}.
+     *
+     * @param filePath the path to the students data file
+     * @return the students in file order
+     */
+    List<Student> readStudents(String filePath) {
+        List<Student> loaded = new ArrayList<>();
+        try (PipeRecordReader reader = new PipeRecordReader(filePath)) {
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() >= 5) {
+                    String userID = reader.getString(0);
+                    String name = reader.getString(1);
+                    String password = reader.getString(2);
+                    int yearOfStudy = reader.getInt(3);
+                    String major = reader.getSharedString(4);
+                    String email = reader.getFieldCount() >= 6 ? reader.getString(5) : "";
 
                     Student student = new Student(userID, name, password, yearOfStudy, major, email);
-                    students.put(userID, student);
-                    users.put(userID, student);
-                } else if (parts.length >= 5) {
-                    String userID = parts[0].trim();
-                    String name = parts[1].trim();
-                    String password = parts[2].trim();
-                    int yearOfStudy = Integer.parseInt(parts[3].trim());
-                    String major = parts[4].trim();
-
-                    Student student = new Student(userID, name, password, yearOfStudy, major, "");
-                    students.put(userID, student);
-                    users.put(userID, student);
+                    student.setChangeListener(changeTracker);
+                    loaded.add(student);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error loading students: " + e.getMessage());
         }
+        return loaded;
+    }
+
+    /**
+     * Adds loaded students to the data storage.
+     *
+     * @param loaded the students returned by {@link #readStudents(String)}
+     */
+    void mergeStudents(List<Student> loaded) {
+        for (Student student : loaded) {
+            putUser(student);
+        }
     }
 
     /**
@@ -81,34 +156,46 @@ public class DataManager {
      * @param filePath the path to the staff data file
      */
     public void loadStaff(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 5) {
-                    String userID = parts[0].trim();
-                    String name = parts[1].trim();
-                    String password = parts[2].trim();
-                    String department = parts[3].trim();
-                    String email = parts[4].trim();
+        mergeStaff(readStaff(filePath));
+    }
+
+    /**
+     * Reads career center staff data from the specified file path without touching the shared maps.
+     *
+     * @param filePath the path to the staff data file
+     * @return the staff members in file order
+     */
+    List<CareerCenterStaff> readStaff(String filePath) {
+        List<CareerCenterStaff> loaded = new ArrayList<>();
+        try (PipeRecordReader reader = new PipeRecordReader(filePath)) {
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() >= 4) {
+                    String userID = reader.getString(0);
+                    String name = reader.getString(1);
+                    String password = reader.getString(2);
+                    String department = reader.getSharedString(3);
+                    String email = reader.getFieldCount() >= 5 ? reader.getString(4) : "";
 
                     CareerCenterStaff staff = new CareerCenterStaff(userID, name, password, department, email);
-                    staffMembers.put(userID, staff);
-                    users.put(userID, staff);
-                } else if (parts.length >= 4) {
-                    String userID = parts[0].trim();
-                    String name = parts[1].trim();
-                    String password = parts[2].trim();
-                    String department = parts[3].trim();
-
-                    CareerCenterStaff staff = new CareerCenterStaff(userID, name, password, department, "");
-                    staffMembers.put(userID, staff);
-                    users.put(userID, staff);
+                    staff.setChangeListener(changeTracker);
+                    loaded.add(staff);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error loading staff: " + e.getMessage());
         }
+        return loaded;
+    }
+
+    /**
+     * Adds loaded staff members to the data storage.
+     *
+     * @param loaded the staff members returned by {@link #readStaff(String)}
+     */
+    void mergeStaff(List<CareerCenterStaff> loaded) {
+        for (CareerCenterStaff staff : loaded) {
+            putUser(staff);
+        }
     }
 
     /**
@@ -118,29 +205,49 @@ public class DataManager {
      * @param filePath the path to the company representatives data file
      */
     public void loadCompanyReps(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 6) {
-                    String userID = parts[0].trim();
-                    String name = parts[1].trim();
-                    String password = parts[2].trim();
-                    String companyName = parts[3].trim();
-                    String department = parts[4].trim();
-                    String position = parts[5].trim();
-                    boolean approved = Boolean.parseBoolean(parts[6].trim());
+        mergeCompanyReps(readCompanyReps(filePath));
+    }
+
+    /**
+     * Reads company representative data from the specified file path without touching the shared maps.
+     *
+     * @param filePath the path to the company representatives data file
+     * @return the company representatives in file order
+     */
+    List<CompanyRepresentative> readCompanyReps(String filePath) {
+        List<CompanyRepresentative> loaded = new ArrayList<>();
+        try (PipeRecordReader reader = new PipeRecordReader(filePath)) {
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() >= 6) {
+                    String userID = reader.getString(0);
+                    String name = reader.getString(1);
+                    String password = reader.getString(2);
+                    String companyName = reader.getSharedString(3);
+                    String department = reader.getSharedString(4);
+                    String position = reader.getSharedString(5);
+                    boolean approved = reader.getFieldCount() >= 7 && reader.getBoolean(6);
 
                     CompanyRepresentative rep = new CompanyRepresentative(userID, name, password, companyName, department, position);
                     rep.setApproved(approved);
-                    companyReps.put(userID, rep);
-                    users.put(userID, rep);
+                    rep.setChangeListener(changeTracker);
+                    loaded.add(rep);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error loading company reps: " + e.getMessage());
         }
+        return loaded;
+    }
+
+    /**
+     * Adds loaded company representatives to the data storage.
+     *
+     * @param loaded the company representatives returned by {@link #readCompanyReps(String)}
+     */
+    void mergeCompanyReps(List<CompanyRepresentative> loaded) {
+        for (CompanyRepresentative rep : loaded) {
+            putUser(rep);
+        }
     }
 
     /**
@@ -150,37 +257,142 @@ public class DataManager {
      * @param filePath the path to the internships data file
      */
     public void loadInternships(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 11) {
-                    String internshipID = parts[0].trim();
-                    String title = parts[1].trim();
-                    String description = parts[2].trim();
-                    String level = parts[3].trim();
-                    String preferredMajor = parts[4].trim();
-                    LocalDate openingDate = LocalDate.parse(parts[5].trim());
-                    LocalDate closingDate = LocalDate.parse(parts[6].trim());
-                    String status = parts[7].trim();
-                    String companyName = parts[8].trim();
-                    String repInCharge = parts[9].trim();
-                    int numSlots = Integer.parseInt(parts[10].trim());
-                    int filledSlots = Integer.parseInt(parts[11].trim());
-                    boolean visible = Boolean.parseBoolean(parts[12].trim());
+        mergeInternships(readInternships(filePath));
+    }
+
+    /**
+     * Reads internship data from the specified file path without touching the shared maps.
+     *
+     * @param filePath the path to the internships data file
+     * @return the internships in file order
+     */
+    List<Internship> readInternships(String filePath) {
+        List<Internship> loaded = new ArrayList<>();
+        try (PipeRecordReader reader = new PipeRecordReader(filePath)) {
+            while (reader.nextRecord()) {
+                if (reader.getFieldCount() >= 11) {
+                    String internshipID = reader.getString(0);
+                    String title = reader.getString(1);
+                    String description = reader.getString(2);
+                    String level = reader.getSharedString(3);
+                    String preferredMajor = reader.getSharedString(4);
+                    LocalDate openingDate = reader.getDate(5);
+                    LocalDate closingDate = reader.getDate(6);
+                    String status = reader.getSharedString(7);
+                    String companyName = reader.getSharedString(8);
+                    String repInCharge = reader.getSharedString(9);
+                    int numSlots = reader.getInt(10);
+                    int filledSlots = reader.getFieldCount() >= 12 ? reader.getInt(11) : 0;
+                    boolean visible = reader.getFieldCount() >= 13 && reader.getBoolean(12);
 
                     Internship internship = new Internship(internshipID, title, description, level, preferredMajor,
                                                           openingDate, closingDate, companyName, repInCharge, numSlots);
                     internship.setStatus(status);
                     internship.setFilledSlots(filledSlots);
                     internship.setVisible(visible);
-                    internships.put(internshipID, internship);
+                    internship.setChangeListener(changeTracker);
+                    loaded.add(internship);
                 }
             }
         } catch (IOException e) {
             System.out.println("Error loading internships: " + e.getMessage());
         }
+        return loaded;
+    }
+
+    /**
+     * Adds loaded internships to the data storage.
+     *
+     * @param loaded the internships returned by {@link #readInternships(String)}
+     */
+    void mergeInternships(List<Internship> loaded) {
+        for (Internship internship : loaded) {
+            putInternship(internship);
+        }
+    }
+
+    /**
+     * Stores an internship in the internship map and every internship index, replacing any internship with the same ID.
+     *
+     * @param internship the internship to store
+     */
+    private void putInternship(Internship internship) {
+        Internship previous = internships.put(internship.getInternshipID(), internship);
+        if (previous != null) {
+            internshipIndex.remove(previous);
+            internshipBitmaps.remove(previous);
+            internshipText.remove(previous);
+            internshipFuzzy.remove(previous);
+            internshipDates.remove(previous);
+            internshipTitles.remove(previous);
+        }
+        internshipIndex.add(internship);
+        internshipBitmaps.add(internship);
+        internshipText.add(internship);
+        internshipFuzzy.add(internship);
+        internshipDates.add(internship);
+        internshipTitles.add(internship);
+        internshipVersion++;
+        internshipSnapshot = null;
+        if (previous != null && previous != internship) {
+            fireEntityRemoved(previous);
+        }
+        fireEntityAdded(internship);
+    }
+
+    /**
+     * Removes an internship from the internship map and every internship index.
+     *
+     * @param internshipID the ID of the internship to remove
+     * @return the removed internship, or null if there was none
+     */
+    private Internship deleteInternship(String internshipID) {
+        Internship removed = internships.remove(internshipID);
+        if (removed != null) {
+            internshipIndex.remove(removed);
+            internshipBitmaps.remove(removed);
+            internshipText.remove(removed);
+            internshipFuzzy.remove(removed);
+            internshipDates.remove(removed);
+            internshipTitles.remove(removed);
+            internshipVersion++;
+            internshipSnapshot = null;
+            fireEntityRemoved(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Stores a user in the user map and in the map for its type, replacing any user with the same ID.
+     *
+     * @param user the user to store
+     */
+    private void putUser(User user) {
+        User previous = users.put(user.getUserID(), user);
+        if (user instanceof Student) {
+            students.put(user.getUserID(), (Student) user);
+        } else if (user instanceof CompanyRepresentative) {
+            companyReps.put(user.getUserID(), (CompanyRepresentative) user);
+        } else if (user instanceof CareerCenterStaff) {
+            staffMembers.put(user.getUserID(), (CareerCenterStaff) user);
+        }
+        if (previous != null && previous != user) {
+            fireEntityRemoved(previous);
+        }
+        fireEntityAdded(user);
+    }
+
+    /**
+     * Removes a company representative from the user maps.
+     *
+     * @param repID the ID of the company representative to remove
+     */
+    private void deleteCompanyRep(String repID) {
+        CompanyRepresentative removed = companyReps.remove(repID);
+        users.remove(repID);
+        if (removed != null) {
+            fireEntityRemoved(removed);
+        }
     }
 
     /**
@@ -206,42 +418,81 @@ public class DataManager {
      * @param filePath the path to the applications data file
      */
     public void loadApplications(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 5) {
-                    String applicationID = parts[0].trim();
-                    String studentID = parts[1].trim();
-                    String internshipID = parts[2].trim();
-                    String status = parts[3].trim();
-                    boolean confirmed = Boolean.parseBoolean(parts[4].trim());
-                    boolean withdrawalRequested = Boolean.parseBoolean(parts[5].trim());
-                    String withdrawalReason = parts.length > 6 ? parts[6].trim() : null;
-
-                    InternshipApplication application = new InternshipApplication(applicationID, studentID, internshipID);
-                    application.setStatus(status);
-                    application.setConfirmed(confirmed);
-                    if (withdrawalRequested) {
-                        application.requestWithdrawal(withdrawalReason != null ? withdrawalReason : "");
-                    }
-                    applications.put(applicationID, application);
-
-                    Student student = students.get(studentID);
-                    if (student != null) {
-                        student.addApplication(application);
-                    }
+        mergeApplications(readApplications(filePath));
+    }
 
-                    Internship internship = internships.get(internshipID);
-                    if (internship != null) {
-                        internship.addApplication(application);
-                    }
-                }
+    /**
+     * Reads internship application data from the specified file path without touching the shared maps.
+     * The applications are not linked to their students and internships until they are merged.
+     *
+     * @param filePath the path to the applications data file
+     * @return the applications in file order
+     */
+    List<InternshipApplication> readApplications(String filePath) {
+        List<InternshipApplication> loaded = new ArrayList<>();
+        try {
+            if (useMappedLoading(new File(filePath).length())) {
+                return new MappedChunkParser<InternshipApplication>(this::parseApplications, parsePool).parse(filePath);
+            }
+            try (PipeRecordReader reader = new PipeRecordReader(filePath)) {
+                parseApplications(reader, loaded);
             }
         } catch (IOException e) {
             System.out.println("Error loading applications: " + e.getMessage());
         }
+        return loaded;
+    }
+
+    /**
+     * Parses every application record available from the reader.
+     *
+     * @param reader the reader to parse records from
+     * @param loaded the list receiving the applications in order
+     * @throws IOException if the records cannot be read
+     */
+    private void parseApplications(PipeRecordReader reader, List<InternshipApplication> loaded) throws IOException {
+        while (reader.nextRecord()) {
+            if (reader.getFieldCount() >= 5) {
+                String applicationID = reader.getString(0);
+                String studentID = reader.getString(1);
+                String internshipID = reader.getString(2);
+                String status = reader.getSharedString(3);
+                boolean confirmed = reader.getBoolean(4);
+                boolean withdrawalRequested = reader.getFieldCount() >= 6 && reader.getBoolean(5);
+                String withdrawalReason = reader.getFieldCount() > 6 ? reader.getSharedString(6) : null;
+
+                InternshipApplication application = new InternshipApplication(applicationID, studentID, internshipID);
+                application.setStatus(status);
+                application.setConfirmed(confirmed);
+                if (withdrawalRequested) {
+                    application.requestWithdrawal(withdrawalReason != null ? withdrawalReason : "");
+                }
+                application.setChangeListener(changeTracker);
+                loaded.add(application);
+            }
+        }
+    }
+
+    /**
+     * Adds loaded applications to the data storage and links them to their students and internships.
+     * Students and internships must already be loaded.
+     *
+     * @param loaded the applications returned by {@link #readApplications(String)}
+     */
+    void mergeApplications(List<InternshipApplication> loaded) {
+        for (InternshipApplication application : loaded) {
+            applications.put(application.getApplicationID(), application);
+
+            Student student = students.get(application.getStudentID());
+            if (student != null) {
+                student.addApplication(application);
+            }
+
+            Internship internship = internships.get(application.getInternshipID());
+            if (internship != null) {
+                internship.addApplication(application);
+            }
+        }
     }
 
     /**
@@ -251,14 +502,10 @@ public class DataManager {
      * @param user the user to add
      */
     public void addUser(User user) {
-        users.put(user.getUserID(), user);
-        if (user instanceof Student) {
-            students.put(user.getUserID(), (Student) user);
-        } else if (user instanceof CompanyRepresentative) {
-            companyReps.put(user.getUserID(), (CompanyRepresentative) user);
-        } else if (user instanceof CareerCenterStaff) {
-            staffMembers.put(user.getUserID(), (CareerCenterStaff) user);
-        }
+        putUser(user);
+        user.setChangeListener(changeTracker);
+        markDirty(user);
+        recordChange(user);
     }
 
     /**
@@ -343,7 +590,10 @@ public class DataManager {
      * @param internship the internship to add
      */
     public void addInternship(Internship internship) {
-        internships.put(internship.getInternshipID(), internship);
+        putInternship(internship);
+        internship.setChangeListener(changeTracker);
+        markDirty(internship);
+        recordChange(internship);
     }
 
     /**
@@ -366,232 +616,1527 @@ public class DataManager {
     }
 
     /**
-     * Removes an internship from the data storage by its ID.
+     * Returns the number of internships in the data storage.
      *
-     * @param internshipID the unique identifier of the internship to remove
+     * @return the number of internships
      */
-    public void removeInternship(String internshipID) {
-        internships.remove(internshipID);
+    public int getInternshipCount() {
+        return internships.size();
     }
 
     /**
-     * Adds an internship application to the data storage.
+     * Counts the internships whose attribute has the specified value using the attribute index.
      *
-     * @param application the application to add
+     * @param attribute the attribute to look up
+     * @param value the attribute value
+     * @return the number of matching internships
      */
-    public void addApplication(InternshipApplication application) {
-        applications.put(application.getApplicationID(), application);
+    public int countInternships(InternshipIndex.Attribute attribute, String value) {
+        return internshipIndex.count(attribute, value);
     }
 
     /**
-     * Retrieves an internship application by its ID.
+     * Counts the internships matching every specified criterion by intersecting the bitmap indexes,
+     * without collecting them. Passing null for any parameter skips filtering on that attribute.
      *
-     * @param applicationID the unique identifier of the application
-     * @return the application object, or null if not found
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visible true for visible internships only, false for hidden ones only (or null to skip)
+     * @param closingDateBefore only internships closing on or before this date (or null to skip)
+     * @return the number of matching internships
      */
-    public InternshipApplication getApplication(String applicationID) {
-        return applications.get(applicationID);
+    public int countInternships(String status, String preferredMajor, String level,
+                                Boolean visible, LocalDate closingDateBefore) {
+        return internshipBitmaps.match(status, preferredMajor, level, visible, closingDateBefore).cardinality();
     }
 
     /**
-     * Retrieves all internship applications from the data storage.
+     * Counts the internships opening within a date range using the opening date index.
      *
-     * @return a collection of all applications
+     * @param from the earliest opening date, inclusive (or null for no lower bound)
+     * @param to the latest opening date, inclusive (or null for no upper bound)
+     * @return the number of matching internships
      */
-    public Collection<InternshipApplication> getAllApplications() {
-        return applications.values();
+    public int countInternshipsOpeningBetween(LocalDate from, LocalDate to) {
+        return internshipDates.countOpeningBetween(from, to);
     }
 
     /**
-     * Removes a company representative registration by their ID.
+     * Counts the internships closing within a date range using the closing date index.
      *
-     * @param repID the unique identifier of the company representative to remove
+     * @param from the earliest closing date, inclusive (or null for no lower bound)
+     * @param to the latest closing date, inclusive (or null for no upper bound)
+     * @return the number of matching internships
      */
-    public void removeCompanyRepRegistration(String repID) {
-        companyReps.remove(repID);
-        users.remove(repID);
+    public int countInternshipsClosingBetween(LocalDate from, LocalDate to) {
+        return internshipDates.countClosingBetween(from, to);
     }
 
     /**
-     * Saves company representative data to the specified file path.
+     * Returns all internships as a list backed by an array snapshot, in the same order as
+     * {@link #getAllInternships()}. The snapshot is taken again after internships are added or removed,
+     * and splits evenly for parallel scans, unlike the view of the hash map.
      *
-     * @param filePath the path where company representative data should be saved
+     * @return an unmodifiable list of all internships
      */
-    public void saveCompanyReps(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (CompanyRepresentative rep : companyReps.values()) {
-                String line = rep.getUserID() + "|" + rep.getName() + "|" + rep.getPassword() + "|" +
-                             rep.getCompanyName() + "|" + rep.getDepartment() + "|" + rep.getPosition() + "|" +
-                             rep.isApproved();
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving company reps: " + e.getMessage());
+    public List<Internship> getInternshipSnapshot() {
+        if (internshipSnapshot == null) {
+            internshipSnapshot = internships.values().toArray(new Internship[0]);
         }
+        return Collections.unmodifiableList(Arrays.asList(internshipSnapshot));
     }
 
     /**
-     * Saves internship data to the specified file path.
+     * Keeps the internships of a list that satisfy a condition. Lists of at least the parallel scan
+     * threshold are scanned in parallel on the scan pool, unless it has been shut down; the result has
+     * the same order either way.
      *
-     * @param filePath the path where internship data should be saved
+     * @param internships the internships to scan
+     * @param filter the condition to test
+     * @return a new list of the internships satisfying the condition, in list order
      */
-    public void saveInternships(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (Internship internship : internships.values()) {
-                String line = internship.getInternshipID() + "|" + internship.getTitle() + "|" +
-                             internship.getDescription() + "|" + internship.getLevel() + "|" +
-                             internship.getPreferredMajor() + "|" + internship.getOpeningDate() + "|" +
-                             internship.getClosingDate() + "|" + internship.getStatus() + "|" +
-                             internship.getCompanyName() + "|" + internship.getRepInCharge() + "|" +
-                             internship.getNumSlots() + "|" + internship.getFilledSlots() + "|" +
-                             internship.isVisible();
-                bw.write(line);
-                bw.newLine();
+    public List<Internship> scanInternships(List<Internship> internships, Predicate<Internship> filter) {
+        if (internships.size() < parallelScanThreshold || scanPool.isShutdown()) {
+            List<Internship> matches = new ArrayList<>();
+            for (Internship internship : internships) {
+                if (filter.test(internship)) {
+                    matches.add(internship);
+                }
             }
-        } catch (IOException e) {
-            System.out.println("Error saving internships: " + e.getMessage());
+            return matches;
         }
+        return scanPool.invoke(ForkJoinTask.adapt(
+                () -> internships.parallelStream().filter(filter).collect(Collectors.toCollection(ArrayList::new))));
     }
 
     /**
-     * Saves internship application data to the specified file path.
+     * Retrieves all internships with the specified status using the status index.
      *
-     * @param filePath the path where application data should be saved
+     * @param status the internship status
+     * @return a list of the matching internships
      */
-    public void saveApplications(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (InternshipApplication app : applications.values()) {
-                String withdrawalReason = app.getWithdrawalReason() != null ? app.getWithdrawalReason() : "";
-                String line = app.getApplicationID() + "|" + app.getStudentID() + "|" +
-                             app.getInternshipID() + "|" + app.getStatus() + "|" + app.isConfirmed() + "|" +
-                             app.isWithdrawalRequested() + "|" + withdrawalReason;
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving applications: " + e.getMessage());
-        }
+    public List<Internship> getInternshipsByStatus(String status) {
+        return internshipIndex.get(InternshipIndex.Attribute.STATUS, status);
     }
 
     /**
-     * Saves student data to the specified file path.
+     * Retrieves all internships for the specified preferred major using the major index.
      *
-     * @param filePath the path where student data should be saved
+     * @param preferredMajor the preferred major
+     * @return a list of the matching internships
      */
-    public void saveStudents(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (Student student : students.values()) {
-                String line = student.getUserID() + "|" + student.getName() + "|" +
-                             student.getPassword() + "|" + student.getYearOfStudy() + "|" +
-                             student.getMajor() + "|" + student.getEmail();
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving students: " + e.getMessage());
+    public List<Internship> getInternshipsByMajor(String preferredMajor) {
+        return internshipIndex.get(InternshipIndex.Attribute.PREFERRED_MAJOR, preferredMajor);
+    }
+
+    /**
+     * Retrieves all internships with the specified level using the level index.
+     *
+     * @param level the internship level
+     * @return a list of the matching internships
+     */
+    public List<Internship> getInternshipsByLevel(String level) {
+        return internshipIndex.get(InternshipIndex.Attribute.LEVEL, level);
+    }
+
+    /**
+     * Retrieves all internships offered by the specified company using the company index.
+     *
+     * @param companyName the company name
+     * @return a list of the matching internships
+     */
+    public List<Internship> getInternshipsByCompany(String companyName) {
+        return internshipIndex.get(InternshipIndex.Attribute.COMPANY_NAME, companyName);
+    }
+
+    /**
+     * Retrieves all internships managed by the specified company representative using the representative index.
+     *
+     * @param repID the ID of the company representative
+     * @return a list of the matching internships
+     */
+    public List<Internship> getInternshipsByRep(String repID) {
+        return internshipIndex.get(InternshipIndex.Attribute.REP_IN_CHARGE, repID);
+    }
+
+    /**
+     * Retrieves all internships matching the specified status, preferred major and level.
+     * Passing null for any parameter skips filtering on that attribute.
+     *
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @return a list of the matching internships
+     */
+    public List<Internship> findInternships(String status, String preferredMajor, String level) {
+        return filterInternships(status, preferredMajor, level, null, null);
+    }
+
+    /**
+     * Retrieves all internships matching every specified criterion by intersecting the bitmap indexes.
+     * Passing null for any parameter skips filtering on that attribute. A filter on the closing date
+     * alone is read from the closing date index instead, and its results are ordered by closing date.
+     *
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visible true for visible internships only, false for hidden ones only (or null to skip)
+     * @param closingDateBefore only internships closing on or before this date (or null to skip)
+     * @return a list of the matching internships
+     */
+    public List<Internship> filterInternships(String status, String preferredMajor, String level,
+                                              Boolean visible, LocalDate closingDateBefore) {
+        if (status == null && preferredMajor == null && level == null && visible == null && closingDateBefore != null) {
+            return internshipDates.closingBetween(null, closingDateBefore);
         }
+        return internshipBitmaps.filter(status, preferredMajor, level, visible, closingDateBefore);
     }
 
     /**
-     * Saves career center staff data to the specified file path.
+     * Retrieves the first internships in title order matching every specified criterion.
+     * Passing null for any parameter skips filtering on that attribute. When the matches are a large
+     * share of the catalog, or only a few of many matches are wanted, the title index is walked and
+     * tested against the matching bitmap, stopping after limit rows; otherwise the matches are
+     * collected and sorted.
      *
-     * @param filePath the path where staff data should be saved
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visible true for visible internships only, false for hidden ones only (or null to skip)
+     * @param closingDateBefore only internships closing on or before this date (or null to skip)
+     * @param limit the maximum number of internships to return
+     * @return a list of at most limit matching internships sorted by title
      */
-    public void saveStaff(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (CareerCenterStaff staff : staffMembers.values()) {
-                String line = staff.getUserID() + "|" + staff.getName() + "|" +
-                             staff.getPassword() + "|" + staff.getDepartment() + "|" + staff.getEmail();
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving staff: " + e.getMessage());
+    public List<Internship> filterInternshipsByTitle(String status, String preferredMajor, String level,
+                                                     Boolean visible, LocalDate closingDateBefore, int limit) {
+        return filterInternshipsByTitle(status, preferredMajor, level, visible, closingDateBefore, null, null, limit);
+    }
+
+    /**
+     * Retrieves the first internships in title order matching every specified criterion that come after
+     * a position in that order, so that a listing can be read page by page. The title index is walked
+     * from the position when that is cheaper; otherwise the matches after the position are collected
+     * and only the first limit of them are kept, so no page sorts all of the matches.
+     *
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visible true for visible internships only, false for hidden ones only (or null to skip)
+     * @param closingDateBefore only internships closing on or before this date (or null to skip)
+     * @param afterTitle the title of the last internship of the previous page (or null for the first page)
+     * @param afterInternshipID the ID of the last internship of the previous page
+     * @param limit the maximum number of internships to return
+     * @return a list of at most limit matching internships sorted by title
+     */
+    public List<Internship> filterInternshipsByTitle(String status, String preferredMajor, String level,
+                                                     Boolean visible, LocalDate closingDateBefore,
+                                                     String afterTitle, String afterInternshipID, int limit) {
+        BitSet matches = internshipBitmaps.match(status, preferredMajor, level, visible, closingDateBefore);
+        int count = matches.cardinality();
+        if (count == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (isTitleWalkCheaper(count, limit)) {
+            return internshipTitles.inTitleOrderAfter(afterTitle, afterInternshipID,
+                    internship -> internshipBitmaps.matches(matches, internship), limit);
         }
+        return InternshipTitleIndex.selectInTitleOrder(internshipBitmaps.collect(matches), afterTitle, afterInternshipID, limit);
     }
 
     /**
-     * Adds an activity log entry to the data storage.
+     * Retrieves the first internships in title order that satisfy a condition by walking the title index,
+     * stopping as soon as limit of them are found.
      *
-     * @param log the activity log to add
+     * @param filter the condition, or null to accept every internship
+     * @param limit the maximum number of internships to return
+     * @return a list of at most limit internships sorted by title
      */
-    public void addActivityLog(ActivityLog log) {
-        activityLogs.add(log);
+    public List<Internship> firstInTitleOrder(Predicate<Internship> filter, int limit) {
+        return internshipTitles.inTitleOrder(filter, limit);
     }
 
     /**
-     * Retrieves all activity logs from the data storage.
+     * Retrieves the first internships in title order from a collection that come after a position in
+     * that order. Only the first limit internships are kept while scanning, so the collection is not sorted.
      *
-     * @return a list of all activity logs
+     * @param internships the internships to choose from
+     * @param afterTitle the title of the last internship of the previous page (or null for the first page)
+     * @param afterInternshipID the ID of the last internship of the previous page
+     * @param limit the maximum number of internships to return
+     * @return a list of at most limit of the internships sorted by title
      */
-    public List<ActivityLog> getAllActivityLogs() {
-        return new ArrayList<>(activityLogs);
+    public List<Internship> firstByTitle(Collection<Internship> internships, String afterTitle,
+                                         String afterInternshipID, int limit) {
+        return InternshipTitleIndex.selectInTitleOrder(internships, afterTitle, afterInternshipID, limit);
     }
 
     /**
-     * Loads activity log data from the specified file path.
-     * Each line should contain pipe-separated activity log information.
+     * Orders internships by title, breaking ties by internship ID. A list holding a sizeable share of
+     * the catalog is ordered by walking the title index; smaller lists, or lists with internships that
+     * are not stored, are sorted.
      *
-     * @param filePath the path to the activity logs data file
+     * @param internships the internships to order
+     * @return a new list of the internships ordered by title
      */
-    public void loadActivityLogs(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                if (line.trim().isEmpty()) continue;
-                String[] parts = line.trim().split("\\|");
-                if (parts.length >= 5) {
-                    String activityID = parts[0].trim();
-                    String userID = parts[1].trim();
-                    String userType = parts[2].trim();
-                    String activityDescription = parts[3].trim();
-                    LocalDateTime timestamp = LocalDateTime.parse(parts[4].trim());
-                    String relatedEntity = parts.length > 5 ? parts[5].trim() : "";
-
-                    ActivityLog log = new ActivityLog(userID, userType, activityDescription, relatedEntity);
-                    activityLogs.add(log);
-                }
+    public List<Internship> sortByTitle(List<Internship> internships) {
+        if (isTitleWalkCheaper(internships.size(), internships.size())) {
+            List<Internship> ordered = internshipTitles.orderByTitle(internships);
+            if (ordered != null) {
+                return ordered;
             }
-        } catch (IOException e) {
-            System.out.println("Error loading activity logs: " + e.getMessage());
         }
+        List<Internship> sorted = new ArrayList<>(internships);
+        sorted.sort(Comparator.comparing(Internship::getTitle).thenComparing(Internship::getInternshipID));
+        return sorted;
     }
 
     /**
-     * Saves activity log data to the specified file path.
+     * Estimates whether walking the title index beats sorting the matches. The walk visits about
+     * limit / (matches / catalog size) internships before it has found limit of the matches, while
+     * sorting costs about matches * log2(matches) string comparisons, each counted as four steps of the walk.
      *
-     * @param filePath the path where activity logs should be saved
+     * @param matchCount the number of matching internships
+     * @param limit the number of rows wanted
+     * @return true if the title index should be walked
      */
-    public void saveActivityLogs(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
-            for (ActivityLog log : activityLogs) {
-                String line = log.getActivityID() + "|" + log.getUserID() + "|" +
-                             log.getUserType() + "|" + log.getActivityDescription() + "|" +
-                             log.getTimestamp() + "|" + log.getRelatedEntity();
-                bw.write(line);
-                bw.newLine();
-            }
-        } catch (IOException e) {
-            System.out.println("Error saving activity logs: " + e.getMessage());
+    private boolean isTitleWalkCheaper(int matchCount, int limit) {
+        if (matchCount == 0) {
+            return false;
         }
+        long walked = (long) Math.min(limit, matchCount) * internshipTitles.size() / matchCount;
+        double sortCost = matchCount * (Math.log(matchCount + 1) / Math.log(2)) * 4;
+        return walked <= sortCost;
     }
 
     /**
-     * Saves all data to their respective file paths.
-     * This is a convenience method that saves students, staff, company representatives, internships, and applications.
+     * Retrieves the internships opening within a date range, ordered by opening date.
      *
-     * @param studentsPath the path where student data should be saved
-     * @param staffPath the path where staff data should be saved
-     * @param companyRepsPath the path where company representative data should be saved
-     * @param internshipsPath the path where internship data should be saved
-     * @param applicationsPath the path where application data should be saved
+     * @param from the earliest opening date, inclusive (or null for no lower bound)
+     * @param to the latest opening date, inclusive (or null for no upper bound)
+     * @return a list of the matching internships
      */
-    public void saveAllData(String studentsPath, String staffPath, String companyRepsPath, String internshipsPath, String applicationsPath) {
-        saveStudents(studentsPath);
-        saveStaff(staffPath);
-        saveCompanyReps(companyRepsPath);
-        saveInternships(internshipsPath);
-        saveApplications(applicationsPath);
+    public List<Internship> getInternshipsOpeningBetween(LocalDate from, LocalDate to) {
+        return internshipDates.openingBetween(from, to);
+    }
+
+    /**
+     * Retrieves the internships closing within a date range, ordered by closing date.
+     *
+     * @param from the earliest closing date, inclusive (or null for no lower bound)
+     * @param to the latest closing date, inclusive (or null for no upper bound)
+     * @return a list of the matching internships
+     */
+    public List<Internship> getInternshipsClosingBetween(LocalDate from, LocalDate to) {
+        return internshipDates.closingBetween(from, to);
+    }
+
+    /**
+     * Orders internships by closing date, breaking ties by internship ID. A list holding a sizeable share
+     * of the catalog is ordered by walking the closing date index; smaller lists, or lists with internships
+     * that are not stored, are sorted. Both give the same order.
+     *
+     * @param internships the internships to order
+     * @return a new list of the internships ordered by closing date
+     */
+    public List<Internship> sortByClosingDate(List<Internship> internships) {
+        if (internships.size() >= this.internships.size() / 8) {
+            List<Internship> ordered = internshipDates.orderByClosingDate(internships);
+            if (ordered != null) {
+                return ordered;
+            }
+        }
+        List<Internship> sorted = new ArrayList<>(internships);
+        sorted.sort(Comparator.comparing(Internship::getClosingDate).thenComparing(Internship::getInternshipID));
+        return sorted;
+    }
+
+    /**
+     * Searches internships by keyword using the full-text index over title, description and company name.
+     * The keyword is split into terms, and an internship matches if every term is the start of a word
+     * in one of those fields, ignoring case.
+     *
+     * @param keyword the search terms
+     * @return a list of the matching internships, or all internships if the keyword contains no terms
+     */
+    public List<Internship> searchInternships(String keyword) {
+        List<Internship> matches = internshipText.search(keyword);
+        return matches != null ? matches : new ArrayList<>(internships.values());
+    }
+
+    /**
+     * Searches internships by keyword like {@link #searchInternships(String)} and returns only the most
+     * relevant matches, ranked by BM25F over title, description and company name.
+     *
+     * @param keyword the search terms
+     * @param limit the maximum number of internships to return
+     * @param filter the condition a match must also satisfy, or null to accept every match
+     * @return a list of at most limit internships in decreasing order of relevance,
+     *         or an empty list if the keyword contains no terms
+     */
+    public List<Internship> rankInternships(String keyword, int limit, Predicate<Internship> filter) {
+        List<Internship> matches = internshipText.rank(keyword, limit, filter);
+        return matches != null ? matches : new ArrayList<>();
+    }
+
+    /**
+     * Searches internships by keyword, tolerating misspelled words. An internship matches if, for every
+     * term of the keyword, its title, company name or preferred major contains a word at most one edit
+     * away from the term (two edits for terms of eight letters or more; terms of up to two letters must
+     * match exactly). Whole words are compared, so terms are not matched as prefixes.
+     *
+     * @param keyword the search terms
+     * @return a list of the matching internships, or all internships if the keyword contains no terms
+     */
+    public List<Internship> fuzzySearchInternships(String keyword) {
+        List<Internship> matches = internshipFuzzy.search(keyword);
+        return matches != null ? matches : new ArrayList<>(internships.values());
+    }
+
+    /**
+     * Removes an internship from the data storage by its ID.
+     *
+     * @param internshipID the unique identifier of the internship to remove
+     */
+    public void removeInternship(String internshipID) {
+        deleteInternship(internshipID);
+        dirtySets.add(DataFile.INTERNSHIPS);
+        if (isJournalOpen()) {
+            appendToJournal(WriteAheadJournal.DELETE, "INTERNSHIP", internshipID);
+        }
+    }
+
+    /**
+     * Adds an internship application to the data storage.
+     *
+     * @param application the application to add
+     */
+    public void addApplication(InternshipApplication application) {
+        applications.put(application.getApplicationID(), application);
+        application.setChangeListener(changeTracker);
+        markDirty(application);
+        recordChange(application);
+    }
+
+    /**
+     * Retrieves an internship application by its ID.
+     *
+     * @param applicationID the unique identifier of the application
+     * @return the application object, or null if not found
+     */
+    public InternshipApplication getApplication(String applicationID) {
+        return applications.get(applicationID);
+    }
+
+    /**
+     * Retrieves all internship applications from the data storage.
+     *
+     * @return a collection of all applications
+     */
+    public Collection<InternshipApplication> getAllApplications() {
+        return applications.values();
+    }
+
+    /**
+     * Removes a company representative registration by their ID.
+     *
+     * @param repID the unique identifier of the company representative to remove
+     */
+    public void removeCompanyRepRegistration(String repID) {
+        deleteCompanyRep(repID);
+        dirtySets.add(DataFile.COMPANY_REPS);
+        if (isJournalOpen()) {
+            appendToJournal(WriteAheadJournal.DELETE, "COMPANYREP", repID);
+        }
+    }
+
+    /**
+     * Saves company representative data to the specified file path.
+     *
+     * @param filePath the path where company representative data should be saved
+     */
+    public void saveCompanyReps(String filePath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+            for (CompanyRepresentative rep : companyReps.values()) {
+                bw.write(formatCompanyRep(rep));
+                bw.newLine();
+            }
+            dirtySets.remove(DataFile.COMPANY_REPS);
+            filesWritten++;
+        } catch (IOException e) {
+            System.out.println("Error saving company reps: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves internship data to the specified file path.
+     *
+     * @param filePath the path where internship data should be saved
+     */
+    public void saveInternships(String filePath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+            for (Internship internship : internships.values()) {
+                bw.write(formatInternship(internship));
+                bw.newLine();
+            }
+            dirtySets.remove(DataFile.INTERNSHIPS);
+            filesWritten++;
+        } catch (IOException e) {
+            System.out.println("Error saving internships: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves internship application data to the specified file path.
+     *
+     * @param filePath the path where application data should be saved
+     */
+    public void saveApplications(String filePath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+            for (InternshipApplication app : applications.values()) {
+                bw.write(formatApplication(app));
+                bw.newLine();
+            }
+            dirtySets.remove(DataFile.APPLICATIONS);
+            filesWritten++;
+        } catch (IOException e) {
+            System.out.println("Error saving applications: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves student data to the specified file path.
+     *
+     * @param filePath the path where student data should be saved
+     */
+    public void saveStudents(String filePath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+            for (Student student : students.values()) {
+                bw.write(formatStudent(student));
+                bw.newLine();
+            }
+            dirtySets.remove(DataFile.STUDENTS);
+            filesWritten++;
+        } catch (IOException e) {
+            System.out.println("Error saving students: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves career center staff data to the specified file path.
+     *
+     * @param filePath the path where staff data should be saved
+     */
+    public void saveStaff(String filePath) {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+            for (CareerCenterStaff staff : staffMembers.values()) {
+                bw.write(formatStaff(staff));
+                bw.newLine();
+            }
+            dirtySets.remove(DataFile.STAFF);
+            filesWritten++;
+        } catch (IOException e) {
+            System.out.println("Error saving staff: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds an activity log entry to the data storage.
+     *
+     * @param log the activity log to add
+     */
+    public void addActivityLog(ActivityLog log) {
+        if (activityLogStore != null) {
+            activityLogStore.append(log);
+        } else {
+            activityLogs.add(log);
+        }
+        dirtySets.add(DataFile.ACTIVITY_LOGS);
+        if (isJournalOpen()) {
+            appendToJournal(WriteAheadJournal.PUT, "ACTIVITYLOG", formatActivityLog(log));
+        }
+    }
+
+    /**
+     * Retrieves all activity logs from the data storage, in the order they were added.
+     * When the activity logs are kept in an {@link ActivityLogStore}, iterating reads its segments one at
+     * a time instead of copying the whole history into memory. If the store's segments have not been
+     * loaded yet, loading starts in the background and iterating waits for it to finish.
+     *
+     * @return all activity logs
+     */
+    public Iterable<ActivityLog> getAllActivityLogs() {
+        if (activityLogStore != null) {
+            activityLogStore.startLoading();
+            return activityLogStore;
+        }
+        return Collections.unmodifiableList(activityLogs);
+    }
+
+    /**
+     * Retrieves the activity logs of a user within a time range, in the order they were added.
+     * When the activity logs are kept in an {@link ActivityLogStore}, only the segments overlapping the range are read.
+     *
+     * @param userID the user whose activity logs to return, or null for all users
+     * @param from the earliest timestamp to include, or null for no lower bound
+     * @param to the latest timestamp to include, or null for no upper bound
+     * @return the matching activity logs
+     */
+    public List<ActivityLog> getActivityLogs(String userID, LocalDateTime from, LocalDateTime to) {
+        if (activityLogStore != null) {
+            return activityLogStore.query(userID, from, to);
+        }
+        List<ActivityLog> results = new ArrayList<>();
+        for (ActivityLog log : activityLogs) {
+            LocalDateTime timestamp = log.getTimestamp();
+            if ((userID == null || userID.equals(log.getUserID()))
+                    && (from == null || (timestamp != null && !timestamp.isBefore(from)))
+                    && (to == null || (timestamp != null && !timestamp.isAfter(to)))) {
+                results.add(log);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keeps the activity logs in the specified segment store from now on.
+     * Activity logs already held in memory are moved into the store. The store does not need to have
+     * loaded its segments; new activity logs are appended without reading the existing history.
+     *
+     * @param store the activity log store, or null to keep activity logs in memory
+     */
+    void setActivityLogStore(ActivityLogStore store) {
+        if (store != null) {
+            for (ActivityLog log : activityLogs) {
+                store.append(log);
+            }
+            activityLogs.clear();
+            activityLogSink = null;
+        }
+        this.activityLogStore = store;
+    }
+
+    /**
+     * Checks if the activity logs are kept in a segment store.
+     *
+     * @return true if an activity log store is attached, false otherwise
+     */
+    boolean hasActivityLogStore() {
+        return activityLogStore != null;
+    }
+
+    /**
+     * Writes the activity logs added since the last flush to the attached segment store.
+     *
+     * @return true if the activity logs were flushed successfully, false otherwise
+     */
+    boolean flushActivityLogs() {
+        if (activityLogStore == null) {
+            return false;
+        }
+        try {
+            activityLogStore.flush();
+            dirtySets.remove(DataFile.ACTIVITY_LOGS);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving activity logs: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Loads activity log data from the specified file path.
+     * Each line should contain pipe-separated activity log information.
+     *
+     * @param filePath the path to the activity logs data file
+     */
+    public void loadActivityLogs(String filePath) {
+        mergeActivityLogs(readActivityLogs(filePath));
+        attachActivityLogs(filePath);
+    }
+
+    /**
+     * Reads activity log data from the specified file path without touching the shared list.
+     * Only the part of the file up to its high-water mark is read.
+     *
+     * @param filePath the path to the activity logs data file
+     * @return the activity logs in file order
+     */
+    List<ActivityLog> readActivityLogs(String filePath) {
+        return readActivityLogs(filePath, 0);
+    }
+
+    /**
+     * Reads the activity logs stored in the specified file from the given byte position up to its high-water mark.
+     *
+     * @param filePath the path to the activity logs data file
+     * @param from the position of the first record to read
+     * @return the activity logs in file order
+     */
+    List<ActivityLog> readActivityLogs(String filePath, long from) {
+        List<ActivityLog> loaded = new ArrayList<>();
+        try {
+            long limit = ActivityLogSink.readHighWaterMark(filePath);
+            if (useMappedLoading(limit - from)) {
+                return new MappedChunkParser<ActivityLog>(this::parseActivityLogs, parsePool).parse(filePath, from, limit);
+            }
+            try (PipeRecordReader reader = new PipeRecordReader(ActivityLogSink.openReader(filePath, from, limit))) {
+                parseActivityLogs(reader, loaded);
+            }
+        } catch (IOException e) {
+            System.out.println("Error loading activity logs: " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    /**
+     * Parses every activity log record available from the reader.
+     *
+     * @param reader the reader to parse records from
+     * @param loaded the list receiving the activity logs in order
+     * @throws IOException if the records cannot be read
+     */
+    private void parseActivityLogs(PipeRecordReader reader, List<ActivityLog> loaded) throws IOException {
+        while (reader.nextRecord()) {
+            ActivityLog log = ActivityLogStore.readRecord(reader);
+            if (log != null) {
+                loaded.add(log);
+            }
+        }
+    }
+
+    /**
+     * Appends loaded activity logs to the data storage.
+     *
+     * @param loaded the activity logs returned by {@link #readActivityLogs(String)}
+     */
+    void mergeActivityLogs(List<ActivityLog> loaded) {
+        activityLogs.addAll(loaded);
+    }
+
+    /**
+     * Saves activity log data to the specified file path.
+     * Only activity logs added since the last load or save are appended to the file;
+     * see {@link #appendActivityLogs(String)}. When the activity logs are kept in an
+     * {@link ActivityLogStore}, they are flushed to the store instead and the path is ignored.
+     *
+     * @param filePath the path where activity logs should be saved
+     */
+    public void saveActivityLogs(String filePath) {
+        if (activityLogStore != null) {
+            if (activityLogStore.hasPending() && flushActivityLogs()) {
+                filesWritten++;
+            }
+            return;
+        }
+        if (!needsWrite(DataFile.ACTIVITY_LOGS, filePath)) {
+            filesSkipped++;
+            return;
+        }
+        appendActivityLogs(filePath);
+    }
+
+    /**
+     * Appends the activity logs that are not persisted yet to the specified file and updates its high-water mark.
+     * If the file is not the one the activity logs were loaded from or last saved to, it is compacted instead.
+     *
+     * @param filePath the path of the activity logs data file
+     * @return true if the file was written successfully, false otherwise
+     */
+    public boolean appendActivityLogs(String filePath) {
+        if (activityLogSink == null || !samePath(activityLogSink.getFilePath(), filePath)) {
+            return compactActivityLogs(filePath);
+        }
+        try {
+            activityLogSink.append(activityLogs);
+            activityLogSink.writeHighWaterMark();
+            dirtySets.remove(DataFile.ACTIVITY_LOGS);
+            filesWritten++;
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving activity logs: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the specified activity logs file in full and resets its high-water mark.
+     * The new file replaces the old one instead of overwriting it, so a file shared with an older
+     * snapshot generation is left intact.
+     *
+     * @param filePath the path of the activity logs data file
+     * @return true if the file was written successfully, false otherwise
+     */
+    public boolean compactActivityLogs(String filePath) {
+        ActivityLogSink sink = new ActivityLogSink(filePath, 0, 0);
+        try {
+            sink.compact(activityLogs);
+            sink.writeHighWaterMark();
+            activityLogSink = sink;
+            dirtySets.remove(DataFile.ACTIVITY_LOGS);
+            filesWritten++;
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving activity logs: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Records that every activity log currently held was loaded from the specified file,
+     * so that later saves to the same file only append new entries.
+     *
+     * @param filePath the path of the activity logs data file
+     */
+    void attachActivityLogs(String filePath) {
+        activityLogSink = new ActivityLogSink(filePath, activityLogs.size(), ActivityLogSink.readHighWaterMark(filePath));
+    }
+
+    /**
+     * Forgets which file the activity logs were persisted to, so that the next save compacts the file.
+     * Used when a file the activity logs were being appended to may no longer be valid.
+     */
+    void detachActivityLogs() {
+        activityLogSink = null;
+    }
+
+    /**
+     * Continues appending activity logs at another path holding the same persisted bytes,
+     * such as a hard link or copy of the current activity logs file.
+     *
+     * @param fromPath the path the activity logs were persisted to
+     * @param toPath the path holding the same content
+     */
+    void relocateActivityLogs(String fromPath, String toPath) {
+        if (activityLogSink != null && samePath(activityLogSink.getFilePath(), fromPath)) {
+            activityLogSink.moveTo(toPath);
+        }
+    }
+
+    /**
+     * Checks if two paths refer to the same file location.
+     *
+     * @param first the first path
+     * @param second the second path
+     * @return true if the normalized absolute paths are equal, false otherwise
+     */
+    private static boolean samePath(String first, String second) {
+        return new File(first).getAbsoluteFile().toPath().normalize()
+                .equals(new File(second).getAbsoluteFile().toPath().normalize());
+    }
+
+    /**
+     * Saves all data to their respective file paths.
+     * This is a convenience method that saves students, staff, company representatives, internships, and applications.
+     * Only files whose entity sets changed since the last load or save are rewritten; the rest are skipped.
+     *
+     * @param studentsPath the path where student data should be saved
+     * @param staffPath the path where staff data should be saved
+     * @param companyRepsPath the path where company representative data should be saved
+     * @param internshipsPath the path where internship data should be saved
+     * @param applicationsPath the path where application data should be saved
+     */
+    public void saveAllData(String studentsPath, String staffPath, String companyRepsPath, String internshipsPath, String applicationsPath) {
+        if (needsWrite(DataFile.STUDENTS, studentsPath)) saveStudents(studentsPath); else filesSkipped++;
+        if (needsWrite(DataFile.STAFF, staffPath)) saveStaff(staffPath); else filesSkipped++;
+        if (needsWrite(DataFile.COMPANY_REPS, companyRepsPath)) saveCompanyReps(companyRepsPath); else filesSkipped++;
+        if (needsWrite(DataFile.INTERNSHIPS, internshipsPath)) saveInternships(internshipsPath); else filesSkipped++;
+        if (needsWrite(DataFile.APPLICATIONS, applicationsPath)) saveApplications(applicationsPath); else filesSkipped++;
+    }
+
+    /**
+     * Checks if a data file is large enough to be loaded with the mapped parallel parser.
+     *
+     * @param size the number of bytes to be parsed
+     * @return true if mapped loading is enabled and the size exceeds the threshold, false otherwise
+     */
+    private boolean useMappedLoading(long size) {
+        return parsePool != null && size >= MAPPED_LOADING_THRESHOLD;
+    }
+
+    /**
+     * Checks if a data file has to be rewritten, either because its entity set has changed
+     * or because the file does not exist yet.
+     *
+     * @param dataFile the data file holding the entity set
+     * @param filePath the path of the data file
+     * @return true if the file must be written, false if it is already up to date
+     */
+    private boolean needsWrite(DataFile dataFile, String filePath) {
+        return dirtySets.contains(dataFile) || !new File(filePath).exists();
+    }
+
+    /**
+     * Handles a property change reported by an entity: marks its entity set as changed, appends the
+     * entity's new state to the journal if it is open and still stored, and keeps the internship
+     * indexes consistent.
+     *
+     * @param entity the entity that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    private void entityChanged(Object entity, String property, Object oldValue, Object newValue) {
+        markDirty(entity);
+        if (isStored(entity)) {
+            recordChange(entity);
+        }
+        if (entity instanceof Internship) {
+            internshipVersion++;
+            internshipIndex.propertyChanged((Internship) entity, property, oldValue, newValue);
+            internshipBitmaps.propertyChanged((Internship) entity, property, oldValue, newValue);
+            internshipText.propertyChanged((Internship) entity, property);
+            internshipFuzzy.propertyChanged((Internship) entity, property);
+            internshipDates.propertyChanged((Internship) entity, property, oldValue, newValue);
+            internshipTitles.propertyChanged((Internship) entity, property);
+        }
+        for (DataChangeListener listener : dataChangeListeners) {
+            listener.entityChanged(entity, property, oldValue, newValue);
+        }
+    }
+
+    /**
+     * Returns the version of the internship collection. The version changes whenever an internship is
+     * added, replaced or removed, and whenever a property of a stored internship is modified, so a
+     * result computed from the internships is still valid as long as the version is unchanged.
+     *
+     * @return the current internship version
+     */
+    public long getInternshipVersion() {
+        return internshipVersion;
+    }
+
+    /**
+     * Registers a listener notified when entities are added, removed or modified.
+     * Loading data files, replaying the journal and the public add and remove methods all notify it.
+     *
+     * @param listener the listener to register
+     */
+    public void addDataChangeListener(DataChangeListener listener) {
+        dataChangeListeners.add(listener);
+    }
+
+    /**
+     * Notifies the registered listeners that an entity has been added.
+     *
+     * @param entity the entity that was added
+     */
+    private void fireEntityAdded(Object entity) {
+        for (DataChangeListener listener : dataChangeListeners) {
+            listener.entityAdded(entity);
+        }
+    }
+
+    /**
+     * Notifies the registered listeners that an entity has been removed.
+     *
+     * @param entity the entity that was removed
+     */
+    private void fireEntityRemoved(Object entity) {
+        for (DataChangeListener listener : dataChangeListeners) {
+            listener.entityRemoved(entity);
+        }
+    }
+
+    /**
+     * Checks whether an entity is the one currently stored under its ID. An entity that has been removed
+     * or replaced can still report changes, which must not be journaled since replaying them would
+     * bring it back.
+     *
+     * @param entity the entity to check
+     * @return true if the entity is stored, false otherwise
+     */
+    private boolean isStored(Object entity) {
+        if (entity instanceof User) {
+            return users.get(((User) entity).getUserID()) == entity;
+        } else if (entity instanceof Internship) {
+            return internships.get(((Internship) entity).getInternshipID()) == entity;
+        } else if (entity instanceof InternshipApplication) {
+            return applications.get(((InternshipApplication) entity).getApplicationID()) == entity;
+        }
+        return false;
+    }
+
+    /**
+     * Marks the entity set containing the given entity as changed.
+     *
+     * @param entity the entity that was added or modified
+     */
+    private void markDirty(Object entity) {
+        if (entity instanceof Student) {
+            dirtySets.add(DataFile.STUDENTS);
+        } else if (entity instanceof CareerCenterStaff) {
+            dirtySets.add(DataFile.STAFF);
+        } else if (entity instanceof CompanyRepresentative) {
+            dirtySets.add(DataFile.COMPANY_REPS);
+        } else if (entity instanceof Internship) {
+            dirtySets.add(DataFile.INTERNSHIPS);
+        } else if (entity instanceof InternshipApplication) {
+            dirtySets.add(DataFile.APPLICATIONS);
+        }
+    }
+
+    /**
+     * Checks if the entity set stored in the given data file has changed since it was last loaded or saved.
+     *
+     * @param dataFile the data file to check
+     * @return true if the file is out of date, false otherwise
+     */
+    public boolean isModified(DataFile dataFile) {
+        return dirtySets.contains(dataFile);
+    }
+
+    /**
+     * Returns the data files whose entity sets have changed since they were last loaded or saved.
+     *
+     * @return a copy of the set of out-of-date data files
+     */
+    EnumSet<DataFile> getModifiedFiles() {
+        return EnumSet.copyOf(dirtySets);
+    }
+
+    /**
+     * Marks data files as changed again, after the save that cleared them was abandoned.
+     *
+     * @param dataFiles the data files to mark as out of date
+     */
+    void restoreModifiedFiles(Set<DataFile> dataFiles) {
+        dirtySets.addAll(dataFiles);
+    }
+
+    /**
+     * Saves the entity set stored in the given data file to the specified file path.
+     *
+     * @param dataFile the data file to save
+     * @param filePath the path where the data should be saved
+     * @return true if the file was written successfully, false otherwise
+     */
+    public boolean save(DataFile dataFile, String filePath) {
+        int previouslyWritten = filesWritten;
+        switch (dataFile) {
+            case STUDENTS:
+                saveStudents(filePath);
+                break;
+            case STAFF:
+                saveStaff(filePath);
+                break;
+            case COMPANY_REPS:
+                saveCompanyReps(filePath);
+                break;
+            case INTERNSHIPS:
+                saveInternships(filePath);
+                break;
+            case APPLICATIONS:
+                saveApplications(filePath);
+                break;
+            case ACTIVITY_LOGS:
+                saveActivityLogs(filePath);
+                break;
+        }
+        return filesWritten > previouslyWritten;
+    }
+
+    /**
+     * Checks if any data has changed since it was last loaded or saved.
+     *
+     * @return true if at least one data file is out of date, false otherwise
+     */
+    public boolean hasUnsavedChanges() {
+        return !dirtySets.isEmpty();
+    }
+
+    /**
+     * Returns the number of data files written by save operations so far.
+     *
+     * @return the count of files written
+     */
+    public int getFilesWritten() {
+        return filesWritten;
+    }
+
+    /**
+     * Returns the number of data files skipped by save operations because they were unchanged.
+     *
+     * @return the count of files skipped
+     */
+    public int getFilesSkipped() {
+        return filesSkipped;
+    }
+
+    /**
+     * Formats a student as a pipe-separated record matching the students data file.
+     *
+     * @param student the student to format
+     * @return the formatted record
+     */
+    private String formatStudent(Student student) {
+        return student.getUserID() + "|" + student.getName() + "|" +
+               student.getPassword() + "|" + student.getYearOfStudy() + "|" +
+               student.getMajor() + "|" + student.getEmail();
+    }
+
+    /**
+     * Formats a staff member as a pipe-separated record matching the staff data file.
+     *
+     * @param staff the staff member to format
+     * @return the formatted record
+     */
+    private String formatStaff(CareerCenterStaff staff) {
+        return staff.getUserID() + "|" + staff.getName() + "|" +
+               staff.getPassword() + "|" + staff.getDepartment() + "|" + staff.getEmail();
+    }
+
+    /**
+     * Formats a company representative as a pipe-separated record matching the company representatives data file.
+     *
+     * @param rep the company representative to format
+     * @return the formatted record
+     */
+    private String formatCompanyRep(CompanyRepresentative rep) {
+        return rep.getUserID() + "|" + rep.getName() + "|" + rep.getPassword() + "|" +
+               rep.getCompanyName() + "|" + rep.getDepartment() + "|" + rep.getPosition() + "|" +
+               rep.isApproved();
+    }
+
+    /**
+     * Formats an internship as a pipe-separated record matching the internships data file.
+     *
+     * @param internship the internship to format
+     * @return the formatted record
+     */
+    private String formatInternship(Internship internship) {
+        return internship.getInternshipID() + "|" + internship.getTitle() + "|" +
+               internship.getDescription() + "|" + internship.getLevel() + "|" +
+               internship.getPreferredMajor() + "|" + internship.getOpeningDate() + "|" +
+               internship.getClosingDate() + "|" + internship.getStatus() + "|" +
+               internship.getCompanyName() + "|" + internship.getRepInCharge() + "|" +
+               internship.getNumSlots() + "|" + internship.getFilledSlots() + "|" +
+               internship.isVisible();
+    }
+
+    /**
+     * Formats an internship application as a pipe-separated record matching the applications data file.
+     *
+     * @param app the application to format
+     * @return the formatted record
+     */
+    private String formatApplication(InternshipApplication app) {
+        String withdrawalReason = app.getWithdrawalReason() != null ? app.getWithdrawalReason() : "";
+        return app.getApplicationID() + "|" + app.getStudentID() + "|" +
+               app.getInternshipID() + "|" + app.getStatus() + "|" + app.isConfirmed() + "|" +
+               app.isWithdrawalRequested() + "|" + withdrawalReason;
+    }
+
+    /**
+     * Formats an activity log entry as a pipe-separated record matching the activity logs data file.
+     *
+     * @param log the activity log to format
+     * @return the formatted record
+     */
+    private String formatActivityLog(ActivityLog log) {
+        return ActivityLogSink.format(log);
+    }
+
+    /**
+     * Writes all data to a binary snapshot at the specified file path.
+     * The text data files are not affected and remain the interchange format.
+     *
+     * @param filePath the path where the binary snapshot should be saved
+     * @return true if the snapshot was written successfully, false otherwise
+     */
+    public boolean saveBinarySnapshot(String filePath) {
+        try {
+            new BinarySnapshot(filePath).write(this);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving binary snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Loads all data from a binary snapshot at the specified file path and links the loaded entities.
+     * Unless an {@link ActivityLogStore} is attached, the activity logs are then read from the activity logs file.
+     * Nothing is loaded if the snapshot is missing or corrupt, so the caller can fall back to the text files.
+     *
+     * @param filePath the path to the binary snapshot
+     * @param activityLogsPath the path to the activity logs data file next to the snapshot
+     * @return true if the snapshot was loaded, false otherwise
+     */
+    public boolean loadBinarySnapshot(String filePath, String activityLogsPath) {
+        try {
+            new BinarySnapshot(filePath).read(this);
+            if (activityLogStore == null) {
+                loadActivityLogs(activityLogsPath);
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error loading binary snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the listener that marks entity sets as modified, for attaching to entities loaded outside this class.
+     *
+     * @return the change tracking listener
+     */
+    EntityChangeListener getChangeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * Opens the write-ahead journal at the specified file path.
+     * Any records already in the journal are first replayed on top of the loaded snapshot,
+     * so this should be called after all data files have been loaded and linked.
+     * While the journal is open, additions, removals and recorded changes are appended to it
+     * instead of requiring a full rewrite of the data files.
+     *
+     * @param filePath the path to the journal file
+     */
+    public void openJournal(String filePath) {
+        WriteAheadJournal newJournal = new WriteAheadJournal(filePath);
+        newJournal.replay(this::applyJournalRecord);
+        newJournal.open();
+        this.journal = newJournal;
+    }
+
+    /**
+     * Checks if the write-ahead journal is open.
+     *
+     * @return true if changes are being journaled, false otherwise
+     */
+    public boolean isJournalOpen() {
+        return journal != null && journal.isOpen();
+    }
+
+    /**
+     * Returns the number of records written to the journal since the last checkpoint.
+     *
+     * @return the journal record count, or 0 if the journal is not open
+     */
+    public int getJournalRecordCount() {
+        return journal != null ? journal.getRecordCount() : 0;
+    }
+
+    /**
+     * Appends the current state of a changed entity to the write-ahead journal.
+     * Supported entities are students, staff, company representatives, internships and applications.
+     * Stored entities are journaled automatically whenever one of their properties changes, so this is
+     * only needed for changes made without the entity's setters.
+     * Does nothing if the journal is not open or the entity is null.
+     *
+     * @param entity the entity whose state has changed
+     */
+    public void recordChange(Object entity) {
+        if (!isJournalOpen() || entity == null) {
+            return;
+        }
+        if (entity instanceof Student) {
+            appendToJournal(WriteAheadJournal.PUT, "STUDENT", formatStudent((Student) entity));
+        } else if (entity instanceof CareerCenterStaff) {
+            appendToJournal(WriteAheadJournal.PUT, "STAFF", formatStaff((CareerCenterStaff) entity));
+        } else if (entity instanceof CompanyRepresentative) {
+            appendToJournal(WriteAheadJournal.PUT, "COMPANYREP", formatCompanyRep((CompanyRepresentative) entity));
+        } else if (entity instanceof Internship) {
+            appendToJournal(WriteAheadJournal.PUT, "INTERNSHIP", formatInternship((Internship) entity));
+        } else if (entity instanceof InternshipApplication) {
+            appendToJournal(WriteAheadJournal.PUT, "APPLICATION", formatApplication((InternshipApplication) entity));
+        }
+    }
+
+    /**
+     * Makes the changes of a completed operation durable.
+     * While the journal is open, every change has already been appended to it as it was made and there
+     * is nothing left to do. Otherwise all data is written into a new generation of the snapshot store
+     * it was loaded from; data not loaded through a snapshot store is left for an explicit save.
+     */
+    public void saveChanges() {
+        if (!isJournalOpen() && snapshotStore != null) {
+            snapshotStore.checkpoint(this);
+        }
+    }
+
+    /**
+     * Sets the snapshot store the data was loaded from, which {@link #saveChanges()} writes to while the
+     * journal is not open.
+     *
+     * @param store the snapshot store
+     */
+    void setSnapshotStore(SnapshotStore store) {
+        this.snapshotStore = store;
+    }
+
+    /**
+     * Appends a record to the journal and schedules it for the next group commit, if enabled.
+     *
+     * @param operation the operation code (PUT or DEL)
+     * @param type the entity type of the record
+     * @param record the pipe-separated fields of the record
+     */
+    private void appendToJournal(String operation, String type, String record) {
+        journal.append(operation, type, record);
+        if (flusher != null) {
+            flusher.submit();
+        }
+    }
+
+    /**
+     * Enables group commit for the open journal.
+     * Journal records are then buffered and made durable by a background thread at most once per
+     * interval, or sooner once the given number of records is pending, instead of on every append.
+     *
+     * @param intervalMillis the maximum time in milliseconds a record waits before being flushed
+     * @param batchSize the number of pending records that triggers an immediate flush
+     */
+    public void enableGroupCommit(long intervalMillis, int batchSize) {
+        if (!isJournalOpen() || flusher != null) {
+            return;
+        }
+        journal.setAutoFlush(false);
+        flusher = new GroupCommitFlusher(this::syncJournal, intervalMillis, batchSize);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeJournal));
+    }
+
+    /**
+     * Returns a ticket covering every change journaled so far.
+     * Without group commit the journal is synced immediately and a completed ticket is returned.
+     *
+     * @return a ticket that completes once the changes are durable
+     */
+    public CommitTicket commit() {
+        if (flusher != null) {
+            return flusher.currentTicket();
+        }
+        if (journal != null) {
+            journal.sync();
+        }
+        return CommitTicket.completed();
+    }
+
+    /**
+     * Flushes any pending group commit, stops the background flusher and closes the journal.
+     */
+    public void closeJournal() {
+        if (flusher != null) {
+            flusher.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Shuts down the pool used for parallel scans once its running scans have finished.
+     * Later scans run on the calling thread.
+     */
+    public void shutdownScanPool() {
+        scanPool.shutdown();
+    }
+
+    /**
+     * Switches journaling to a new, empty journal file.
+     * Any pending group commit is flushed to the current journal before it is closed.
+     * Used after a full snapshot has been written, since the snapshot already contains every journaled change.
+     *
+     * @param filePath the path to the new journal file
+     */
+    public void switchJournal(String filePath) {
+        if (flusher != null) {
+            flusher.flushNow();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        WriteAheadJournal newJournal = new WriteAheadJournal(filePath);
+        newJournal.open();
+        newJournal.setAutoFlush(flusher == null);
+        this.journal = newJournal;
+    }
+
+    /**
+     * Flushes and syncs the current journal, if one is open.
+     * Called from the group-commit thread, so the journal is read once; a journal closed by a
+     * concurrent switch has already been synced and ignores the call.
+     */
+    private void syncJournal() {
+        WriteAheadJournal current = journal;
+        if (current != null) {
+            current.sync();
+        }
+    }
+
+    /**
+     * Applies a single journal record to the in-memory data during replay.
+     *
+     * @param operation the operation code (PUT or DEL)
+     * @param type the entity type of the record
+     * @param fields the pipe-separated fields of the record
+     */
+    private void applyJournalRecord(String operation, String type, String[] fields) {
+        if (operation.equals(WriteAheadJournal.DELETE)) {
+            if (type.equals("INTERNSHIP")) {
+                dirtySets.add(DataFile.INTERNSHIPS);
+                Internship removed = deleteInternship(fields[0]);
+                if (removed != null) {
+                    CompanyRepresentative rep = companyReps.get(removed.getRepInCharge());
+                    if (rep != null) {
+                        rep.getCreatedInternships().remove(removed);
+                    }
+                }
+            } else if (type.equals("COMPANYREP")) {
+                dirtySets.add(DataFile.COMPANY_REPS);
+                deleteCompanyRep(fields[0]);
+            }
+            return;
+        }
+
+        switch (type) {
+            case "STUDENT":
+                replayStudent(fields);
+                break;
+            case "STAFF":
+                replayStaff(fields);
+                break;
+            case "COMPANYREP":
+                replayCompanyRep(fields);
+                break;
+            case "INTERNSHIP":
+                replayInternship(fields);
+                break;
+            case "APPLICATION":
+                replayApplication(fields);
+                break;
+            case "ACTIVITYLOG":
+                ActivityLog log = new ActivityLog(fields[0], fields[1], fields[2], fields[3],
+                                                  LocalDateTime.parse(fields[4]), fields.length > 5 ? fields[5] : "");
+                if (activityLogStore != null) {
+                    activityLogStore.append(log);
+                } else {
+                    activityLogs.add(log);
+                }
+                dirtySets.add(DataFile.ACTIVITY_LOGS);
+                break;
+            default:
+                System.out.println("Unknown journal record type: " + type);
+        }
+    }
+
+    /**
+     * Inserts or updates a student from a journal record.
+     *
+     * @param fields the student record fields
+     */
+    private void replayStudent(String[] fields) {
+        Student student = students.get(fields[0]);
+        if (student != null) {
+            student.setPassword(fields[2]);
+            return;
+        }
+        student = new Student(fields[0], fields[1], fields[2], Integer.parseInt(fields[3]), fields[4],
+                              fields.length > 5 ? fields[5] : "");
+        student.setChangeListener(changeTracker);
+        markDirty(student);
+        putUser(student);
+    }
+
+    /**
+     * Inserts or updates a career center staff member from a journal record.
+     *
+     * @param fields the staff record fields
+     */
+    private void replayStaff(String[] fields) {
+        CareerCenterStaff staff = staffMembers.get(fields[0]);
+        if (staff != null) {
+            staff.setPassword(fields[2]);
+            return;
+        }
+        staff = new CareerCenterStaff(fields[0], fields[1], fields[2], fields[3], fields.length > 4 ? fields[4] : "");
+        staff.setChangeListener(changeTracker);
+        markDirty(staff);
+        putUser(staff);
+    }
+
+    /**
+     * Inserts or updates a company representative from a journal record.
+     *
+     * @param fields the company representative record fields
+     */
+    private void replayCompanyRep(String[] fields) {
+        CompanyRepresentative rep = companyReps.get(fields[0]);
+        if (rep == null) {
+            rep = new CompanyRepresentative(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5]);
+            rep.setChangeListener(changeTracker);
+            markDirty(rep);
+            putUser(rep);
+        }
+        rep.setPassword(fields[2]);
+        rep.setApproved(Boolean.parseBoolean(fields[6]));
+    }
+
+    /**
+     * Inserts or updates an internship from a journal record.
+     * Newly inserted internships are linked to their company representative.
+     *
+     * @param fields the internship record fields
+     */
+    private void replayInternship(String[] fields) {
+        Internship internship = internships.get(fields[0]);
+        if (internship == null) {
+            internship = new Internship(fields[0], fields[1], fields[2], fields[3], fields[4],
+                                        LocalDate.parse(fields[5]), LocalDate.parse(fields[6]),
+                                        fields[8], fields[9], Integer.parseInt(fields[10]));
+            internship.setChangeListener(changeTracker);
+            markDirty(internship);
+            putInternship(internship);
+            CompanyRepresentative rep = companyReps.get(internship.getRepInCharge());
+            if (rep != null) {
+                rep.addInternship(internship);
+            }
+        }
+        internship.setTitle(fields[1]);
+        internship.setDescription(fields[2]);
+        internship.setLevel(fields[3]);
+        internship.setPreferredMajor(fields[4]);
+        internship.setOpeningDate(LocalDate.parse(fields[5]));
+        internship.setClosingDate(LocalDate.parse(fields[6]));
+        internship.setStatus(fields[7]);
+        internship.setNumSlots(Integer.parseInt(fields[10]));
+        internship.setFilledSlots(Integer.parseInt(fields[11]));
+        internship.setVisible(Boolean.parseBoolean(fields[12]));
+    }
+
+    /**
+     * Inserts or updates an internship application from a journal record.
+     * Newly inserted applications are linked to their student and internship.
+     *
+     * @param fields the application record fields
+     */
+    private void replayApplication(String[] fields) {
+        InternshipApplication application = applications.get(fields[0]);
+        if (application == null) {
+            application = new InternshipApplication(fields[0], fields[1], fields[2]);
+            application.setChangeListener(changeTracker);
+            markDirty(application);
+            applications.put(application.getApplicationID(), application);
+
+            Student student = students.get(application.getStudentID());
+            if (student != null) {
+                student.addApplication(application);
+            }
+
+            Internship internship = internships.get(application.getInternshipID());
+            if (internship != null) {
+                internship.addApplication(application);
+            }
+        }
+        application.setStatus(fields[3]);
+        application.setConfirmed(Boolean.parseBoolean(fields[4]));
+        if (Boolean.parseBoolean(fields[5])) {
+            application.requestWithdrawal(fields.length > 6 ? fields[6] : "");
+        } else {
+            application.cancelWithdrawalRequest();
+        }
     }
 }
@@ -0,0 +1,205 @@
+package data;
+
+/**
+ * Background flusher that groups commits together.
+ * Mutations submit a commit request and return immediately. A single background thread runs the
+ * flush action at most once per interval, or sooner once a full batch of requests is pending,
+ * so the cost of making changes durable is paid per batch instead of per operation.
+ * Callers that need durability can wait on the returned {@link CommitTicket}.
+ *
+ * @version 1.0
+ */
+public class GroupCommitFlusher {
+    private final Runnable flushAction;
+    private final long intervalMillis;
+    private final int batchSize;
+    private long submittedSequence;
+    private long flushedSequence;
+    private long firstPendingTime;
+    private int flushCount;
+    private boolean running;
+    private Thread thread;
+
+    /**
+     * Constructs a GroupCommitFlusher with the specified flush action and batching limits.
+     *
+     * @param flushAction the action that makes all submitted changes durable
+     * @param intervalMillis the maximum time in milliseconds a submitted change waits before being flushed
+     * @param batchSize the number of pending requests that triggers an immediate flush
+     */
+    public GroupCommitFlusher(Runnable flushAction, long intervalMillis, int batchSize) {
+        this.flushAction = flushAction;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Starts the background flusher thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "group-commit-flusher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Submits a commit request and returns without waiting for the flush.
+     *
+     * @return a ticket that completes once the request has been flushed
+     */
+    public synchronized CommitTicket submit() {
+        if (submittedSequence == flushedSequence) {
+            firstPendingTime = System.currentTimeMillis();
+        }
+        submittedSequence++;
+        notifyAll();
+        return new CommitTicket(this, submittedSequence);
+    }
+
+    /**
+     * Returns a ticket covering every request submitted so far, without submitting a new one.
+     *
+     * @return a ticket for the latest submitted request
+     */
+    public synchronized CommitTicket currentTicket() {
+        return new CommitTicket(this, submittedSequence);
+    }
+
+    /**
+     * Flushes all pending requests on the calling thread.
+     */
+    public void flushNow() {
+        long target;
+        synchronized (this) {
+            target = submittedSequence;
+        }
+        flushAction.run();
+        markFlushed(target);
+    }
+
+    /**
+     * Stops the background thread after flushing any pending requests.
+     */
+    public void close() {
+        Thread flusherThread;
+        synchronized (this) {
+            running = false;
+            notifyAll();
+            flusherThread = thread;
+        }
+        if (flusherThread != null && flusherThread != Thread.currentThread()) {
+            try {
+                flusherThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushNow();
+    }
+
+    /**
+     * Checks if the request with the given sequence number has been flushed.
+     *
+     * @param sequence the sequence number of the request
+     * @return true if the request has been flushed, false otherwise
+     */
+    synchronized boolean isFlushed(long sequence) {
+        return flushedSequence >= sequence;
+    }
+
+    /**
+     * Blocks until the request with the given sequence number has been flushed or the timeout elapses.
+     *
+     * @param sequence the sequence number of the request
+     * @param timeoutMillis the maximum time to wait in milliseconds, or 0 to wait indefinitely
+     * @return true if the request has been flushed, false if the timeout elapsed first
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    synchronized boolean awaitFlushed(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (flushedSequence < sequence) {
+            if (timeoutMillis == 0) {
+                wait();
+            } else {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of flushes performed so far.
+     *
+     * @return the flush count
+     */
+    public synchronized int getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Returns the number of submitted requests that have not been flushed yet.
+     *
+     * @return the pending request count
+     */
+    public synchronized long getPendingCount() {
+        return submittedSequence - flushedSequence;
+    }
+
+    /**
+     * Records that every request up to the given sequence number has been flushed and wakes up waiting callers.
+     *
+     * @param target the highest sequence number covered by the flush
+     */
+    private synchronized void markFlushed(long target) {
+        if (target > flushedSequence) {
+            flushedSequence = target;
+            flushCount++;
+        }
+        if (submittedSequence > flushedSequence) {
+            firstPendingTime = System.currentTimeMillis();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Main loop of the background thread.
+     * Waits for the first pending request, then for either the interval to elapse or a full batch
+     * to accumulate, and flushes everything submitted up to that point in one go.
+     */
+    private void run() {
+        while (true) {
+            long target;
+            synchronized (this) {
+                try {
+                    while (running && submittedSequence == flushedSequence) {
+                        wait();
+                    }
+                    if (!running) {
+                        return;
+                    }
+                    long deadline = firstPendingTime + intervalMillis;
+                    while (running && submittedSequence - flushedSequence < batchSize) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                target = submittedSequence;
+            }
+            flushAction.run();
+            markFlushed(target);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.*;
+import entity.Internship;
+
+/**
+ * Bitmap indexes for filtering internships on several attributes at once.
+ * Every indexed internship is given a dense ordinal, and for each value of status, preferred major,
+ * level, visibility and closing month there is a bitmap with the ordinals of the internships having
+ * that value. A filter combining several attributes is evaluated by intersecting the bitmaps of the
+ * requested values, so no internship has to be inspected until the matches are collected. Closing
+ * dates are bucketed by month; for a "closing on or before" filter, whole months before the cutoff
+ * are taken from their bitmaps and only the internships in the cutoff month are checked individually.
+ * Ordinals of removed internships are reused, which keeps the bitmaps as short as the catalog.
+ *
+ * @version 1.0
+ */
+public class InternshipBitmapIndex {
+    private final Map<Internship, Integer> ordinals;
+    private final List<Internship> internships;
+    private final Deque<Integer> freeOrdinals;
+    private final BitSet live;
+    private final BitSet visible;
+    private final Map<String, BitSet> byStatus;
+    private final Map<String, BitSet> byMajor;
+    private final Map<String, BitSet> byLevel;
+    private final NavigableMap<Integer, BitSet> byClosingMonth;
+
+    /**
+     * Constructs an empty InternshipBitmapIndex.
+     */
+    public InternshipBitmapIndex() {
+        this.ordinals = new IdentityHashMap<>();
+        this.internships = new ArrayList<>();
+        this.freeOrdinals = new ArrayDeque<>();
+        this.live = new BitSet();
+        this.visible = new BitSet();
+        this.byStatus = new HashMap<>();
+        this.byMajor = new HashMap<>();
+        this.byLevel = new HashMap<>();
+        this.byClosingMonth = new TreeMap<>();
+    }
+
+    /**
+     * Adds an internship to the index under a new ordinal.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (ordinals.containsKey(internship)) {
+            return;
+        }
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = internships.size();
+            internships.add(internship);
+        } else {
+            ordinal = freeOrdinals.pop();
+            internships.set(ordinal, internship);
+        }
+        ordinals.put(internship, ordinal);
+        live.set(ordinal);
+        visible.set(ordinal, internship.isVisible());
+        bitmap(byStatus, internship.getStatus()).set(ordinal);
+        bitmap(byMajor, internship.getPreferredMajor()).set(ordinal);
+        bitmap(byLevel, internship.getLevel()).set(ordinal);
+        if (internship.getClosingDate() != null) {
+            bitmap(byClosingMonth, monthOf(internship.getClosingDate())).set(ordinal);
+        }
+    }
+
+    /**
+     * Removes an internship from the index and frees its ordinal.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        Integer ordinal = ordinals.remove(internship);
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        visible.clear(ordinal);
+        clear(byStatus, internship.getStatus(), ordinal);
+        clear(byMajor, internship.getPreferredMajor(), ordinal);
+        clear(byLevel, internship.getLevel(), ordinal);
+        if (internship.getClosingDate() != null) {
+            clear(byClosingMonth, monthOf(internship.getClosingDate()), ordinal);
+        }
+        internships.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * Moves an internship's ordinal between bitmaps after one of its indexed properties has changed.
+     * Internships that are not in the index are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    public void propertyChanged(Internship internship, String property, Object oldValue, Object newValue) {
+        Integer ordinal = ordinals.get(internship);
+        if (ordinal == null) {
+            return;
+        }
+        switch (property) {
+            case "status":
+                move(byStatus, (String) oldValue, (String) newValue, ordinal);
+                break;
+            case "preferredMajor":
+                move(byMajor, (String) oldValue, (String) newValue, ordinal);
+                break;
+            case "level":
+                move(byLevel, (String) oldValue, (String) newValue, ordinal);
+                break;
+            case "visible":
+                visible.set(ordinal, Boolean.TRUE.equals(newValue));
+                break;
+            case "closingDate":
+                if (oldValue != null) {
+                    clear(byClosingMonth, monthOf((LocalDate) oldValue), ordinal);
+                }
+                if (newValue != null) {
+                    bitmap(byClosingMonth, monthOf((LocalDate) newValue)).set(ordinal);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the internships matching every given criterion, in ordinal order.
+     * Passing null for any parameter skips filtering on that attribute.
+     *
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visibleOnly true to match only visible internships, false to match only hidden ones (or null to skip)
+     * @param closingDateBefore match internships closing on or before this date (or null to skip)
+     * @return a new list of the matching internships
+     */
+    public List<Internship> filter(String status, String preferredMajor, String level,
+                                   Boolean visibleOnly, LocalDate closingDateBefore) {
+        return collect(match(status, preferredMajor, level, visibleOnly, closingDateBefore));
+    }
+
+    /**
+     * Returns the internships whose ordinals are set in a bitmap, in ordinal order.
+     *
+     * @param matches the bitmap returned by {@link #match}
+     * @return a new list of the internships
+     */
+    List<Internship> collect(BitSet matches) {
+        List<Internship> results = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            results.add(internships.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Returns the bitmap of the ordinals of the internships matching every given criterion.
+     * Passing null for any parameter skips filtering on that attribute.
+     *
+     * @param status the internship status (or null to skip)
+     * @param preferredMajor the preferred major (or null to skip)
+     * @param level the internship level (or null to skip)
+     * @param visibleOnly true to match only visible internships, false to match only hidden ones (or null to skip)
+     * @param closingDateBefore match internships closing on or before this date (or null to skip)
+     * @return a new bitmap of the matching ordinals
+     */
+    BitSet match(String status, String preferredMajor, String level,
+                 Boolean visibleOnly, LocalDate closingDateBefore) {
+        BitSet result = (BitSet) live.clone();
+        if (status != null) {
+            and(result, byStatus.get(status));
+        }
+        if (preferredMajor != null) {
+            and(result, byMajor.get(preferredMajor));
+        }
+        if (level != null) {
+            and(result, byLevel.get(level));
+        }
+        if (visibleOnly != null) {
+            if (visibleOnly) {
+                result.and(visible);
+            } else {
+                result.andNot(visible);
+            }
+        }
+        if (closingDateBefore != null && !result.isEmpty()) {
+            int cutoffMonth = monthOf(closingDateBefore);
+            BitSet closing = new BitSet();
+            for (BitSet month : byClosingMonth.headMap(cutoffMonth, false).values()) {
+                closing.or(month);
+            }
+            BitSet boundary = byClosingMonth.get(cutoffMonth);
+            if (boundary != null) {
+                BitSet candidates = (BitSet) boundary.clone();
+                candidates.and(result);
+                for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                    if (!internships.get(i).getClosingDate().isAfter(closingDateBefore)) {
+                        closing.set(i);
+                    }
+                }
+            }
+            result.and(closing);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether an internship is among the matches of {@link #match}.
+     *
+     * @param matches the bitmap returned by match
+     * @param internship the internship
+     * @return true if the internship is indexed and its ordinal is set in the bitmap, false otherwise
+     */
+    boolean matches(BitSet matches, Internship internship) {
+        Integer ordinal = ordinals.get(internship);
+        return ordinal != null && matches.get(ordinal);
+    }
+
+    /**
+     * Intersects the result with a value's bitmap; a value without a bitmap matches nothing.
+     *
+     * @param result the bitmap being filtered
+     * @param bitmap the bitmap of the requested value, or null if no internship has it
+     */
+    private static void and(BitSet result, BitSet bitmap) {
+        if (bitmap == null) {
+            result.clear();
+        } else {
+            result.and(bitmap);
+        }
+    }
+
+    /**
+     * Moves an ordinal from the bitmap of one value to that of another.
+     *
+     * @param index the bitmaps of the attribute
+     * @param oldValue the previous value
+     * @param newValue the new value
+     * @param ordinal the ordinal to move
+     */
+    private static void move(Map<String, BitSet> index, String oldValue, String newValue, int ordinal) {
+        clear(index, oldValue, ordinal);
+        bitmap(index, newValue).set(ordinal);
+    }
+
+    /**
+     * Clears an ordinal in the bitmap of a value, dropping the bitmap once it is empty.
+     *
+     * @param index the bitmaps of the attribute
+     * @param value the value
+     * @param ordinal the ordinal to clear
+     * @param <K> the type of attribute value
+     */
+    private static <K> void clear(Map<K, BitSet> index, K value, int ordinal) {
+        BitSet bitmap = index.get(value);
+        if (bitmap != null) {
+            bitmap.clear(ordinal);
+            if (bitmap.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+
+    /**
+     * Returns the bitmap of a value, creating it if needed.
+     *
+     * @param index the bitmaps of the attribute
+     * @param value the value
+     * @param <K> the type of attribute value
+     * @return the bitmap of the value
+     */
+    private static <K> BitSet bitmap(Map<K, BitSet> index, K value) {
+        return index.computeIfAbsent(value, key -> new BitSet());
+    }
+
+    /**
+     * Returns the closing-date bucket of a date, counted in months.
+     *
+     * @param date the date
+     * @return the number of months since year 0
+     */
+    private static int monthOf(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -0,0 +1,236 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.*;
+import entity.Internship;
+
+/**
+ * Ordered indexes of the internships by opening date and by closing date.
+ * Each index maps the epoch day of a date to the internships having that date, in a sorted map, so
+ * the internships opening or closing within a date range are read from a sub-map of the index,
+ * already in date order, without looking at internships outside the range or sorting the result.
+ * Internships sharing a date are kept in order of internship ID, so results are ordered the same way
+ * however the internships were added. Internships without a date are left out of the index for that date.
+ *
+ * @version 1.0
+ */
+public class InternshipDateIndex {
+    private static final Comparator<Internship> BY_ID = Comparator.comparing(Internship::getInternshipID);
+
+    private final NavigableMap<Long, Set<Internship>> byOpeningDay;
+    private final NavigableMap<Long, Set<Internship>> byClosingDay;
+    private final Set<Internship> indexed;
+
+    /**
+     * Constructs an empty InternshipDateIndex.
+     */
+    public InternshipDateIndex() {
+        this.byOpeningDay = new TreeMap<>();
+        this.byClosingDay = new TreeMap<>();
+        this.indexed = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Adds an internship to both date indexes.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (!indexed.add(internship)) {
+            return;
+        }
+        addTo(byOpeningDay, internship.getOpeningDate(), internship);
+        addTo(byClosingDay, internship.getClosingDate(), internship);
+    }
+
+    /**
+     * Removes an internship from both date indexes.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        if (!indexed.remove(internship)) {
+            return;
+        }
+        removeFrom(byOpeningDay, internship.getOpeningDate(), internship);
+        removeFrom(byClosingDay, internship.getClosingDate(), internship);
+    }
+
+    /**
+     * Moves an internship within a date index after its opening or closing date has changed.
+     * Internships that are not in the index are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    public void propertyChanged(Internship internship, String property, Object oldValue, Object newValue) {
+        if (!indexed.contains(internship)) {
+            return;
+        }
+        NavigableMap<Long, Set<Internship>> index;
+        if (property.equals("openingDate")) {
+            index = byOpeningDay;
+        } else if (property.equals("closingDate")) {
+            index = byClosingDay;
+        } else {
+            return;
+        }
+        removeFrom(index, (LocalDate) oldValue, internship);
+        addTo(index, (LocalDate) newValue, internship);
+    }
+
+    /**
+     * Returns the internships opening within a date range, in order of opening date.
+     *
+     * @param from the earliest opening date, inclusive (or null for no lower bound)
+     * @param to the latest opening date, inclusive (or null for no upper bound)
+     * @return a new list of the matching internships
+     */
+    public List<Internship> openingBetween(LocalDate from, LocalDate to) {
+        return collect(range(byOpeningDay, from, to));
+    }
+
+    /**
+     * Returns the internships closing within a date range, in order of closing date.
+     *
+     * @param from the earliest closing date, inclusive (or null for no lower bound)
+     * @param to the latest closing date, inclusive (or null for no upper bound)
+     * @return a new list of the matching internships
+     */
+    public List<Internship> closingBetween(LocalDate from, LocalDate to) {
+        return collect(range(byClosingDay, from, to));
+    }
+
+    /**
+     * Counts the internships opening within a date range without collecting them.
+     *
+     * @param from the earliest opening date, inclusive (or null for no lower bound)
+     * @param to the latest opening date, inclusive (or null for no upper bound)
+     * @return the number of matching internships
+     */
+    public int countOpeningBetween(LocalDate from, LocalDate to) {
+        return count(range(byOpeningDay, from, to));
+    }
+
+    /**
+     * Counts the internships closing within a date range without collecting them.
+     *
+     * @param from the earliest closing date, inclusive (or null for no lower bound)
+     * @param to the latest closing date, inclusive (or null for no upper bound)
+     * @return the number of matching internships
+     */
+    public int countClosingBetween(LocalDate from, LocalDate to) {
+        return count(range(byClosingDay, from, to));
+    }
+
+    /**
+     * Returns the specified internships in order of closing date by walking the closing date index.
+     * Internships closing on the same day are ordered by internship ID.
+     *
+     * @param internships the internships to order
+     * @return a new list of the internships ordered by closing date, or null if some of them are not
+     *         indexed by closing date
+     */
+    public List<Internship> orderByClosingDate(Collection<Internship> internships) {
+        Set<Internship> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        wanted.addAll(internships);
+        if (wanted.size() != internships.size()) {
+            return null;
+        }
+        List<Internship> ordered = new ArrayList<>(internships.size());
+        for (Set<Internship> day : byClosingDay.values()) {
+            for (Internship internship : day) {
+                if (wanted.contains(internship)) {
+                    ordered.add(internship);
+                }
+            }
+            if (ordered.size() == wanted.size()) {
+                break;
+            }
+        }
+        return ordered.size() == wanted.size() ? ordered : null;
+    }
+
+    /**
+     * Returns the view of a date index between two dates.
+     *
+     * @param index the date index
+     * @param from the first date, inclusive (or null for no lower bound)
+     * @param to the last date, inclusive (or null for no upper bound)
+     * @return the entries of the index within the range, empty if the range ends before it starts
+     */
+    private static NavigableMap<Long, Set<Internship>> range(NavigableMap<Long, Set<Internship>> index,
+                                                            LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return Collections.emptyNavigableMap();
+        }
+        NavigableMap<Long, Set<Internship>> range = index;
+        if (from != null) {
+            range = range.tailMap(from.toEpochDay(), true);
+        }
+        if (to != null) {
+            range = range.headMap(to.toEpochDay(), true);
+        }
+        return range;
+    }
+
+    /**
+     * Collects the internships of the entries of a date index in order.
+     *
+     * @param range the entries to collect
+     * @return a new list of the internships
+     */
+    private static List<Internship> collect(NavigableMap<Long, Set<Internship>> range) {
+        List<Internship> internships = new ArrayList<>();
+        for (Set<Internship> day : range.values()) {
+            internships.addAll(day);
+        }
+        return internships;
+    }
+
+    /**
+     * Counts the internships of the entries of a date index.
+     *
+     * @param range the entries to count
+     * @return the number of internships
+     */
+    private static int count(NavigableMap<Long, Set<Internship>> range) {
+        int count = 0;
+        for (Set<Internship> day : range.values()) {
+            count += day.size();
+        }
+        return count;
+    }
+
+    /**
+     * Files an internship under a date.
+     *
+     * @param index the date index
+     * @param date the date, or null to leave the internship out of the index
+     * @param internship the internship
+     */
+    private static void addTo(NavigableMap<Long, Set<Internship>> index, LocalDate date, Internship internship) {
+        if (date != null) {
+            index.computeIfAbsent(date.toEpochDay(), key -> new TreeSet<>(BY_ID)).add(internship);
+        }
+    }
+
+    /**
+     * Removes an internship from under a date, dropping the entry once it is empty.
+     *
+     * @param index the date index
+     * @param date the date the internship is filed under, or null
+     * @param internship the internship
+     */
+    private static void removeFrom(NavigableMap<Long, Set<Internship>> index, LocalDate date, Internship internship) {
+        if (date == null) {
+            return;
+        }
+        Set<Internship> day = index.get(date.toEpochDay());
+        if (day != null && day.remove(internship) && day.isEmpty()) {
+            index.remove(date.toEpochDay());
+        }
+    }
+}
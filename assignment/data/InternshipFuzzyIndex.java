@@ -0,0 +1,239 @@
+package data;
+
+import java.util.*;
+import entity.Internship;
+
+/**
+ * Typo-tolerant index over the words of the title, company name and preferred major of the internships.
+ * Every distinct word maps to the internships using it, and every trigram of a word, padded with two
+ * boundary markers on each side, maps to the words containing it. A misspelled query term is looked
+ * up by collecting the words that share enough trigrams with it to be within the allowed edit
+ * distance, then checking each of these candidates with a bounded edit distance in which swapping two
+ * adjacent letters counts as one edit. The work done therefore depends on the number of candidate
+ * words, not on the number of internships. Terms of up to two letters must match exactly, terms of
+ * three to seven letters may be one edit away, and longer terms two edits away.
+ *
+ * @version 1.0
+ */
+public class InternshipFuzzyIndex {
+    private static final char BOUNDARY = '\u0000';
+
+    private final Map<String, Set<Internship>> postings;
+    private final Map<Internship, Set<String>> wordsByInternship;
+    private final Map<String, Set<String>> wordsByTrigram;
+
+    /**
+     * Constructs an empty InternshipFuzzyIndex.
+     */
+    public InternshipFuzzyIndex() {
+        this.postings = new HashMap<>();
+        this.wordsByInternship = new IdentityHashMap<>();
+        this.wordsByTrigram = new HashMap<>();
+    }
+
+    /**
+     * Indexes the words of the title, company name and preferred major of an internship.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (wordsByInternship.containsKey(internship)) {
+            return;
+        }
+        Set<String> words = new HashSet<>();
+        InternshipTextIndex.tokenize(internship.getTitle(), words);
+        InternshipTextIndex.tokenize(internship.getCompanyName(), words);
+        InternshipTextIndex.tokenize(internship.getPreferredMajor(), words);
+        wordsByInternship.put(internship, words);
+        for (String word : words) {
+            Set<Internship> internships = postings.get(word);
+            if (internships == null) {
+                internships = new LinkedHashSet<>();
+                postings.put(word, internships);
+                for (String trigram : trigrams(word)) {
+                    wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(word);
+                }
+            }
+            internships.add(internship);
+        }
+    }
+
+    /**
+     * Removes an internship from the index, dropping words no other internship uses.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        Set<String> words = wordsByInternship.remove(internship);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<Internship> internships = postings.get(word);
+            if (internships == null) {
+                continue;
+            }
+            internships.remove(internship);
+            if (internships.isEmpty()) {
+                postings.remove(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> trigramWords = wordsByTrigram.get(trigram);
+                    trigramWords.remove(word);
+                    if (trigramWords.isEmpty()) {
+                        wordsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-indexes an internship after its title or preferred major has changed.
+     * Internships that are not in the index are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     */
+    public void propertyChanged(Internship internship, String property) {
+        if ((property.equals("title") || property.equals("preferredMajor")) && wordsByInternship.containsKey(internship)) {
+            remove(internship);
+            add(internship);
+        }
+    }
+
+    /**
+     * Returns the internships that, for every term of the query, use a word within the allowed edit
+     * distance of the term in their title, company name or preferred major.
+     *
+     * @param query the search terms, possibly misspelled
+     * @return a new list of the matching internships, or null if the query contains no terms
+     */
+    public List<Internship> search(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        InternshipTextIndex.tokenize(query, terms);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        Set<Internship> results = null;
+        for (String term : terms) {
+            Set<Internship> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String word : similarWords(term)) {
+                matches.addAll(postings.get(word));
+            }
+            if (results == null) {
+                results = matches;
+            } else {
+                results.retainAll(matches);
+            }
+            if (results.isEmpty()) {
+                break;
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Returns the indexed words within the allowed edit distance of a term.
+     *
+     * @param term the lowercase query term
+     * @return the similar words, including the term itself if it is indexed
+     */
+    List<String> similarWords(String term) {
+        int maxDistance = maxDistance(term);
+        if (maxDistance == 0) {
+            return postings.containsKey(term) ? Collections.singletonList(term) : Collections.emptyList();
+        }
+
+        // Each edit changes at most four of the padded trigrams, so a word within the distance
+        // shares all but 4 * maxDistance of the term's trigrams.
+        Set<String> termTrigrams = trigrams(term);
+        int minShared = termTrigrams.size() - 4 * maxDistance;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : termTrigrams) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            if (words != null) {
+                for (String word : words) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<String> similar = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            String word = entry.getKey();
+            if (entry.getValue() >= minShared && Math.abs(word.length() - term.length()) <= maxDistance
+                    && editDistance(term, word, maxDistance) <= maxDistance) {
+                similar.add(word);
+            }
+        }
+        return similar;
+    }
+
+    /**
+     * Returns the number of edits a term may be away from a matching word.
+     *
+     * @param term the query term
+     * @return the maximum edit distance
+     */
+    private static int maxDistance(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 7 ? 1 : 2;
+    }
+
+    /**
+     * Returns the distinct trigrams of a word padded with two boundary markers on each side.
+     *
+     * @param word the word
+     * @return the set of trigrams
+     */
+    private static Set<String> trigrams(String word) {
+        String padded = "" + BOUNDARY + BOUNDARY + word + BOUNDARY + BOUNDARY;
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Computes the edit distance between two words, counting insertions, deletions, substitutions and
+     * transpositions of adjacent letters as one edit each, and giving up once it exceeds a bound.
+     *
+     * @param a the first word
+     * @param b the second word
+     * @param bound the largest distance of interest
+     * @return the edit distance, or bound + 1 if it is larger than bound
+     */
+    static int editDistance(String a, String b, int bound) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], bound + 1);
+    }
+}
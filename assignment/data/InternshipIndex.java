@@ -0,0 +1,172 @@
+package data;
+
+import java.util.*;
+import entity.Internship;
+
+/**
+ * Secondary hash indexes over the internships held by the data manager.
+ * For each indexed attribute, the internships are grouped by attribute value, so looking up all
+ * internships with a given status, major, level, company or representative costs time proportional
+ * to the number of matches rather than to the size of the catalog. The data manager keeps the index
+ * consistent by adding and removing internships along with its own map and by forwarding property
+ * changes reported by the internships' change listener.
+ *
+ * @version 1.0
+ */
+public class InternshipIndex {
+    /**
+     * Attributes of an internship that are indexed.
+     */
+    public enum Attribute {
+        STATUS("status"),
+        PREFERRED_MAJOR("preferredMajor"),
+        LEVEL("level"),
+        COMPANY_NAME("companyName"),
+        REP_IN_CHARGE("repInCharge");
+
+        private final String property;
+
+        /**
+         * Constructs an Attribute for the specified internship property.
+         *
+         * @param property the property name reported by the internship's change listener
+         */
+        Attribute(String property) {
+            this.property = property;
+        }
+
+        /**
+         * Returns the value of this attribute for an internship.
+         *
+         * @param internship the internship
+         * @return the attribute value
+         */
+        String valueOf(Internship internship) {
+            switch (this) {
+                case STATUS:
+                    return internship.getStatus();
+                case PREFERRED_MAJOR:
+                    return internship.getPreferredMajor();
+                case LEVEL:
+                    return internship.getLevel();
+                case COMPANY_NAME:
+                    return internship.getCompanyName();
+                default:
+                    return internship.getRepInCharge();
+            }
+        }
+
+        /**
+         * Returns the attribute indexing the specified internship property.
+         *
+         * @param property the property name reported by the internship's change listener
+         * @return the attribute, or null if the property is not indexed
+         */
+        static Attribute forProperty(String property) {
+            for (Attribute attribute : values()) {
+                if (attribute.property.equals(property)) {
+                    return attribute;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Map<Attribute, Map<String, Set<Internship>>> indexes;
+
+    /**
+     * Constructs an empty InternshipIndex.
+     */
+    public InternshipIndex() {
+        this.indexes = new EnumMap<>(Attribute.class);
+        for (Attribute attribute : Attribute.values()) {
+            indexes.put(attribute, new HashMap<>());
+        }
+    }
+
+    /**
+     * Adds an internship to every index.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        for (Attribute attribute : Attribute.values()) {
+            indexes.get(attribute).computeIfAbsent(attribute.valueOf(internship), key -> new LinkedHashSet<>()).add(internship);
+        }
+    }
+
+    /**
+     * Removes an internship from every index.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        for (Attribute attribute : Attribute.values()) {
+            removeFrom(attribute, attribute.valueOf(internship), internship);
+        }
+    }
+
+    /**
+     * Moves an internship between index entries after one of its indexed properties has changed.
+     * Internships that are not in the index, for example because they have been removed from the
+     * data storage, are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    public void propertyChanged(Internship internship, String property, Object oldValue, Object newValue) {
+        Attribute attribute = Attribute.forProperty(property);
+        if (attribute == null) {
+            return;
+        }
+        if (removeFrom(attribute, (String) oldValue, internship)) {
+            indexes.get(attribute).computeIfAbsent((String) newValue, key -> new LinkedHashSet<>()).add(internship);
+        }
+    }
+
+    /**
+     * Returns the internships whose attribute has the specified value.
+     *
+     * @param attribute the attribute to look up
+     * @param value the attribute value
+     * @return a new list of the matching internships
+     */
+    public List<Internship> get(Attribute attribute, String value) {
+        Set<Internship> matches = indexes.get(attribute).get(value);
+        return matches != null ? new ArrayList<>(matches) : new ArrayList<>();
+    }
+
+    /**
+     * Returns the number of internships whose attribute has the specified value.
+     *
+     * @param attribute the attribute to look up
+     * @param value the attribute value
+     * @return the number of matching internships
+     */
+    public int count(Attribute attribute, String value) {
+        Set<Internship> matches = indexes.get(attribute).get(value);
+        return matches != null ? matches.size() : 0;
+    }
+
+    /**
+     * Removes an internship from one index entry, dropping the entry once it is empty.
+     *
+     * @param attribute the attribute of the index
+     * @param value the attribute value the internship is filed under
+     * @param internship the internship to remove
+     * @return true if the internship was in the entry, false otherwise
+     */
+    private boolean removeFrom(Attribute attribute, String value, Internship internship) {
+        Map<String, Set<Internship>> index = indexes.get(attribute);
+        Set<Internship> entry = index.get(value);
+        if (entry == null || !entry.remove(internship)) {
+            return false;
+        }
+        if (entry.isEmpty()) {
+            index.remove(value);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,359 @@
+package data;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import entity.Internship;
+
+/**
+ * Inverted full-text index over the title, description and company name of the internships.
+ * The text of each field is split into lowercase tokens of letters and digits, and every token
+ * maps to the internships containing it. Tokens are kept in sorted order, so a query term matches
+ * every token it is a prefix of ("eng" finds "engineer" and "engineering") without scanning the
+ * internships. A query of several terms returns the internships matching all of them. The tokens
+ * of each internship are remembered, so an internship can be re-indexed when its title or
+ * description changes without a full rebuild.
+ * <p>
+ * Matches can also be ranked by relevance with BM25F. For every internship the index keeps the
+ * term frequencies and length of each field, and it keeps the total length of each field over all
+ * internships, so scoring a match needs no pass over the text. Fields are weighted separately: a
+ * term in the title counts more than one in the company name, which counts more than one in the
+ * description. Only the best matches are kept, in a heap bounded by the requested number of results.
+ *
+ * @version 1.0
+ */
+public class InternshipTextIndex {
+    private static final int TITLE = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int COMPANY_NAME = 2;
+    private static final double[] FIELD_WEIGHTS = {3.0, 1.0, 2.0};
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Term statistics of one indexed internship.
+     */
+    private static class Document {
+        private final Map<String, int[]> termFrequencies = new HashMap<>();
+        private final int[] fieldLengths = new int[FIELD_WEIGHTS.length];
+    }
+
+    /**
+     * An internship with its relevance score, ordered from least to most relevant.
+     */
+    private static class ScoredInternship implements Comparable<ScoredInternship> {
+        private final Internship internship;
+        private final double score;
+
+        /**
+         * Constructs a ScoredInternship.
+         *
+         * @param internship the internship
+         * @param score the relevance score
+         */
+        ScoredInternship(Internship internship, double score) {
+            this.internship = internship;
+            this.score = score;
+        }
+
+        /**
+         * Compares by score, breaking ties so that titles later in alphabetical order rank lower.
+         *
+         * @param other the other scored internship
+         * @return a negative number, zero or a positive number as this one is less, equally or more relevant
+         */
+        @Override
+        public int compareTo(ScoredInternship other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : other.internship.getTitle().compareTo(internship.getTitle());
+        }
+    }
+
+    private final NavigableMap<String, Set<Internship>> postings;
+    private final Map<Internship, Document> documents;
+    private final long[] totalFieldLengths;
+
+    /**
+     * Constructs an empty InternshipTextIndex.
+     */
+    public InternshipTextIndex() {
+        this.postings = new TreeMap<>();
+        this.documents = new IdentityHashMap<>();
+        this.totalFieldLengths = new long[FIELD_WEIGHTS.length];
+    }
+
+    /**
+     * Indexes the searchable fields of an internship.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (documents.containsKey(internship)) {
+            return;
+        }
+        Document document = new Document();
+        countTokens(internship.getTitle(), TITLE, document);
+        countTokens(internship.getDescription(), DESCRIPTION, document);
+        countTokens(internship.getCompanyName(), COMPANY_NAME, document);
+        documents.put(internship, document);
+        for (int field = 0; field < totalFieldLengths.length; field++) {
+            totalFieldLengths[field] += document.fieldLengths[field];
+        }
+        for (String token : document.termFrequencies.keySet()) {
+            postings.computeIfAbsent(token, key -> new LinkedHashSet<>()).add(internship);
+        }
+    }
+
+    /**
+     * Removes an internship from the index.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        Document document = documents.remove(internship);
+        if (document == null) {
+            return;
+        }
+        for (int field = 0; field < totalFieldLengths.length; field++) {
+            totalFieldLengths[field] -= document.fieldLengths[field];
+        }
+        for (String token : document.termFrequencies.keySet()) {
+            Set<Internship> internships = postings.get(token);
+            if (internships != null) {
+                internships.remove(internship);
+                if (internships.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-indexes an internship after its title or description has changed.
+     * Internships that are not in the index are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     */
+    public void propertyChanged(Internship internship, String property) {
+        if ((property.equals("title") || property.equals("description")) && documents.containsKey(internship)) {
+            remove(internship);
+            add(internship);
+        }
+    }
+
+    /**
+     * Returns the internships whose searchable fields contain a token starting with each term of the query.
+     * Terms are split from the query the same way as the indexed text.
+     *
+     * @param query the search terms
+     * @return a new list of the matching internships, or null if the query contains no terms
+     */
+    public List<Internship> search(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        List<Internship> results = new ArrayList<>();
+        forEachMatch(terms, results::add);
+        return results;
+    }
+
+    /**
+     * Returns the most relevant internships matching every term of the query, best first.
+     * Matching follows {@link #search(String)}; matches are scored with BM25F over the title,
+     * description and company name, and a term that is the prefix of several words of an internship
+     * scores as the best of those words.
+     *
+     * @param query the search terms
+     * @param limit the maximum number of internships to return
+     * @param filter the condition a match must also satisfy, or null to accept every match
+     * @return a new list of at most limit internships in decreasing order of relevance,
+     *         or null if the query contains no terms
+     */
+    public List<Internship> rank(String query, int limit, Predicate<Internship> filter) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        double[] averageFieldLengths = new double[totalFieldLengths.length];
+        for (int field = 0; field < averageFieldLengths.length; field++) {
+            averageFieldLengths[field] = documents.isEmpty() ? 0 : (double) totalFieldLengths[field] / documents.size();
+        }
+        List<Map<String, Double>> idfsPerTerm = new ArrayList<>();
+        for (String term : terms) {
+            Map<String, Double> idfs = new HashMap<>();
+            for (Map.Entry<String, Set<Internship>> entry : postings.tailMap(term, true).entrySet()) {
+                if (!entry.getKey().startsWith(term)) {
+                    break;
+                }
+                int documentFrequency = entry.getValue().size();
+                idfs.put(entry.getKey(), Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5)));
+            }
+            idfsPerTerm.add(idfs);
+        }
+        PriorityQueue<ScoredInternship> best = new PriorityQueue<>(limit + 1);
+        forEachMatch(terms, internship -> {
+            if (filter != null && !filter.test(internship)) {
+                return;
+            }
+            ScoredInternship scored = new ScoredInternship(internship, score(documents.get(internship), idfsPerTerm, averageFieldLengths));
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (scored.compareTo(best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        });
+
+        List<Internship> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().internship);
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Passes every internship matching all of the terms to an action, smallest term match first.
+     *
+     * @param terms the lowercase search terms
+     * @param action the action receiving the matching internships
+     */
+    private void forEachMatch(Set<String> terms, Consumer<Internship> action) {
+        List<Set<Internship>> matchesPerTerm = new ArrayList<>();
+        for (String term : terms) {
+            Set<Internship> matches = matchPrefix(term);
+            if (matches.isEmpty()) {
+                return;
+            }
+            matchesPerTerm.add(matches);
+        }
+        matchesPerTerm.sort(Comparator.comparingInt(Set::size));
+
+        for (Internship internship : matchesPerTerm.get(0)) {
+            boolean matchesAll = true;
+            for (int i = 1; i < matchesPerTerm.size() && matchesAll; i++) {
+                matchesAll = matchesPerTerm.get(i).contains(internship);
+            }
+            if (matchesAll) {
+                action.accept(internship);
+            }
+        }
+    }
+
+    /**
+     * Computes the BM25F score of an internship for the query terms.
+     *
+     * @param document the term statistics of the internship
+     * @param idfsPerTerm for each query term, the inverse document frequency of every token it is a prefix of
+     * @param averageFieldLengths the average length of each field over all internships
+     * @return the relevance score
+     */
+    private static double score(Document document, List<Map<String, Double>> idfsPerTerm, double[] averageFieldLengths) {
+        double[] lengthNorms = new double[averageFieldLengths.length];
+        for (int field = 0; field < lengthNorms.length; field++) {
+            double lengthRatio = averageFieldLengths[field] > 0 ? document.fieldLengths[field] / averageFieldLengths[field] : 1;
+            lengthNorms[field] = 1 - B + B * lengthRatio;
+        }
+
+        double score = 0;
+        for (Map<String, Double> idfs : idfsPerTerm) {
+            double bestTermScore = 0;
+            boolean fewerTokens = idfs.size() <= document.termFrequencies.size();
+            for (Map.Entry<String, ?> entry : fewerTokens ? idfs.entrySet() : document.termFrequencies.entrySet()) {
+                int[] frequencies = fewerTokens ? document.termFrequencies.get(entry.getKey()) : (int[]) entry.getValue();
+                Double idf = fewerTokens ? (Double) entry.getValue() : idfs.get(entry.getKey());
+                if (frequencies == null || idf == null) {
+                    continue;
+                }
+                double weightedFrequency = 0;
+                for (int field = 0; field < frequencies.length; field++) {
+                    weightedFrequency += FIELD_WEIGHTS[field] * frequencies[field] / lengthNorms[field];
+                }
+                bestTermScore = Math.max(bestTermScore, idf * weightedFrequency * (K1 + 1) / (K1 + weightedFrequency));
+            }
+            score += bestTermScore;
+        }
+        return score;
+    }
+
+    /**
+     * Returns the internships containing any token that starts with the term.
+     *
+     * @param term the lowercase search term
+     * @return the matching internships
+     */
+    private Set<Internship> matchPrefix(String term) {
+        Set<Internship> exact = postings.get(term);
+        Set<Internship> matches = null;
+        for (Map.Entry<String, Set<Internship>> entry : postings.tailMap(term, false).entrySet()) {
+            if (!entry.getKey().startsWith(term)) {
+                break;
+            }
+            if (matches == null) {
+                matches = Collections.newSetFromMap(new IdentityHashMap<>());
+                if (exact != null) {
+                    matches.addAll(exact);
+                }
+            }
+            matches.addAll(entry.getValue());
+        }
+        if (matches != null) {
+            return matches;
+        }
+        return exact != null ? exact : Collections.emptySet();
+    }
+
+    /**
+     * Counts the tokens of one field of an internship.
+     *
+     * @param text the text of the field, or null
+     * @param field the field number
+     * @param document the statistics receiving the counts
+     */
+    private static void countTokens(String text, int field, Document document) {
+        forEachToken(text, token -> {
+            document.termFrequencies.computeIfAbsent(token, key -> new int[FIELD_WEIGHTS.length])[field]++;
+            document.fieldLengths[field]++;
+        });
+    }
+
+    /**
+     * Splits text into lowercase tokens of letters and digits.
+     *
+     * @param text the text to split, or null
+     * @param tokens the set receiving the tokens
+     */
+    static void tokenize(String text, Set<String> tokens) {
+        forEachToken(text, tokens::add);
+    }
+
+    /**
+     * Passes each lowercase token of letters and digits in the text to an action.
+     *
+     * @param text the text to split, or null
+     * @param action the action receiving the tokens
+     */
+    private static void forEachToken(String text, Consumer<String> action) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                action.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+}
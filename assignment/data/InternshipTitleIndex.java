@@ -0,0 +1,199 @@
+package data;
+
+import java.util.*;
+import java.util.function.Predicate;
+import entity.Internship;
+
+/**
+ * Index keeping the internships ordered by title.
+ * Internships are stored in a sorted map under a key made of the title and the internship ID, so
+ * internships with the same title keep a fixed order and an internship can be found again under its
+ * old title when the title changes. Listings sorted by title are produced by walking the map and
+ * keeping the internships that pass a filter; the walk stops as soon as enough rows are found,
+ * so the first rows of a listing cost no sort of the whole result.
+ *
+ * @version 1.0
+ */
+public class InternshipTitleIndex {
+    private static final Comparator<Internship> TITLE_ORDER =
+            Comparator.comparing((Internship internship) -> internship.getTitle() != null ? internship.getTitle() : "")
+                    .thenComparing(Internship::getInternshipID);
+
+    /**
+     * Sort key of an internship: its title, then its ID.
+     */
+    private static class TitleKey implements Comparable<TitleKey> {
+        private final String title;
+        private final String internshipID;
+
+        /**
+         * Constructs a TitleKey.
+         *
+         * @param title the title, or null
+         * @param internshipID the internship ID
+         */
+        TitleKey(String title, String internshipID) {
+            this.title = title != null ? title : "";
+            this.internshipID = internshipID;
+        }
+
+        /**
+         * Compares by title, then by internship ID.
+         *
+         * @param other the other key
+         * @return a negative number, zero or a positive number as this key is ordered before, with or after the other
+         */
+        @Override
+        public int compareTo(TitleKey other) {
+            int byTitle = title.compareTo(other.title);
+            return byTitle != 0 ? byTitle : internshipID.compareTo(other.internshipID);
+        }
+    }
+
+    private final NavigableMap<TitleKey, Internship> byTitle;
+    private final Map<Internship, TitleKey> keys;
+
+    /**
+     * Constructs an empty InternshipTitleIndex.
+     */
+    public InternshipTitleIndex() {
+        this.byTitle = new TreeMap<>();
+        this.keys = new IdentityHashMap<>();
+    }
+
+    /**
+     * Adds an internship to the index.
+     *
+     * @param internship the internship to add
+     */
+    public void add(Internship internship) {
+        if (keys.containsKey(internship)) {
+            return;
+        }
+        TitleKey key = new TitleKey(internship.getTitle(), internship.getInternshipID());
+        keys.put(internship, key);
+        byTitle.put(key, internship);
+    }
+
+    /**
+     * Removes an internship from the index.
+     *
+     * @param internship the internship to remove
+     */
+    public void remove(Internship internship) {
+        TitleKey key = keys.remove(internship);
+        if (key != null) {
+            byTitle.remove(key);
+        }
+    }
+
+    /**
+     * Moves an internship to its new position after its title has changed.
+     * Internships that are not in the index are ignored.
+     *
+     * @param internship the internship that was modified
+     * @param property the name of the modified property
+     */
+    public void propertyChanged(Internship internship, String property) {
+        if (property.equals("title") && keys.containsKey(internship)) {
+            remove(internship);
+            add(internship);
+        }
+    }
+
+    /**
+     * Returns the first internships in title order that satisfy a condition.
+     *
+     * @param filter the condition, or null to accept every internship
+     * @param limit the maximum number of internships to return
+     * @return a new list of at most limit internships in title order
+     */
+    public List<Internship> inTitleOrder(Predicate<Internship> filter, int limit) {
+        return inTitleOrderAfter(null, null, filter, limit);
+    }
+
+    /**
+     * Returns the first internships in title order that come after a position and satisfy a condition.
+     * The walk starts right after the position, so later pages cost no more than the first one.
+     *
+     * @param afterTitle the title of the position, or null to start from the first internship
+     * @param afterInternshipID the internship ID of the position, used when afterTitle is not null
+     * @param filter the condition, or null to accept every internship
+     * @param limit the maximum number of internships to return
+     * @return a new list of at most limit internships in title order
+     */
+    public List<Internship> inTitleOrderAfter(String afterTitle, String afterInternshipID,
+                                              Predicate<Internship> filter, int limit) {
+        Map<TitleKey, Internship> walked = afterTitle == null ? byTitle
+                : byTitle.tailMap(new TitleKey(afterTitle, afterInternshipID), false);
+        List<Internship> results = new ArrayList<>();
+        for (Internship internship : walked.values()) {
+            if (results.size() >= limit) {
+                break;
+            }
+            if (filter == null || filter.test(internship)) {
+                results.add(internship);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the specified internships in title order by walking the index.
+     *
+     * @param internships the internships to order
+     * @return a new list of the internships in title order, or null if some of them are not indexed
+     */
+    public List<Internship> orderByTitle(Collection<Internship> internships) {
+        Set<Internship> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        wanted.addAll(internships);
+        if (wanted.size() != internships.size() || !keys.keySet().containsAll(wanted)) {
+            return null;
+        }
+        return inTitleOrder(wanted::contains, wanted.size());
+    }
+
+    /**
+     * Selects the first internships in title order that come after a position from a collection,
+     * keeping only the best limit candidates in a bounded heap instead of sorting the whole collection.
+     * When every candidate may be returned, the candidates after the position are simply sorted.
+     *
+     * @param internships the candidate internships
+     * @param afterTitle the title of the position, or null to start from the first internship
+     * @param afterInternshipID the internship ID of the position, used when afterTitle is not null
+     * @param limit the maximum number of internships to return
+     * @return a new list of at most limit internships in title order
+     */
+    public static List<Internship> selectInTitleOrder(Collection<Internship> internships, String afterTitle,
+                                                      String afterInternshipID, int limit) {
+        TitleKey after = afterTitle != null ? new TitleKey(afterTitle, afterInternshipID) : null;
+        boolean keepAll = limit >= internships.size();
+        List<Internship> results = new ArrayList<>(keepAll ? internships.size() : 0);
+        PriorityQueue<Internship> best = new PriorityQueue<>(TITLE_ORDER.reversed());
+        for (Internship internship : internships) {
+            if (after != null && new TitleKey(internship.getTitle(), internship.getInternshipID()).compareTo(after) <= 0) {
+                continue;
+            }
+            if (keepAll) {
+                results.add(internship);
+            } else if (best.size() < limit) {
+                best.add(internship);
+            } else if (limit > 0 && TITLE_ORDER.compare(internship, best.peek()) < 0) {
+                best.poll();
+                best.add(internship);
+            }
+        }
+        results.addAll(best);
+        results.sort(TITLE_ORDER);
+        return results;
+    }
+
+    /**
+     * Returns the number of internships in the index.
+     *
+     * @return the number of internships
+     */
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,254 @@
+package data;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a large pipe-separated data file in parallel.
+ * The file is memory-mapped and divided into chunks whose boundaries always fall just after a line
+ * break, so no record is split between chunks. The chunks are parsed on a fork-join pool, each into
+ * its own list, and the lists are concatenated in chunk order afterwards. The result is therefore
+ * identical to parsing the file from start to end on a single thread.
+ *
+ * @param <T> the type of record parsed from the file
+ * @version 1.0
+ */
+public class MappedChunkParser<T> {
+    /** Smallest chunk worth handing to a separate task */
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    /** Largest chunk, which bounds the memory needed to decode a single chunk */
+    private static final long MAX_CHUNK_SIZE = 64L << 20;
+    /** Number of chunks per pool thread, so that uneven chunks still balance out */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ChunkHandler<T> handler;
+    private final ForkJoinPool pool;
+    private final Charset charset;
+
+    /**
+     * Callback that turns the records of one chunk into objects.
+     *
+     * @param <T> the type of record parsed from the chunk
+     */
+    public interface ChunkHandler<T> {
+        /**
+         * Parses every record available from the reader into the list.
+         *
+         * @param reader the reader positioned at the start of the chunk
+         * @param records the list receiving the parsed records in order
+         * @throws IOException if the chunk cannot be read
+         */
+        void parse(PipeRecordReader reader, List<T> records) throws IOException;
+    }
+
+    /**
+     * Constructs a MappedChunkParser that decodes files with the platform default charset, like {@link FileReader}.
+     *
+     * @param handler the callback that parses the records of a chunk
+     * @param pool the fork-join pool that parses the chunks
+     */
+    public MappedChunkParser(ChunkHandler<T> handler, ForkJoinPool pool) {
+        this.handler = handler;
+        this.pool = pool;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Parses the specified file and returns its records in file order.
+     *
+     * @param filePath the path to the data file
+     * @return the parsed records
+     * @throws IOException if the file cannot be mapped or read
+     */
+    public List<T> parse(String filePath) throws IOException {
+        return parse(filePath, 0, new File(filePath).length());
+    }
+
+    /**
+     * Parses a byte range of the specified file and returns its records in file order.
+     *
+     * @param filePath the path to the data file
+     * @param from the position of the first byte to parse, which must be the start of a line
+     * @param to the position after the last byte to parse
+     * @return the parsed records
+     * @throws IOException if the file cannot be mapped or read
+     */
+    public List<T> parse(String filePath, long from, long to) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            throw new FileNotFoundException(filePath + " (No such file or directory)");
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel, from, Math.min(to, channel.size()));
+            int chunkCount = boundaries.length - 1;
+            List<List<T>> results = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                results.add(null);
+            }
+
+            ChunkTask task = new ChunkTask(channel, boundaries, results, 0, chunkCount);
+            try {
+                pool.invoke(task);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            int total = 0;
+            for (List<T> chunk : results) {
+                total += chunk.size();
+            }
+            List<T> records = new ArrayList<>(total);
+            for (List<T> chunk : results) {
+                records.addAll(chunk);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Divides a byte range of the file into chunks that each end just after a line break (or at the end of the range).
+     *
+     * @param channel the open file channel
+     * @param from the start of the range
+     * @param end the end of the range
+     * @return the chunk boundaries, starting with the start and ending with the end of the range
+     * @throws IOException if the file cannot be read
+     */
+    private long[] findChunkBoundaries(FileChannel channel, long from, long end) throws IOException {
+        long target = (end - from) / ((long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(from);
+        long position = from;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        while (position < end) {
+            long next = position + chunkSize;
+            if (next >= end) {
+                next = end;
+            } else {
+                next = nextLineStart(channel, next, end, probe);
+            }
+            boundaries.add(next);
+            position = next;
+        }
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position just after the first line break at or after the given position.
+     *
+     * @param channel the open file channel
+     * @param position the position to start searching from
+     * @param end the end of the range being divided
+     * @param probe a scratch buffer for reading ahead
+     * @return the start of the next line, or the end of the range if there is no further line break before it
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end, ByteBuffer probe) throws IOException {
+        while (position < end) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return Math.min(position + i + 1, end);
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    /**
+     * Maps, decodes and parses a single chunk.
+     *
+     * @param channel the open file channel
+     * @param start the position of the first byte of the chunk
+     * @param end the position after the last byte of the chunk
+     * @return the records parsed from the chunk
+     * @throws IOException if the chunk cannot be mapped or parsed
+     */
+    private List<T> parseChunk(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = decoder.decode(bytes);
+
+        List<T> records = new ArrayList<>();
+        try (PipeRecordReader reader = new PipeRecordReader(
+                new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining()))) {
+            handler.parse(reader, records);
+        }
+        return records;
+    }
+
+    /**
+     * Fork-join task that parses a range of chunks, splitting the range in half until a single chunk remains.
+     * Each chunk's records are stored at its own index, so the order of completion does not matter.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final List<List<T>> results;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a ChunkTask for the chunks in the range [from, to).
+         *
+         * @param channel the open file channel
+         * @param boundaries the chunk boundaries
+         * @param results the per-chunk result slots
+         * @param from the index of the first chunk
+         * @param to the index after the last chunk
+         */
+        ChunkTask(FileChannel channel, long[] boundaries, List<List<T>> results, int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    try {
+                        results.set(from, parseChunk(channel, boundaries[from], boundaries[from + 1]));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(channel, boundaries, results, from, middle),
+                      new ChunkTask(channel, boundaries, results, middle, to));
+        }
+    }
+}
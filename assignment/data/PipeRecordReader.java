@@ -0,0 +1,366 @@
+package data;
+
+import java.io.*;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Allocation-light reader for the pipe-separated data files.
+ * Lines are scanned character by character into a reusable buffer and split into trimmed field
+ * boundaries without regular expressions, intermediate arrays or per-field strings. Numeric, boolean
+ * and date fields are parsed directly from the buffer, so a String is only created for fields that
+ * are actually stored as text. Repeated text values can be shared through {@link #getSharedString(int)}.
+ *
+ * @version 1.0
+ */
+public class PipeRecordReader implements Closeable {
+    private static final char SEPARATOR = '|';
+    private static final int STRING_CACHE_SIZE = 1024;
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+    private boolean skipLineFeed;
+
+    private char[] line;
+    private int lineLength;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private int fieldCount;
+    private final String[] stringCache;
+
+    /**
+     * Constructs a PipeRecordReader over the specified file.
+     *
+     * @param filePath the path to the data file
+     * @throws FileNotFoundException if the file does not exist
+     */
+    public PipeRecordReader(String filePath) throws FileNotFoundException {
+        this(new FileReader(filePath));
+    }
+
+    /**
+     * Constructs a PipeRecordReader over the specified character stream.
+     *
+     * @param reader the stream to read records from
+     */
+    public PipeRecordReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[65536];
+        this.line = new char[256];
+        this.fieldStarts = new int[16];
+        this.fieldEnds = new int[16];
+        this.stringCache = new String[STRING_CACHE_SIZE];
+    }
+
+    /**
+     * Advances to the next non-blank record.
+     *
+     * @return true if a record is available, false at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public boolean nextRecord() throws IOException {
+        while (readLine()) {
+            if (splitFields()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of fields in the current record.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns the trimmed text of a field.
+     *
+     * @param index the zero-based field index
+     * @return the field text
+     */
+    public String getString(int index) {
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+        return length == 0 ? "" : new String(line, start, length);
+    }
+
+    /**
+     * Returns the trimmed text of a field, reusing a previously returned String with the same content if possible.
+     * Intended for low-cardinality fields such as statuses, majors and activity descriptions.
+     *
+     * @param index the zero-based field index
+     * @return the field text
+     */
+    public String getSharedString(int index) {
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        if (start == end) {
+            return "";
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + line[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+        String cached = stringCache[slot];
+        if (cached != null && contentEquals(cached, start, end)) {
+            return cached;
+        }
+        String value = new String(line, start, end - start);
+        stringCache[slot] = value;
+        return value;
+    }
+
+    /**
+     * Parses a field as a decimal integer.
+     *
+     * @param index the zero-based field index
+     * @return the integer value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    public int getInt(int index) {
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        boolean negative = false;
+        if (start < end && (line[start] == '-' || line[start] == '+')) {
+            negative = line[start] == '-';
+            start++;
+        }
+        if (start == end || end - start > 10) {
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a boolean, with the same rules as {@link Boolean#parseBoolean(String)}.
+     *
+     * @param index the zero-based field index
+     * @return true if the field equals "true" ignoring case, false otherwise
+     */
+    public boolean getBoolean(int index) {
+        int start = fieldStarts[index];
+        if (fieldEnds[index] - start != 4) {
+            return false;
+        }
+        return (line[start] | 0x20) == 't' && (line[start + 1] | 0x20) == 'r'
+                && (line[start + 2] | 0x20) == 'u' && (line[start + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * Parses a field as an ISO-8601 date (yyyy-MM-dd).
+     *
+     * @param index the zero-based field index
+     * @return the date value
+     * @throws DateTimeException if the field is not a valid date
+     */
+    public LocalDate getDate(int index) {
+        int start = fieldStarts[index];
+        if (fieldEnds[index] - start == 10 && line[start + 4] == '-' && line[start + 7] == '-') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(getString(index));
+    }
+
+    /**
+     * Parses a field as an ISO-8601 local date-time (yyyy-MM-ddTHH:mm[:ss[.fraction]]).
+     *
+     * @param index the zero-based field index
+     * @return the date-time value
+     * @throws DateTimeException if the field is not a valid date-time
+     */
+    public LocalDateTime getDateTime(int index) {
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+        if (length >= 16 && line[start + 4] == '-' && line[start + 7] == '-'
+                && line[start + 10] == 'T' && line[start + 13] == ':') {
+            int year = digits(start, 4);
+            int month = digits(start + 5, 2);
+            int day = digits(start + 8, 2);
+            int hour = digits(start + 11, 2);
+            int minute = digits(start + 14, 2);
+            int second = 0;
+            int nano = 0;
+            boolean valid = year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0;
+            if (valid && length > 16) {
+                valid = length >= 19 && line[start + 16] == ':';
+                second = valid ? digits(start + 17, 2) : -1;
+                valid = valid && second >= 0;
+                if (valid && length > 19) {
+                    int fractionLength = length - 20;
+                    valid = line[start + 19] == '.' && fractionLength >= 1 && fractionLength <= 9;
+                    nano = valid ? digits(start + 20, fractionLength) : -1;
+                    valid = valid && nano >= 0;
+                    for (int i = fractionLength; valid && i < 9; i++) {
+                        nano *= 10;
+                    }
+                }
+            }
+            if (valid) {
+                return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            }
+        }
+        return LocalDateTime.parse(getString(index));
+    }
+
+    /**
+     * Closes the underlying stream.
+     *
+     * @throws IOException if the stream cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads the next line into the line buffer, accepting \n, \r and \r\n as terminators.
+     *
+     * @return true if a line was read, false at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean readAny = false;
+        while (true) {
+            if (bufferPosition >= bufferLimit) {
+                bufferLimit = reader.read(buffer, 0, buffer.length);
+                bufferPosition = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    return readAny;
+                }
+            }
+            char c = buffer[bufferPosition++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '\n') {
+                return true;
+            }
+            if (c == '\r') {
+                skipLineFeed = true;
+                return true;
+            }
+            readAny = true;
+            if (lineLength == line.length) {
+                char[] larger = new char[line.length * 2];
+                System.arraycopy(line, 0, larger, 0, lineLength);
+                line = larger;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    /**
+     * Splits the current line into trimmed field boundaries.
+     *
+     * @return true if the line contains a record, false if it is blank
+     */
+    private boolean splitFields() {
+        fieldCount = 0;
+        boolean blank = true;
+        int fieldStart = 0;
+        for (int i = 0; i <= lineLength; i++) {
+            if (i == lineLength || line[i] == SEPARATOR) {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            } else if (line[i] > ' ') {
+                blank = false;
+            }
+        }
+        return !blank;
+    }
+
+    /**
+     * Records the trimmed boundaries of a field, growing the boundary arrays if needed.
+     *
+     * @param start the index of the first character of the field
+     * @param end the index after the last character of the field
+     */
+    private void addField(int start, int end) {
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        if (fieldCount == fieldStarts.length) {
+            int[] largerStarts = new int[fieldCount * 2];
+            int[] largerEnds = new int[fieldCount * 2];
+            System.arraycopy(fieldStarts, 0, largerStarts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, largerEnds, 0, fieldCount);
+            fieldStarts = largerStarts;
+            fieldEnds = largerEnds;
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Parses a fixed number of decimal digits from the line buffer.
+     *
+     * @param start the index of the first digit
+     * @param count the number of digits
+     * @return the parsed value, or -1 if any character is not a digit
+     */
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Checks if a String has the same content as a range of the line buffer.
+     *
+     * @param value the String to compare
+     * @param start the start of the range
+     * @param end the end of the range
+     * @return true if the contents are equal, false otherwise
+     */
+    private boolean contentEquals(String value, int start, int end) {
+        if (value.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i - start) != line[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
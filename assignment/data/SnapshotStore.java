@@ -0,0 +1,444 @@
+package data;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Crash-consistent store of snapshot generations for the data files.
+ * Each checkpoint writes every data file into a new generation directory, forces the files to disk
+ * once, and then atomically replaces a manifest that names the current generation. A crash at any
+ * point leaves the manifest pointing at the previous complete generation, whose journal still holds
+ * every change made since, so the data files can never be observed out of sync with each other.
+ * Files whose entity set has not changed are hard-linked from the previous generation instead of rewritten;
+ * generation files are never modified in place, so sharing them between generations is safe.
+ * Activity logs are kept in an {@link ActivityLogStore} whose segment files live outside the generations
+ * and are only ever appended to; each generation stores an index of the segments and lengths that belong
+ * to it, and segments no longer referenced by a kept generation are deleted. They are only rewritten by
+ * {@link #compact(DataManager)}. If the segments cannot be opened, the activity logs file of the generation
+ * is used instead, sharing it between generations with a high-water mark per generation.
+ * Each generation also holds a {@link BinarySnapshot} of the same data, which is loaded instead of the
+ * text files at startup as long as it is newer than them.
+ * If no manifest exists yet, the plain data files in the base directory are used as the starting point.
+ *
+ * @version 1.0
+ */
+public class SnapshotStore {
+    /** Name of the manifest file naming the current generation */
+    public static final String MANIFEST_FILE = "MANIFEST";
+    /** Name of the journal file inside a data or generation directory */
+    public static final String JOURNAL_FILE = "journal.txt";
+    /** Number of journal records after which a new generation is written */
+    private static final int JOURNAL_CHECKPOINT_THRESHOLD = 500;
+
+    private Path baseDirectory;
+    private Path snapshotsDirectory;
+    private Path currentDirectory;
+    private int currentGeneration;
+    private StartupLoader startupLoader;
+    private ActivityLogStore activityLogStore;
+
+    /**
+     * Constructs a SnapshotStore rooted at the specified data directory.
+     *
+     * @param baseDirectory the directory holding the manifest, the generations and any legacy data files
+     */
+    public SnapshotStore(String baseDirectory) {
+        this.baseDirectory = Paths.get(baseDirectory);
+        this.snapshotsDirectory = this.baseDirectory.resolve("snapshots");
+        this.currentDirectory = this.baseDirectory;
+        this.currentGeneration = 0;
+        this.startupLoader = new StartupLoader();
+        this.activityLogStore = new ActivityLogStore(this.baseDirectory.resolve("activitylogs").toString());
+    }
+
+    /**
+     * Loads the latest complete generation into the data manager and opens its journal.
+     * The data files are read in parallel by the {@link StartupLoader}. The data manager writes new
+     * generations to this store whenever it has to save changes without a journal.
+     * Falls back to the data files in the base directory if no generation has been written yet.
+     *
+     * @param dataManager the data manager to load into
+     */
+    public void load(DataManager dataManager) {
+        dataManager.setSnapshotStore(this);
+        resolveCurrentGeneration();
+        openActivityLogs(dataManager);
+        startupLoader.load(dataManager, currentDirectory.toString(), currentDirectory.resolve(JOURNAL_FILE).toString());
+    }
+
+    /**
+     * Opens the activity log segments listed in the current generation and attaches them to the data manager.
+     * The segments themselves are only read when the activity logs are first accessed, so startup does not
+     * depend on the size of the history. A generation written before activity logs were segmented has no segment index; its activity logs file
+     * is imported into new segments once and an index for them is added to the generation.
+     * If the segments cannot be opened, the data manager keeps loading the activity logs file instead.
+     *
+     * @param dataManager the data manager to attach the activity log store to
+     */
+    private void openActivityLogs(DataManager dataManager) {
+        Path index = currentDirectory.resolve(ActivityLogStore.INDEX_FILE);
+        try {
+            if (Files.exists(index)) {
+                activityLogStore.openLazily(index.toString());
+            } else {
+                activityLogStore.open(null);
+                Path legacy = currentDirectory.resolve(DataFile.ACTIVITY_LOGS.getFileName());
+                if (Files.exists(legacy)) {
+                    activityLogStore.importFile(legacy.toString());
+                }
+                activityLogStore.writeIndex(index.toString());
+                force(currentDirectory);
+            }
+            dataManager.setActivityLogStore(activityLogStore);
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error opening activity log segments: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the loader used by {@link #load(DataManager)}, which holds the phase timings of the last load.
+     *
+     * @return the startup loader
+     */
+    public StartupLoader getStartupLoader() {
+        return startupLoader;
+    }
+
+    /**
+     * Writes a new generation only if the journal has grown past the checkpoint threshold.
+     *
+     * @param dataManager the data manager whose data should be saved
+     */
+    public void checkpointIfNeeded(DataManager dataManager) {
+        if (dataManager.getJournalRecordCount() >= JOURNAL_CHECKPOINT_THRESHOLD) {
+            checkpoint(dataManager);
+        }
+    }
+
+    /**
+     * Writes a new generation only if something has changed since the last checkpoint, that is if the
+     * journal holds records or some data file is out of date. A session that changed nothing leaves the
+     * current generation in place.
+     *
+     * @param dataManager the data manager whose data should be saved
+     */
+    public void checkpointIfChanged(DataManager dataManager) {
+        if (dataManager.getJournalRecordCount() > 0 || !dataManager.getModifiedFiles().isEmpty()) {
+            checkpoint(dataManager);
+        }
+    }
+
+    /**
+     * Writes all data into a new generation directory and makes it the current generation.
+     * Journaling continues in the new generation's empty journal. If any step fails, the
+     * manifest is left untouched and the previous generation remains current.
+     *
+     * @param dataManager the data manager whose data should be saved
+     */
+    public void checkpoint(DataManager dataManager) {
+        checkpoint(dataManager, false);
+    }
+
+    /**
+     * Writes a new generation in which the activity logs are rewritten in full instead of appended to.
+     *
+     * @param dataManager the data manager whose data should be saved
+     */
+    public void compact(DataManager dataManager) {
+        checkpoint(dataManager, true);
+    }
+
+    /**
+     * Writes all data into a new generation directory and makes it the current generation.
+     * Saving a file clears its modified flag, so the flags are restored if the generation is abandoned;
+     * otherwise the next checkpoint would link the stale files of the current generation and then start
+     * an empty journal, losing the changes recorded in the current one.
+     *
+     * @param dataManager the data manager whose data should be saved
+     * @param compactActivityLogs true to rewrite the activity logs, false to append to them
+     */
+    private void checkpoint(DataManager dataManager, boolean compactActivityLogs) {
+        int nextGeneration = currentGeneration + 1;
+        Path nextDirectory = snapshotsDirectory.resolve(generationName(nextGeneration));
+        EnumSet<DataFile> modifiedFiles = dataManager.getModifiedFiles();
+        try {
+            deleteDirectory(nextDirectory);
+            Files.createDirectories(nextDirectory);
+            boolean entitiesUnchanged = true;
+            for (DataFile dataFile : DataFile.values()) {
+                if (dataFile != DataFile.ACTIVITY_LOGS && dataManager.isModified(dataFile)) {
+                    entitiesUnchanged = false;
+                }
+            }
+
+            for (DataFile dataFile : DataFile.values()) {
+                Path previous = currentDirectory.resolve(dataFile.getFileName());
+                Path target = nextDirectory.resolve(dataFile.getFileName());
+                if (dataFile == DataFile.ACTIVITY_LOGS) {
+                    if (dataManager.hasActivityLogStore()) {
+                        checkpointActivityLogStore(dataManager, nextDirectory, compactActivityLogs);
+                    } else {
+                        checkpointActivityLogs(dataManager, previous, target, compactActivityLogs);
+                    }
+                } else if (!dataManager.isModified(dataFile) && Files.exists(previous)) {
+                    if (currentGeneration == 0) {
+                        Files.copy(previous, target);
+                        force(target);
+                    } else {
+                        linkOrCopy(previous, target);
+                    }
+                } else {
+                    if (!dataManager.save(dataFile, target.toString())) {
+                        throw new IOException("Failed to write " + target);
+                    }
+                    force(target);
+                }
+            }
+            Path previousSnapshot = currentDirectory.resolve(BinarySnapshot.FILE_NAME);
+            Path snapshot = nextDirectory.resolve(BinarySnapshot.FILE_NAME);
+            if (entitiesUnchanged && !compactActivityLogs && currentGeneration > 0 && Files.exists(previousSnapshot)) {
+                linkOrCopy(previousSnapshot, snapshot);
+            } else {
+                if (!dataManager.saveBinarySnapshot(snapshot.toString())) {
+                    throw new IOException("Failed to write " + snapshot);
+                }
+                force(snapshot);
+            }
+            Files.createFile(nextDirectory.resolve(JOURNAL_FILE));
+            force(nextDirectory);
+
+            writeManifest(generationName(nextGeneration));
+        } catch (IOException e) {
+            System.out.println("Error writing snapshot: " + e.getMessage());
+            dataManager.restoreModifiedFiles(modifiedFiles);
+            dataManager.detachActivityLogs();
+            return;
+        }
+
+        Path previousDirectory = currentDirectory;
+        int previousGeneration = currentGeneration;
+        currentDirectory = nextDirectory;
+        currentGeneration = nextGeneration;
+        dataManager.switchJournal(currentDirectory.resolve(JOURNAL_FILE).toString());
+        removeOldGenerations(previousDirectory, previousGeneration, dataManager.hasActivityLogStore());
+    }
+
+    /**
+     * Flushes new activity logs to the segment store and records its segments in the new generation's index.
+     * When compacting, every activity log is first rewritten into fresh segments. Segments closed since the
+     * last checkpoint are compressed into archives before the index is written.
+     *
+     * @param dataManager the data manager whose activity logs should be saved
+     * @param nextDirectory the directory of the new generation
+     * @param compact true to rewrite the segments in full
+     * @throws IOException if the segments or the index cannot be written
+     */
+    private void checkpointActivityLogStore(DataManager dataManager, Path nextDirectory, boolean compact) throws IOException {
+        if (!dataManager.flushActivityLogs()) {
+            throw new IOException("Failed to write activity log segments");
+        }
+        if (compact) {
+            activityLogStore.compact();
+        }
+        activityLogStore.archiveClosedSegments();
+        Path index = nextDirectory.resolve(ActivityLogStore.INDEX_FILE);
+        activityLogStore.writeIndex(index.toString());
+        force(index);
+    }
+
+    /**
+     * Carries the activity logs file over into the new generation.
+     * The previous file is hard-linked (or copied when coming from the base directory), the entries
+     * added since are appended to it, and the new high-water mark is written next to it.
+     * When compacting, the file is written from scratch instead.
+     *
+     * @param dataManager the data manager whose activity logs should be saved
+     * @param previous the activity logs file of the current generation
+     * @param target the activity logs file of the new generation
+     * @param compact true to rewrite the file in full
+     * @throws IOException if the file cannot be carried over or written
+     */
+    private void checkpointActivityLogs(DataManager dataManager, Path previous, Path target, boolean compact) throws IOException {
+        boolean written;
+        if (compact) {
+            written = dataManager.compactActivityLogs(target.toString());
+        } else {
+            if (Files.exists(previous)) {
+                if (currentGeneration == 0) {
+                    Files.copy(previous, target);
+                } else {
+                    linkOrCopy(previous, target);
+                }
+                dataManager.relocateActivityLogs(previous.toString(), target.toString());
+            }
+            written = dataManager.appendActivityLogs(target.toString());
+        }
+        if (!written) {
+            throw new IOException("Failed to write " + target);
+        }
+        force(target);
+        force(Paths.get(ActivityLogSink.markPathOf(target.toString())));
+    }
+
+    /**
+     * Returns the directory of the current generation.
+     *
+     * @return the current data directory
+     */
+    public String getCurrentDirectory() {
+        return currentDirectory.toString();
+    }
+
+    /**
+     * Reads the manifest and selects the generation it names.
+     * If the manifest is missing or names a directory that does not exist, the base directory is used.
+     */
+    private void resolveCurrentGeneration() {
+        Path manifest = baseDirectory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        try {
+            String name = new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8).trim();
+            Path directory = snapshotsDirectory.resolve(name);
+            if (Files.isDirectory(directory)) {
+                currentDirectory = directory;
+                currentGeneration = Integer.parseInt(name.substring(name.indexOf('-') + 1));
+            } else {
+                System.out.println("Snapshot generation not found: " + name);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error reading snapshot manifest: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Atomically replaces the manifest so that it names the given generation.
+     *
+     * @param generationName the directory name of the new current generation
+     * @throws IOException if the manifest cannot be written
+     */
+    private void writeManifest(String generationName) throws IOException {
+        Path manifest = baseDirectory.resolve(MANIFEST_FILE);
+        Path temp = baseDirectory.resolve(MANIFEST_FILE + ".tmp");
+        Files.write(temp, (generationName + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        force(temp);
+        try {
+            Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+        }
+        force(baseDirectory);
+    }
+
+    /**
+     * Removes generations older than the previous one, keeping one complete fallback on disk.
+     * The journal of the base directory is also removed once a generation has replaced it, and its
+     * segment index once it is no longer the fallback. Activity log segments referenced by neither the
+     * current generation nor the previous one are deleted afterwards.
+     *
+     * @param previousDirectory the directory of the generation that was current before the checkpoint
+     * @param previousGeneration the number of that generation, or 0 for the base directory
+     * @param segmented true if the activity logs are kept in the segment store
+     */
+    private void removeOldGenerations(Path previousDirectory, int previousGeneration, boolean segmented) {
+        if (previousGeneration == 0) {
+            try {
+                Files.deleteIfExists(previousDirectory.resolve(JOURNAL_FILE));
+            } catch (IOException e) {
+                System.out.println("Error removing old journal: " + e.getMessage());
+            }
+        } else {
+            try {
+                Files.deleteIfExists(baseDirectory.resolve(ActivityLogStore.INDEX_FILE));
+            } catch (IOException e) {
+                System.out.println("Error removing old activity log index: " + e.getMessage());
+            }
+        }
+        for (int generation = previousGeneration - 1; generation > 0; generation--) {
+            Path directory = snapshotsDirectory.resolve(generationName(generation));
+            if (!Files.exists(directory)) {
+                break;
+            }
+            try {
+                deleteDirectory(directory);
+            } catch (IOException e) {
+                System.out.println("Error removing old snapshot: " + e.getMessage());
+            }
+        }
+        if (segmented) {
+            activityLogStore.deleteUnreferencedSegments(
+                    ActivityLogStore.readSegmentNames(previousDirectory.resolve(ActivityLogStore.INDEX_FILE).toString()));
+        }
+    }
+
+    /**
+     * Returns the directory name of a generation.
+     *
+     * @param generation the generation number
+     * @return the directory name
+     */
+    private static String generationName(int generation) {
+        return String.format("gen-%06d", generation);
+    }
+
+    /**
+     * Hard-links an unchanged file into the new generation, copying it if links are not supported.
+     *
+     * @param source the file in the previous generation
+     * @param target the path in the new generation
+     * @throws IOException if the file can neither be linked nor copied
+     */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            force(target);
+        }
+    }
+
+    /**
+     * Forces the contents of a file or directory to the storage device.
+     * Directories cannot be opened for syncing on every platform, in which case this is a no-op.
+     *
+     * @param path the file or directory to sync
+     * @throws IOException if a regular file cannot be synced
+     */
+    private static void force(Path path) throws IOException {
+        boolean directory = Files.isDirectory(path);
+        try (FileChannel channel = FileChannel.open(path, directory ? StandardOpenOption.READ : StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            if (!directory) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Recursively deletes a directory if it exists.
+     *
+     * @param directory the directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+}
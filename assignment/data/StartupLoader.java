@@ -0,0 +1,221 @@
+package data;
+
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import entity.*;
+
+/**
+ * Orchestrates loading the data files at startup.
+ * The data files do not depend on each other while being parsed, so each one is read concurrently
+ * into its own thread-confined list. Only once every read has finished are the results merged into
+ * the data manager and linked together (internships to representatives, applications to students and
+ * internships), followed by journal replay. The activity logs file is skipped when the data manager
+ * keeps its activity logs in an {@link ActivityLogStore}. If the directory holds a {@link BinarySnapshot} that is
+ * at least as new as the text files, it is loaded instead of parsing the text files. The time spent
+ * in each phase is recorded so that slow startups can be diagnosed.
+ *
+ * @version 1.0
+ */
+public class StartupLoader {
+    private final int threadCount;
+    private final Map<String, Long> phaseTimings;
+
+    /**
+     * Constructs a StartupLoader that uses up to one thread per data file, limited by the available processors.
+     */
+    public StartupLoader() {
+        this(Math.min(DataFile.values().length, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructs a StartupLoader with the specified number of loader threads.
+     *
+     * @param threadCount the number of threads used to read data files, at least 1
+     */
+    public StartupLoader(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+        this.phaseTimings = new LinkedHashMap<>();
+    }
+
+    /**
+     * Loads every data file in the directory into the data manager, links the entities together,
+     * and then replays and opens the journal.
+     *
+     * @param dataManager the data manager to load into
+     * @param directory the directory holding the data files
+     * @param journalPath the path of the journal to replay and open
+     */
+    public void load(DataManager dataManager, String directory, String journalPath) {
+        phaseTimings.clear();
+        long start = System.nanoTime();
+
+        String snapshotPath = Paths.get(directory, BinarySnapshot.FILE_NAME).toString();
+        if (new BinarySnapshot(snapshotPath).isNewerThanTextFiles(directory)
+                && dataManager.loadBinarySnapshot(snapshotPath, pathOf(directory, DataFile.ACTIVITY_LOGS))) {
+            phaseTimings.put("read " + BinarySnapshot.FILE_NAME, toMillis(System.nanoTime() - start));
+        } else {
+            loadTextFiles(dataManager, directory);
+        }
+
+        long replayStart = System.nanoTime();
+        dataManager.openJournal(journalPath);
+        long end = System.nanoTime();
+        phaseTimings.put("journal replay", toMillis(end - replayStart));
+        phaseTimings.put("total", toMillis(end - start));
+    }
+
+    /**
+     * Reads the text data files concurrently, then merges and links the results.
+     *
+     * @param dataManager the data manager to load into
+     * @param directory the directory holding the data files
+     */
+    private void loadTextFiles(DataManager dataManager, String directory) {
+        long start = System.nanoTime();
+        Map<DataFile, Long> readTimings = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "startup-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        boolean readActivityLogs = !dataManager.hasActivityLogStore();
+        List<ActivityLog> activityLogs;
+        List<InternshipApplication> applications;
+        List<Student> students;
+        List<CareerCenterStaff> staff;
+        List<CompanyRepresentative> companyReps;
+        List<Internship> internships;
+        try {
+            // Largest files first so they start before the small ones occupy the threads.
+            Future<List<ActivityLog>> activityLogsFuture = readActivityLogs ? executor.submit(
+                    timed(DataFile.ACTIVITY_LOGS, readTimings, () -> dataManager.readActivityLogs(pathOf(directory, DataFile.ACTIVITY_LOGS)))) : null;
+            Future<List<InternshipApplication>> applicationsFuture = executor.submit(
+                    timed(DataFile.APPLICATIONS, readTimings, () -> dataManager.readApplications(pathOf(directory, DataFile.APPLICATIONS))));
+            Future<List<Student>> studentsFuture = executor.submit(
+                    timed(DataFile.STUDENTS, readTimings, () -> dataManager.readStudents(pathOf(directory, DataFile.STUDENTS))));
+            Future<List<Internship>> internshipsFuture = executor.submit(
+                    timed(DataFile.INTERNSHIPS, readTimings, () -> dataManager.readInternships(pathOf(directory, DataFile.INTERNSHIPS))));
+            Future<List<CompanyRepresentative>> companyRepsFuture = executor.submit(
+                    timed(DataFile.COMPANY_REPS, readTimings, () -> dataManager.readCompanyReps(pathOf(directory, DataFile.COMPANY_REPS))));
+            Future<List<CareerCenterStaff>> staffFuture = executor.submit(
+                    timed(DataFile.STAFF, readTimings, () -> dataManager.readStaff(pathOf(directory, DataFile.STAFF))));
+
+            students = await(studentsFuture);
+            staff = await(staffFuture);
+            companyReps = await(companyRepsFuture);
+            internships = await(internshipsFuture);
+            applications = await(applicationsFuture);
+            activityLogs = readActivityLogs ? await(activityLogsFuture) : null;
+        } finally {
+            executor.shutdownNow();
+        }
+        for (DataFile dataFile : DataFile.values()) {
+            if (readTimings.containsKey(dataFile)) {
+                phaseTimings.put("read " + dataFile.getFileName(), toMillis(readTimings.get(dataFile)));
+            }
+        }
+        long readEnd = System.nanoTime();
+        phaseTimings.put("read (wall)", toMillis(readEnd - start));
+
+        dataManager.mergeStudents(students);
+        dataManager.mergeStaff(staff);
+        dataManager.mergeCompanyReps(companyReps);
+        dataManager.mergeInternships(internships);
+        if (readActivityLogs) {
+            dataManager.mergeActivityLogs(activityLogs);
+            dataManager.attachActivityLogs(pathOf(directory, DataFile.ACTIVITY_LOGS));
+        }
+        long mergeEnd = System.nanoTime();
+        phaseTimings.put("merge", toMillis(mergeEnd - readEnd));
+
+        dataManager.linkInternshipsToReps();
+        dataManager.mergeApplications(applications);
+        phaseTimings.put("link", toMillis(System.nanoTime() - mergeEnd));
+    }
+
+    /**
+     * Returns the time spent in each phase of the last load, in milliseconds, in the order the phases ran.
+     *
+     * @return an unmodifiable map of phase names to durations
+     */
+    public Map<String, Long> getPhaseTimings() {
+        return Collections.unmodifiableMap(phaseTimings);
+    }
+
+    /**
+     * Prints the phase timings of the last load.
+     */
+    public void printTimings() {
+        System.out.println("Startup timings (" + threadCount + " loader threads):");
+        for (Map.Entry<String, Long> entry : phaseTimings.entrySet()) {
+            System.out.println(String.format("  %-22s %6d ms", entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Wraps a read so that its duration is recorded for the given data file.
+     *
+     * @param dataFile the data file being read
+     * @param timings the map receiving the duration in nanoseconds
+     * @param read the read to perform
+     * @param <T> the result type of the read
+     * @return the timed read
+     */
+    private static <T> Callable<T> timed(DataFile dataFile, Map<DataFile, Long> timings, Callable<T> read) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return read.call();
+            } finally {
+                timings.put(dataFile, System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+     * Waits for a read to finish and returns its result, rethrowing any unchecked failure on the calling thread.
+     *
+     * @param future the pending read
+     * @param <T> the result type of the read
+     * @return the result of the read
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading data", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Error loading data", cause);
+        }
+    }
+
+    /**
+     * Returns the path of a data file in the directory.
+     *
+     * @param directory the directory holding the data files
+     * @param dataFile the data file
+     * @return the path of the file as a string
+     */
+    private static String pathOf(String directory, DataFile dataFile) {
+        return Paths.get(directory, dataFile.getFileName()).toString();
+    }
+
+    /**
+     * Converts nanoseconds to whole milliseconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in milliseconds
+     */
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,247 @@
+package data;
+
+import java.io.*;
+
+/**
+ * Append-only write-ahead journal of entity-level change records.
+ * Each record is a single line of the form OPERATION|TYPE|fields, where the fields use the same
+ * pipe-separated layout as the corresponding data file. Records are appended as mutations happen
+ * and replayed on top of the last full snapshot at startup, so a single change costs one small
+ * append instead of a rewrite of every data file.
+ *
+ * @version 1.0
+ */
+public class WriteAheadJournal {
+    /** Operation code for an inserted or updated entity */
+    public static final String PUT = "PUT";
+    /** Operation code for a removed entity */
+    public static final String DELETE = "DEL";
+
+    private String filePath;
+    private FileOutputStream output;
+    private BufferedWriter writer;
+    private int recordCount;
+    private boolean autoFlush;
+
+    /**
+     * Callback used to apply journal records during replay.
+     */
+    public interface RecordHandler {
+        /**
+         * Applies a single journal record.
+         *
+         * @param operation the operation code (PUT or DEL)
+         * @param type the entity type of the record
+         * @param fields the pipe-separated fields of the record
+         */
+        void apply(String operation, String type, String[] fields);
+    }
+
+    /**
+     * Constructs a WriteAheadJournal backed by the specified file path.
+     *
+     * @param filePath the path of the journal file
+     */
+    public WriteAheadJournal(String filePath) {
+        this.filePath = filePath;
+        this.recordCount = 0;
+        this.autoFlush = true;
+    }
+
+    /**
+     * Replays every record in the journal file in the order it was written.
+     * A missing journal file is treated as an empty journal. Malformed records are skipped, and so is
+     * a last record without its line break, which a crash cut short while it was being written.
+     *
+     * @param handler the handler that applies each record
+     * @return the number of records replayed
+     */
+    public int replay(RecordHandler handler) {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int replayed = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+            boolean terminated = endsWithLineBreak(file);
+            String line = br.readLine();
+            while (line != null) {
+                String next = br.readLine();
+                if (next == null && !terminated) {
+                    System.out.println("Skipping incomplete journal record: " + line);
+                } else if (apply(line, handler)) {
+                    replayed++;
+                }
+                line = next;
+            }
+        } catch (IOException e) {
+            System.out.println("Error replaying journal: " + e.getMessage());
+        }
+        recordCount = replayed;
+        return replayed;
+    }
+
+    /**
+     * Applies a single journal line.
+     *
+     * @param line the line to apply
+     * @param handler the handler that applies the record
+     * @return true if the line held a record that was applied, false if it was blank or malformed
+     */
+    private static boolean apply(String line, RecordHandler handler) {
+        if (line.trim().isEmpty()) {
+            return false;
+        }
+        String[] header = line.split("\\|", 3);
+        if (header.length < 3) {
+            return false;
+        }
+        try {
+            handler.apply(header[0], header[1], header[2].split("\\|", -1));
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("Skipping malformed journal record: " + line);
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a file is empty or ends with a line break.
+     *
+     * @param file the file to check
+     * @return true if the last record in the file is complete
+     * @throws IOException if the file cannot be read
+     */
+    private static boolean endsWithLineBreak(File file) throws IOException {
+        if (file.length() == 0) {
+            return true;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(file.length() - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    /**
+     * Opens the journal for appending.
+     * If the last record was cut short by a crash, it is cut off first, so the next record starts
+     * on its own line and the incomplete one is never replayed.
+     */
+    public synchronized void open() {
+        try {
+            File file = new File(filePath);
+            if (!endsWithLineBreak(file)) {
+                truncateIncompleteRecord(file);
+            }
+            output = new FileOutputStream(filePath, true);
+            writer = new BufferedWriter(new OutputStreamWriter(output));
+        } catch (IOException e) {
+            System.out.println("Error opening journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Truncates a file after its last line break, or to nothing if it has none.
+     *
+     * @param file the file to truncate
+     * @throws IOException if the file cannot be read or truncated
+     */
+    private static void truncateIncompleteRecord(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long position = raf.length();
+            while (position > 0) {
+                raf.seek(position - 1);
+                if (raf.read() == '\n') {
+                    break;
+                }
+                position--;
+            }
+            raf.setLength(position);
+        }
+    }
+
+    /**
+     * Sets whether each appended record is flushed to the file immediately.
+     * When disabled, records stay buffered until {@link #sync()} is called, which allows
+     * several records to be committed together.
+     *
+     * @param autoFlush true to flush after every record, false to defer flushing to sync
+     */
+    public synchronized void setAutoFlush(boolean autoFlush) {
+        this.autoFlush = autoFlush;
+    }
+
+    /**
+     * Flushes all buffered records and forces them to the storage device.
+     */
+    public synchronized void sync() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+            output.getFD().sync();
+        } catch (IOException e) {
+            System.out.println("Error syncing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks if the journal is open for appending.
+     *
+     * @return true if the journal is open, false otherwise
+     */
+    public synchronized boolean isOpen() {
+        return writer != null;
+    }
+
+    /**
+     * Appends a single change record to the journal.
+     * The record is flushed to the file immediately unless auto-flush has been disabled.
+     *
+     * @param operation the operation code (PUT or DEL)
+     * @param type the entity type of the record
+     * @param record the pipe-separated fields of the record
+     */
+    public synchronized void append(String operation, String type, String record) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(operation + "|" + type + "|" + record);
+            writer.newLine();
+            if (autoFlush) {
+                writer.flush();
+            }
+            recordCount++;
+        } catch (IOException e) {
+            System.out.println("Error writing journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of records currently held in the journal.
+     *
+     * @return the record count
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Closes the journal file.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+        writer = null;
+        output = null;
+    }
+}
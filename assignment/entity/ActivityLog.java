@@ -42,6 +42,27 @@ public class ActivityLog {
         this.relatedEntity = relatedEntity;
     }
 
+    /**
+     * Constructs an ActivityLog entry from previously persisted values.
+     * Used when restoring entries from data files so that the original ID and timestamp are kept.
+     *
+     * @param activityID the unique identifier of the activity log entry
+     * @param userID the ID of the user who performed the activity
+     * @param userType the type of user (Student, Staff, or CompanyRepresentative)
+     * @param activityDescription the description of the activity performed
+     * @param timestamp the time when the activity was recorded
+     * @param relatedEntity the ID of the entity related to this activity
+     */
+    public ActivityLog(String activityID, String userID, String userType, String activityDescription,
+                       LocalDateTime timestamp, String relatedEntity) {
+        this.activityID = activityID;
+        this.userID = userID;
+        this.userType = userType;
+        this.activityDescription = activityDescription;
+        this.timestamp = timestamp;
+        this.relatedEntity = relatedEntity;
+    }
+
     /**
      * Returns the unique identifier of this activity log entry.
      *
@@ -86,7 +86,9 @@ public class CompanyRepresentative extends User {
      * @param approved true to approve, false to disapprove
      */
     public void setApproved(boolean approved) {
+        boolean oldApproved = this.approved;
         this.approved = approved;
+        notifyChange("approved", oldApproved, approved);
     }
 
     /**
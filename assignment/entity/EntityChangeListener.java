@@ -0,0 +1,19 @@
+package entity;
+
+/**
+ * Listener notified whenever a persisted property of an entity is modified through one of its setters.
+ * Used by the data layer to track which entities have changed since they were last saved.
+ *
+ * @version 1.0
+ */
+public interface EntityChangeListener {
+    /**
+     * Called after a property of an entity has changed.
+     *
+     * @param entity the entity that was modified
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    void entityChanged(Object entity, String property, Object oldValue, Object newValue);
+}
@@ -3,6 +3,7 @@ package entity;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents an internship position offered by a company.
@@ -41,6 +42,8 @@ public class Internship {
     private boolean visible;
     /** List of applications received for this internship */
     private List<InternshipApplication> applications;
+    /** Listener notified when a persisted property changes */
+    private EntityChangeListener changeListener;
 
     /**
      * Constructs a new Internship with the specified details.
@@ -99,7 +102,9 @@ public class Internship {
      * @param title the new title
      */
     public void setTitle(String title) {
+        String oldTitle = this.title;
         this.title = title;
+        notifyChange("title", oldTitle, title);
     }
 
     /**
@@ -117,7 +122,9 @@ public class Internship {
      * @param description the new description
      */
     public void setDescription(String description) {
+        String oldDescription = this.description;
         this.description = description;
+        notifyChange("description", oldDescription, description);
     }
 
     /**
@@ -135,7 +142,9 @@ public class Internship {
      * @param level the new level
      */
     public void setLevel(String level) {
+        String oldLevel = this.level;
         this.level = level;
+        notifyChange("level", oldLevel, level);
     }
 
     /**
@@ -153,7 +162,9 @@ public class Internship {
      * @param preferredMajor the new preferred major
      */
     public void setPreferredMajor(String preferredMajor) {
+        String oldPreferredMajor = this.preferredMajor;
         this.preferredMajor = preferredMajor;
+        notifyChange("preferredMajor", oldPreferredMajor, preferredMajor);
     }
 
     /**
@@ -171,7 +182,9 @@ public class Internship {
      * @param openingDate the new opening date
      */
     public void setOpeningDate(LocalDate openingDate) {
+        LocalDate oldOpeningDate = this.openingDate;
         this.openingDate = openingDate;
+        notifyChange("openingDate", oldOpeningDate, openingDate);
     }
 
     /**
@@ -189,7 +202,9 @@ public class Internship {
      * @param closingDate the new closing date
      */
     public void setClosingDate(LocalDate closingDate) {
+        LocalDate oldClosingDate = this.closingDate;
         this.closingDate = closingDate;
+        notifyChange("closingDate", oldClosingDate, closingDate);
     }
 
     /**
@@ -198,7 +213,9 @@ public class Internship {
      * @param numSlots the new number of slots
      */
     public void setNumSlots(int numSlots) {
+        int oldNumSlots = this.numSlots;
         this.numSlots = numSlots;
+        notifyChange("numSlots", oldNumSlots, numSlots);
     }
 
     /**
@@ -216,7 +233,9 @@ public class Internship {
      * @param status the new status
      */
     public void setStatus(String status) {
+        String oldStatus = this.status;
         this.status = status;
+        notifyChange("status", oldStatus, status);
     }
 
     /**
@@ -261,7 +280,9 @@ public class Internship {
      * @param filledSlots the new number of filled slots
      */
     public void setFilledSlots(int filledSlots) {
+        int oldFilledSlots = this.filledSlots;
         this.filledSlots = filledSlots;
+        notifyChange("filledSlots", oldFilledSlots, filledSlots);
     }
 
     /**
@@ -279,7 +300,32 @@ public class Internship {
      * @param visible true to make visible, false to hide
      */
     public void setVisible(boolean visible) {
+        boolean oldVisible = this.visible;
         this.visible = visible;
+        notifyChange("visible", oldVisible, visible);
+    }
+
+    /**
+     * Registers the listener to be notified when a persisted property of this internship changes.
+     *
+     * @param listener the listener to notify, or null to stop notifications
+     */
+    public void setChangeListener(EntityChangeListener listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Notifies the registered listener that a property has changed.
+     * No notification is sent if the value did not actually change.
+     *
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    private void notifyChange(String property, Object oldValue, Object newValue) {
+        if (changeListener != null && !Objects.equals(oldValue, newValue)) {
+            changeListener.entityChanged(this, property, oldValue, newValue);
+        }
     }
 
     /**
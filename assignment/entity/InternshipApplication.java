@@ -1,5 +1,7 @@
 package entity;
 
+import java.util.Objects;
+
 /**
  * Represents a student's application for an internship position.
  * Tracks the application status, withdrawal requests, and confirmation status.
@@ -23,6 +25,8 @@ public class InternshipApplication {
     private String withdrawalReason;
     /** Whether the student has confirmed acceptance of this internship */
     private boolean confirmed;
+    /** Listener notified when a persisted property changes */
+    private EntityChangeListener changeListener;
 
     /**
      * Constructs a new InternshipApplication with the specified IDs.
@@ -84,7 +88,9 @@ public class InternshipApplication {
      * @param status the new status
      */
     public void setStatus(String status) {
+        String oldStatus = this.status;
         this.status = status;
+        notifyChange("status", oldStatus, status);
     }
 
     /**
@@ -102,16 +108,37 @@ public class InternshipApplication {
      * @param reason the reason for withdrawal
      */
     public void requestWithdrawal(String reason) {
+        boolean oldRequested = this.withdrawalRequested;
+        String oldReason = this.withdrawalReason;
         this.withdrawalRequested = true;
         this.withdrawalReason = reason;
+        notifyWithdrawalChange(oldRequested, oldReason);
     }
 
     /**
      * Cancels a withdrawal request for this application.
      */
     public void cancelWithdrawalRequest() {
+        boolean oldRequested = this.withdrawalRequested;
+        String oldReason = this.withdrawalReason;
         this.withdrawalRequested = false;
         this.withdrawalReason = null;
+        notifyWithdrawalChange(oldRequested, oldReason);
+    }
+
+    /**
+     * Notifies the registered listener once after a withdrawal request has been made or cancelled,
+     * so that the new request flag and reason are recorded together.
+     *
+     * @param oldRequested the request flag before the change
+     * @param oldReason the reason before the change
+     */
+    private void notifyWithdrawalChange(boolean oldRequested, String oldReason) {
+        if (oldRequested != withdrawalRequested) {
+            notifyChange("withdrawalRequested", oldRequested, withdrawalRequested);
+        } else {
+            notifyChange("withdrawalReason", oldReason, withdrawalReason);
+        }
     }
 
     /**
@@ -138,7 +165,32 @@ public class InternshipApplication {
      * @param confirmed true if the student confirms acceptance, false otherwise
      */
     public void setConfirmed(boolean confirmed) {
+        boolean oldConfirmed = this.confirmed;
         this.confirmed = confirmed;
+        notifyChange("confirmed", oldConfirmed, confirmed);
+    }
+
+    /**
+     * Registers the listener to be notified when a persisted property of this application changes.
+     *
+     * @param listener the listener to notify, or null to stop notifications
+     */
+    public void setChangeListener(EntityChangeListener listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Notifies the registered listener that a property has changed.
+     * No notification is sent if the value did not actually change.
+     *
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    private void notifyChange(String property, Object oldValue, Object newValue) {
+        if (changeListener != null && !Objects.equals(oldValue, newValue)) {
+            changeListener.entityChanged(this, property, oldValue, newValue);
+        }
     }
 
     /**
@@ -110,6 +110,7 @@ public class Student extends User {
 
     /**
      * Sets the internship that this student has accepted.
+     * The accepted internship is not saved with the student, so the change listener is not notified.
      *
      * @param internshipID the ID of the accepted internship
      */
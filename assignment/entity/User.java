@@ -1,5 +1,7 @@
 package entity;
 
+import java.util.Objects;
+
 /**
  * Abstract base class representing a user in the internship management system.
  * All user types (Student, CareerCenterStaff, CompanyRepresentative) extend this class.
@@ -14,6 +16,8 @@ public abstract class User {
     protected String name;
     /** Password for user authentication */
     protected String password;
+    /** Listener notified when a persisted property changes */
+    protected EntityChangeListener changeListener;
 
     /**
      * Constructs a new User with the specified ID, name, and password.
@@ -61,7 +65,32 @@ public abstract class User {
      * @param newPassword the new password to set
      */
     public void setPassword(String newPassword) {
+        String oldPassword = this.password;
         this.password = newPassword;
+        notifyChange("password", oldPassword, newPassword);
+    }
+
+    /**
+     * Registers the listener to be notified when a persisted property of this user changes.
+     *
+     * @param listener the listener to notify, or null to stop notifications
+     */
+    public void setChangeListener(EntityChangeListener listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * Notifies the registered listener that a property has changed.
+     * No notification is sent if the value did not actually change.
+     *
+     * @param property the name of the modified property
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    protected void notifyChange(String property, Object oldValue, Object newValue) {
+        if (changeListener != null && !Objects.equals(oldValue, newValue)) {
+            changeListener.entityChanged(this, property, oldValue, newValue);
+        }
     }
 
     /**
@@ -0,0 +1,150 @@
+package control;
+
+import static data.Checks.*;
+
+import data.DataManager;
+import entity.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the plans chosen by the {@link QueryPlanner} return the same internships as a full scan
+ * testing every condition, in the order and within the limit the query asks for. Random queries are run
+ * against a small and a large catalog, so that each access path wins for some of them, and with both
+ * sequential and parallel filtering of the candidates. The internships are modified between rounds, so
+ * the index counts the planner relies on change as well.
+ *
+ * @version 1.0
+ */
+public class QueryPlannerCheck {
+    private static final String[] COMPANIES = {"Company 1", "Company 2", "Company 3", "Company 4", "Company 5"};
+    private static final String[] ACCESS_PATHS = {"status index", "preferred_major index", "company_name index",
+        "bitmap intersection", "closing date index", "opening date index", "title index walk", "full scan"};
+    private static final int QUERIES_PER_ROUND = 300;
+
+    /**
+     * Runs the check.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Random random = new Random(24);
+        Set<String> chosen = new TreeSet<>();
+        for (int size : new int[] {40, 3000}) {
+            DataManager dataManager = new DataManager();
+            for (int id = 1; id <= size; id++) {
+                dataManager.addInternship(newInternship(random, id));
+            }
+            QueryPlanner planner = new QueryPlanner(dataManager);
+            for (int round = 1; round <= 4; round++) {
+                dataManager.setParallelScanThreshold(round % 2 == 0 ? 1 : Integer.MAX_VALUE);
+                for (int query = 0; query < QUERIES_PER_ROUND; query++) {
+                    chosen.add(runQuery(dataManager, planner, random, size + " internships, round " + round));
+                }
+                modify(dataManager, random, size / 5);
+            }
+            dataManager.shutdownScanPool();
+        }
+        for (String path : ACCESS_PATHS) {
+            check(chosen.contains(path), "some query is planned with the " + path + " (chose " + chosen + ")");
+        }
+        done("QueryPlannerCheck");
+    }
+
+    /**
+     * Plans and executes a random query and compares its results with a full scan.
+     *
+     * @param dataManager the data manager holding the internships
+     * @param planner the planner
+     * @param random the source of the query
+     * @param round the description of the round
+     * @return the access path the plan used
+     */
+    private static String runQuery(DataManager dataManager, QueryPlanner planner, Random random, String round) {
+        String status = random.nextInt(3) == 0 ? pick(random, STATUSES) : null;
+        String major = random.nextInt(3) == 0 ? pick(random, MAJORS) : null;
+        String level = random.nextInt(3) == 0 ? pick(random, LEVELS) : null;
+        String company = random.nextInt(4) == 0 ? pick(random, COMPANIES) : null;
+        Boolean visible = random.nextInt(3) == 0 ? Boolean.valueOf(random.nextBoolean()) : null;
+        LocalDate today = LocalDate.now();
+        LocalDate openingFrom = random.nextInt(4) == 0 ? today.minusDays(random.nextInt(40)) : null;
+        LocalDate openingTo = openingFrom != null && random.nextBoolean() ? openingFrom.plusDays(random.nextInt(5)) : null;
+        LocalDate closingFrom = random.nextInt(5) == 0 ? today.plusDays(random.nextInt(60)) : null;
+        LocalDate closingTo = random.nextInt(3) == 0 ? today.plusDays(random.nextInt(60)) : null;
+        boolean freeSlots = random.nextInt(4) == 0;
+        boolean custom = random.nextInt(6) == 0;
+        InternshipQuery.Order order = InternshipQuery.Order.values()[random.nextInt(3)];
+        int limit = random.nextBoolean() ? 1 + random.nextInt(20) : Integer.MAX_VALUE;
+
+        InternshipQuery query = new InternshipQuery().status(status).preferredMajor(major).level(level)
+                .companyName(company).visible(visible).openingBetween(openingFrom, openingTo)
+                .closingBetween(closingFrom, closingTo).orderBy(order).limit(limit);
+        if (freeSlots) {
+            query.withFreeSlots();
+        }
+        if (custom) {
+            query.where("title starts with D", internship -> internship.getTitle().startsWith("D"));
+        }
+        Predicate<Internship> filter = i -> (status == null || i.getStatus().equals(status))
+                && (major == null || i.getPreferredMajor().equals(major))
+                && (level == null || i.getLevel().equals(level))
+                && (company == null || i.getCompanyName().equals(company))
+                && (visible == null || i.isVisible() == visible)
+                && (openingFrom == null || !i.getOpeningDate().isBefore(openingFrom))
+                && (openingTo == null || !i.getOpeningDate().isAfter(openingTo))
+                && (closingFrom == null || !i.getClosingDate().isBefore(closingFrom))
+                && (closingTo == null || !i.getClosingDate().isAfter(closingTo))
+                && (!freeSlots || !i.isFull())
+                && (!custom || i.getTitle().startsWith("D"));
+
+        QueryPlan plan = planner.plan(query);
+        String explained = plan.explain();
+        String access = explained.substring(explained.indexOf("Access: ") + 8, explained.indexOf(" (est."));
+        String description = round + ": " + query + " using " + access;
+        List<Internship> actual = plan.execute();
+        List<Internship> expected = dataManager.getAllInternships().stream().filter(filter).collect(Collectors.toList());
+
+        checkEquals(Math.min(limit, expected.size()), actual.size(), "number of results of " + description);
+        checkEquals(actual.size(), new HashSet<>(actual).size(), "no duplicate results of " + description);
+        check(actual.stream().allMatch(filter), "every result matches " + description);
+        switch (order) {
+            case TITLE:
+                checkEquals(ids(inTitleOrder(expected, limit)), ids(actual), "title order of " + description);
+                break;
+            case CLOSING_DATE:
+                checkEquals(ids(inDateOrder(expected, Internship::getClosingDate, limit)), ids(actual),
+                        "closing date order of " + description);
+                break;
+            default:
+                break;
+        }
+        return access.startsWith("bitmap intersection") ? "bitmap intersection" : access;
+    }
+
+    /**
+     * Changes the planned attributes of random internships and adds and removes some.
+     *
+     * @param dataManager the data manager holding the internships
+     * @param random the source of the changes
+     * @param changes the number of changes
+     */
+    private static void modify(DataManager dataManager, Random random, int changes) {
+        List<Internship> all = new ArrayList<>(dataManager.getAllInternships());
+        all.sort(Comparator.comparing(Internship::getInternshipID));
+        int nextID = all.size() * 2;
+        for (int change = 0; change < changes; change++) {
+            Internship internship = all.get(random.nextInt(all.size()));
+            switch (random.nextInt(7)) {
+                case 0: internship.setStatus(pick(random, STATUSES)); break;
+                case 1: internship.setLevel(pick(random, LEVELS)); break;
+                case 2: internship.setPreferredMajor(pick(random, MAJORS)); break;
+                case 3: internship.setClosingDate(LocalDate.now().plusDays(random.nextInt(60))); break;
+                case 4: internship.setTitle(newTitle(random, internship.getInternshipID())); break;
+                case 5: dataManager.removeInternship(internship.getInternshipID()); break;
+                default: dataManager.addInternship(newInternship(random, nextID++)); break;
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package data;
+
+import static data.Checks.*;
+
+import entity.ActivityLog;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Checks that activity logs written to an {@link ActivityLogStore} read back unchanged after the store
+ * is reopened from its index: in full, by time range and user, after lazy opening, after a write that
+ * went past the indexed length of a segment, after importing a plain activity logs file, and after
+ * closed segments are replaced by compressed {@link ActivityLogArchive} files. Small segments are used
+ * so that the logs span many segments, rotated both by size and by day.
+ *
+ * @version 1.0
+ */
+public class ActivityLogStoreCheck {
+    private static final long SEGMENT_BYTES = 4096;
+    private static final String[] USERS = {"staff1", "rep1@company.com", "U0000001A", "U0000002A", "U0000003A"};
+    private static final String[] ACTIVITIES = {"Applied for internship", "Approved application",
+        "Requested withdrawal for application", "Changed password", "Approved internship"};
+
+    /**
+     * Runs the check.
+     *
+     * @param args not used
+     * @throws IOException if the temporary directory cannot be used
+     */
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(10);
+        Path directory = Files.createTempDirectory("activity-log-check");
+        try {
+            roundTripsSegments(directory.resolve("segments"), random);
+            ignoresBytesPastIndex(directory.resolve("torn"), random);
+            roundTripsImportedFile(directory.resolve("import"), random);
+            roundTripsArchive(directory.resolve("archive.arc"), random);
+            roundTripsArchivedSegments(directory.resolve("archived"), random);
+        } finally {
+            delete(directory);
+        }
+        done("ActivityLogStoreCheck");
+    }
+
+    /**
+     * Appends activity logs over several days in batches, and checks that a store reopened from the
+     * index, eagerly or lazily, holds the same logs and answers time range queries like a scan.
+     *
+     * @param directory the segment directory
+     * @param random the source of the activity logs
+     * @throws IOException if the store cannot be written or read
+     */
+    private static void roundTripsSegments(Path directory, Random random) throws IOException {
+        List<ActivityLog> logs = newLogs(random, 600, LocalDateTime.of(2025, 3, 1, 8, 0, 0, 123456789));
+        ActivityLogStore store = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        store.open(null);
+        for (int i = 0; i < logs.size(); i++) {
+            store.append(logs.get(i));
+            if (i % 97 == 0) {
+                store.flush();
+            }
+        }
+        checkEquals(logs.size(), store.size(), "size before the last flush");
+        check(store.hasPending(), "logs are pending before the last flush");
+        store.flush();
+        check(store.getSegmentCount() > 5, "logs span several segments (" + store.getSegmentCount() + ")");
+        checkEquals(records(logs), records(store), "logs before reopening");
+        String index = directory.resolve(ActivityLogStore.INDEX_FILE).toString();
+        store.writeIndex(index);
+
+        ActivityLogStore reopened = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        reopened.open(index);
+        checkEquals(store.getSegmentCount(), reopened.getSegmentCount(), "segments after reopening");
+        checkEquals(logs.size(), reopened.size(), "size after reopening");
+        checkEquals(records(logs), records(reopened), "logs after reopening");
+        checkQueries(logs, reopened, random, "reopened store");
+
+        ActivityLogStore lazy = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        lazy.openLazily(index);
+        check(!lazy.isLoaded(), "lazily opened store is not loaded yet");
+        ActivityLog late = new ActivityLog("late", "staff1", "CareerCenterStaff", "Approved internship",
+                logs.get(logs.size() - 1).getTimestamp().plusMinutes(1), "INT1");
+        lazy.append(late);
+        lazy.startLoading();
+        lazy.flush();
+        check(lazy.isLoaded(), "lazily opened store is loaded after a flush");
+        List<ActivityLog> withLate = new ArrayList<>(logs);
+        withLate.add(late);
+        checkEquals(records(withLate), records(lazy), "logs of a lazily opened store with a log appended while loading");
+        lazy.writeIndex(index);
+
+        ActivityLogStore again = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        again.open(index);
+        checkEquals(records(withLate), records(again), "logs after reopening the lazily opened store");
+        checkQueries(withLate, again, random, "store reopened after lazy loading");
+    }
+
+    /**
+     * Flushes logs that are never listed in an index, as a crash before the index was written would leave,
+     * and adds bytes past them, then checks that a store reopened from the index ignores both and
+     * overwrites them with the next flush.
+     *
+     * @param directory the segment directory
+     * @param random the source of the activity logs
+     * @throws IOException if the store cannot be written or read
+     */
+    private static void ignoresBytesPastIndex(Path directory, Random random) throws IOException {
+        List<ActivityLog> logs = newLogs(random, 150, LocalDateTime.of(2025, 4, 1, 9, 30));
+        String index = directory.resolve(ActivityLogStore.INDEX_FILE).toString();
+        ActivityLogStore store = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        store.open(null);
+        List<ActivityLog> indexed = logs.subList(0, 100);
+        indexed.forEach(store::append);
+        store.flush();
+        store.writeIndex(index);
+        logs.subList(100, 130).forEach(store::append);
+        store.flush();
+        Files.write(lastSegment(directory), "LOG-torn|staff1|CareerCenterStaff|Approv".getBytes(Charset.defaultCharset()),
+                StandardOpenOption.APPEND);
+
+        ActivityLogStore restarted = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        restarted.open(index);
+        checkEquals(records(indexed), records(restarted), "logs after restarting from the index");
+        List<ActivityLog> after = logs.subList(130, 150);
+        after.forEach(restarted::append);
+        restarted.flush();
+        restarted.writeIndex(index);
+
+        List<ActivityLog> expected = new ArrayList<>(indexed);
+        expected.addAll(after);
+        ActivityLogStore again = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        again.open(index);
+        checkEquals(records(expected), records(again), "logs flushed after the restart replace the unindexed bytes");
+        checkQueries(expected, again, random, "store restarted from the index");
+    }
+
+    /**
+     * Imports a plain activity logs data file and checks that the store holds the same logs.
+     *
+     * @param directory the segment directory
+     * @param random the source of the activity logs
+     * @throws IOException if the file cannot be written or the store cannot be written or read
+     */
+    private static void roundTripsImportedFile(Path directory, Random random) throws IOException {
+        List<ActivityLog> logs = newLogs(random, 300, LocalDateTime.of(2025, 5, 10, 7, 0));
+        Files.createDirectories(directory);
+        Path file = directory.getParent().resolve("activitylogs.txt");
+        try (Writer writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+            for (ActivityLog log : logs) {
+                writer.write(ActivityLogSink.format(log));
+                writer.write(System.lineSeparator());
+            }
+        }
+        ActivityLogStore store = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        store.open(null);
+        store.importFile(file.toString());
+        String index = directory.resolve(ActivityLogStore.INDEX_FILE).toString();
+        store.writeIndex(index);
+
+        ActivityLogStore reopened = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        reopened.open(index);
+        checkEquals(records(logs), records(reopened), "logs imported from a plain file");
+        checkQueries(logs, reopened, random, "store imported from a plain file");
+    }
+
+    /**
+     * Writes an archive of several blocks and checks its trailer, that it reads back unchanged in full and
+     * by time range, and that a damaged block is reported instead of read.
+     *
+     * @param file the archive file
+     * @param random the source of the activity logs
+     * @throws IOException if the archive cannot be written or read
+     */
+    private static void roundTripsArchive(Path file, Random random) throws IOException {
+        List<ActivityLog> logs = newLogs(random, 3000, LocalDateTime.of(2025, 6, 1, 8, 0));
+        long size = ActivityLogArchive.write(logs.iterator(), file.toString());
+        checkEquals(size, Files.size(file), "archive size");
+
+        ActivityLogArchive archive = new ActivityLogArchive(file.toString());
+        checkEquals(logs.size(), archive.getCount(), "archive entry count");
+        checkEquals(logs.get(0).getTimestamp(), archive.getMinTimestamp(), "archive earliest timestamp");
+        checkEquals(logs.get(logs.size() - 1).getTimestamp(), archive.getMaxTimestamp(), "archive latest timestamp");
+        check(archive.getBlockCount() > 2, "archive has several blocks (" + archive.getBlockCount() + ")");
+        checkEquals(records(logs), records(archive.read(null, null)), "archive read in full");
+
+        LocalDateTime first = logs.get(0).getTimestamp();
+        long span = Duration.between(first, archive.getMaxTimestamp()).getSeconds();
+        for (int query = 0; query < 20; query++) {
+            LocalDateTime from = first.plusSeconds((long) (random.nextDouble() * span));
+            LocalDateTime to = from.plusSeconds((long) (random.nextDouble() * span / 10));
+            List<String> read = records(archive.read(from, to));
+            List<String> inRange = records(logs.stream()
+                    .filter(log -> !log.getTimestamp().isBefore(from) && !log.getTimestamp().isAfter(to))
+                    .collect(Collectors.toList()));
+            check(read.containsAll(inRange), "archive read from " + from + " to " + to + " holds every log in range");
+            check(read.size() < logs.size(), "archive read from " + from + " to " + to + " skips blocks");
+            List<String> all = records(logs);
+            int start = all.indexOf(read.get(0));
+            checkEquals(all.subList(start, start + read.size()), read,
+                    "archive read from " + from + " to " + to + " returns whole blocks in order");
+        }
+
+        Path emptyFile = file.resolveSibling("empty.arc");
+        ActivityLogArchive.write(Collections.emptyIterator(), emptyFile.toString());
+        ActivityLogArchive empty = new ActivityLogArchive(emptyFile.toString());
+        checkEquals(0, empty.getCount(), "empty archive entry count");
+        checkEquals(null, empty.getMinTimestamp(), "empty archive earliest timestamp");
+        checkEquals(0, empty.read(null, null).size(), "empty archive read");
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[100] ^= 0x55;
+        Files.write(file, bytes);
+        boolean reported = false;
+        try {
+            new ActivityLogArchive(file.toString()).read(null, null);
+        } catch (IOException e) {
+            reported = true;
+        }
+        check(reported, "a damaged block is reported");
+    }
+
+    /**
+     * Replaces the closed segments of a store with archives, and checks that the store holds the same logs
+     * before and after reopening, after more logs are appended and archived, and after compacting the
+     * archives back into text segments and removing the files no longer referenced.
+     *
+     * @param directory the segment directory
+     * @param random the source of the activity logs
+     * @throws IOException if the store cannot be written or read
+     */
+    private static void roundTripsArchivedSegments(Path directory, Random random) throws IOException {
+        List<ActivityLog> logs = newLogs(random, 700, LocalDateTime.of(2025, 7, 1, 8, 0));
+        String index = directory.resolve(ActivityLogStore.INDEX_FILE).toString();
+        ActivityLogStore store = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        store.open(null);
+        List<ActivityLog> before = logs.subList(0, 400);
+        before.forEach(store::append);
+        store.flush();
+        int segments = store.getSegmentCount();
+        int archived = store.archiveClosedSegments();
+        check(archived > 0 && archived < segments, "closed segments are archived (" + archived + " of " + segments + ")");
+        checkEquals(0, store.archiveClosedSegments(), "archived segments are not archived again");
+        checkEquals(records(before), records(store), "logs after archiving");
+        store.writeIndex(index);
+        check(archiveCount(directory) == archived, "archive files are written");
+
+        ActivityLogStore reopened = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        reopened.open(index);
+        checkEquals(before.size(), reopened.size(), "size of a reopened store with archives");
+        checkEquals(records(before), records(reopened), "logs of a reopened store with archives");
+        checkQueries(before, reopened, random, "reopened store with archives");
+        logs.subList(400, 700).forEach(reopened::append);
+        reopened.flush();
+        check(reopened.archiveClosedSegments() > 0, "segments closed after reopening are archived");
+        reopened.writeIndex(index);
+
+        ActivityLogStore again = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        again.open(index);
+        checkEquals(records(logs), records(again), "logs after archiving segments closed after reopening");
+        checkQueries(logs, again, random, "store with archives written in two sessions");
+
+        again.compact();
+        again.writeIndex(index);
+        again.deleteUnreferencedSegments(Collections.emptySet());
+        checkEquals(0L, archiveCount(directory), "compacting replaces the archives");
+        ActivityLogStore compacted = new ActivityLogStore(directory.toString(), SEGMENT_BYTES);
+        compacted.open(index);
+        checkEquals(records(logs), records(compacted), "logs after compacting archives");
+        checkQueries(logs, compacted, random, "compacted store");
+    }
+
+    /**
+     * Compares time range and user queries of a store with a scan of the logs written to it.
+     *
+     * @param logs the logs written to the store, in order
+     * @param store the store
+     * @param random the source of the ranges
+     * @param description what is queried
+     */
+    static void checkQueries(List<ActivityLog> logs, ActivityLogStore store, Random random, String description) {
+        LocalDateTime first = logs.get(0).getTimestamp();
+        long span = Duration.between(first, logs.get(logs.size() - 1).getTimestamp()).getSeconds() + 1;
+        for (int query = 0; query < 25; query++) {
+            String userID = random.nextBoolean() ? USERS[random.nextInt(USERS.length)] : null;
+            LocalDateTime from = random.nextInt(4) == 0 ? null : first.plusSeconds((long) (random.nextDouble() * span));
+            LocalDateTime to = random.nextInt(4) == 0 ? null
+                    : (from != null ? from : first).plusSeconds((long) (random.nextDouble() * span / 3));
+            List<ActivityLog> expected = logs.stream()
+                    .filter(log -> userID == null || userID.equals(log.getUserID()))
+                    .filter(log -> from == null || !log.getTimestamp().isBefore(from))
+                    .filter(log -> to == null || !log.getTimestamp().isAfter(to))
+                    .collect(Collectors.toList());
+            checkEquals(records(expected), records(store.query(userID, from, to)),
+                    description + ": logs of " + userID + " from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Creates activity logs with increasing timestamps, a few minutes to a few hours apart, so that they
+     * span several days.
+     *
+     * @param random the source of the activity logs
+     * @param count the number of activity logs
+     * @param start the timestamp of the first activity log
+     * @return the activity logs in timestamp order
+     */
+    static List<ActivityLog> newLogs(Random random, int count, LocalDateTime start) {
+        List<ActivityLog> logs = new ArrayList<>();
+        LocalDateTime timestamp = start;
+        for (int i = 0; i < count; i++) {
+            String userID = USERS[random.nextInt(USERS.length)];
+            String userType = userID.startsWith("U") ? "Student" : userID.startsWith("rep") ? "CompanyRepresentative"
+                    : "CareerCenterStaff";
+            logs.add(new ActivityLog("LOG" + start.toLocalDate() + "-" + i, userID, userType,
+                    ACTIVITIES[random.nextInt(ACTIVITIES.length)], timestamp, "INT" + random.nextInt(50)));
+            timestamp = timestamp.plusSeconds(60 + random.nextInt(3 * 3600)).plusNanos(random.nextInt(1000000));
+        }
+        return logs;
+    }
+
+    /**
+     * Returns activity logs in their data file format, in order.
+     *
+     * @param logs the activity logs
+     * @return the formatted records
+     */
+    static List<String> records(Iterable<ActivityLog> logs) {
+        List<String> records = new ArrayList<>();
+        for (ActivityLog log : logs) {
+            records.add(ActivityLogSink.format(log));
+        }
+        return records;
+    }
+
+    /**
+     * Counts the archive files in a segment directory.
+     *
+     * @param directory the segment directory
+     * @return the number of archive files
+     * @throws IOException if the directory cannot be listed
+     */
+    private static long archiveCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".arc")).count();
+        }
+    }
+
+    /**
+     * Returns the text segment file with the highest number in a segment directory.
+     *
+     * @param directory the segment directory
+     * @return the last text segment
+     * @throws IOException if the directory cannot be listed
+     */
+    private static Path lastSegment(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".txt"))
+                    .max(Comparator.comparing(file -> file.getFileName().toString())).get();
+        }
+    }
+}
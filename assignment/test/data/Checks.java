@@ -0,0 +1,280 @@
+package data;
+
+import entity.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shared support for the runnable checks under the test source root.
+ * Each check is a class with a main method that throws an {@link AssertionError} on the first failed
+ * expectation, so the JVM exits with a non-zero status. Run them all with {@code test/run-checks.sh}.
+ *
+ * @version 1.0
+ */
+public final class Checks {
+    /** Majors used by generated students and internships */
+    public static final String[] MAJORS = {"CSC", "EEE", "MAE", "BIZ"};
+    /** Levels used by generated internships */
+    public static final String[] LEVELS = {"Basic", "Intermediate", "Advanced"};
+    /** Statuses used by generated internships */
+    public static final String[] STATUSES = {"Pending", "Approved", "Rejected", "Filled"};
+    /** Words the titles and descriptions of generated internships are made of */
+    public static final String[] TITLE_WORDS = {"Data", "Cloud", "Intern", "Software", "Analyst", "Design", "Robotics"};
+
+    private static int passed;
+
+    /**
+     * Prevents instantiation.
+     */
+    private Checks() {
+    }
+
+    /**
+     * Fails the running check unless a condition holds.
+     *
+     * @param condition the expectation
+     * @param description what was expected, shown if it does not hold
+     */
+    public static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new AssertionError(description);
+        }
+        passed++;
+    }
+
+    /**
+     * Fails the running check unless two values are equal.
+     *
+     * @param expected the expected value
+     * @param actual the actual value
+     * @param description what was compared, shown if the values differ
+     */
+    public static void checkEquals(Object expected, Object actual, String description) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(description + ": expected <" + expected + "> but was <" + actual + ">");
+        }
+        passed++;
+    }
+
+    /**
+     * Prints the number of expectations that held.
+     *
+     * @param name the name of the check
+     */
+    public static void done(String name) {
+        System.out.println(name + ": " + passed + " checks passed");
+    }
+
+    /**
+     * Writes a generated data set as plain data files into a new temporary directory, as a starting point
+     * for a {@link SnapshotStore}. Every internship opened yesterday and closes in a month; most are
+     * approved and visible. Representatives are approved, and no applications or activity logs exist yet.
+     *
+     * @param students the number of students
+     * @param internships the number of internships
+     * @param seed the seed for the generated values
+     * @return the directory holding the data files
+     * @throws IOException if the files cannot be written
+     */
+    public static Path newDataDirectory(int students, int internships, long seed) throws IOException {
+        Random random = new Random(seed);
+        DataManager dataManager = new DataManager();
+        dataManager.addUser(new CareerCenterStaff("staff1", "Staff One", "password", "Career Office", "staff1@ntu.edu.sg"));
+        for (int i = 1; i <= 5; i++) {
+            CompanyRepresentative rep = new CompanyRepresentative("rep" + i + "@company.com", "Rep " + i, "password",
+                    "Company " + i, "HR", "Recruiter");
+            rep.setApproved(true);
+            dataManager.addUser(rep);
+        }
+        for (int i = 1; i <= students; i++) {
+            dataManager.addUser(new Student(String.format("U%07dA", i), "Student " + i, "password",
+                    1 + random.nextInt(4), MAJORS[random.nextInt(MAJORS.length)], "s" + i + "@e.ntu.edu.sg"));
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 1; i <= internships; i++) {
+            int rep = 1 + random.nextInt(5);
+            Internship internship = new Internship("INT" + i, "Intern " + (char) ('A' + random.nextInt(26)) + i,
+                    "Description " + i, LEVELS[random.nextInt(LEVELS.length)], MAJORS[random.nextInt(MAJORS.length)],
+                    today.minusDays(1), today.plusDays(30), "Company " + rep, "rep" + rep + "@company.com",
+                    1 + random.nextInt(3));
+            internship.setStatus(random.nextInt(5) == 0 ? "Pending" : "Approved");
+            internship.setVisible(random.nextInt(6) != 0);
+            dataManager.addInternship(internship);
+        }
+
+        Path directory = Files.createTempDirectory("internship-check");
+        for (DataFile dataFile : DataFile.values()) {
+            Path path = directory.resolve(dataFile.getFileName());
+            if (dataFile == DataFile.ACTIVITY_LOGS) {
+                Files.createFile(path);
+            } else {
+                check(dataManager.save(dataFile, path.toString()), "generated " + dataFile.getFileName() + " is written");
+            }
+        }
+        return directory;
+    }
+
+    /**
+     * Creates an internship with random attributes for checks that compare indexes with a scan.
+     * Company 1 and the Approved status are more common than the others, so that attribute indexes differ
+     * in selectivity. Opening dates lie in the last 40 days and closing dates between 10 days ago and
+     * two months ahead; some internships are hidden and some are full.
+     *
+     * @param random the source of the attributes
+     * @param id the number of the internship, which becomes its ID
+     * @return the new internship
+     */
+    public static Internship newInternship(Random random, int id) {
+        String internshipID = "INT" + id;
+        int rep = random.nextBoolean() ? 1 : 1 + random.nextInt(5);
+        LocalDate today = LocalDate.now();
+        Internship internship = new Internship(internshipID, newTitle(random, internshipID),
+                pick(random, TITLE_WORDS) + " work", pick(random, LEVELS), pick(random, MAJORS),
+                today.minusDays(random.nextInt(40)), today.plusDays(random.nextInt(70) - 10), "Company " + rep,
+                "rep" + rep + "@company.com", 1 + random.nextInt(3));
+        internship.setStatus(random.nextBoolean() ? "Approved" : pick(random, STATUSES));
+        internship.setFilledSlots(random.nextInt(internship.getNumSlots() + 1));
+        internship.setVisible(random.nextInt(4) != 0);
+        return internship;
+    }
+
+    /**
+     * Creates a title of two random words. Titles repeat often, so ties in title order are exercised.
+     *
+     * @param random the source of the words
+     * @param internshipID the ID of the internship, added to some titles
+     * @return the title
+     */
+    public static String newTitle(Random random, String internshipID) {
+        String title = pick(random, TITLE_WORDS) + " " + pick(random, TITLE_WORDS);
+        return random.nextInt(3) == 0 ? title + " " + internshipID : title;
+    }
+
+    /**
+     * Picks a random element.
+     *
+     * @param random the source of the choice
+     * @param values the values to choose from
+     * @return the chosen value
+     */
+    public static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Returns the IDs of internships in iteration order.
+     *
+     * @param internships the internships
+     * @return their IDs
+     */
+    public static List<String> ids(Collection<Internship> internships) {
+        return internships.stream().map(Internship::getInternshipID).collect(Collectors.toList());
+    }
+
+    /**
+     * Sorts internships by title, then by ID, and keeps the first of them.
+     *
+     * @param internships the internships
+     * @param limit the number of internships to keep
+     * @return the first internships in title order
+     */
+    public static List<Internship> inTitleOrder(Collection<Internship> internships, int limit) {
+        return internships.stream().sorted(Comparator.comparing(Internship::getTitle).thenComparing(Internship::getInternshipID))
+                .limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Sorts internships by a date, then by ID, and keeps the first of them.
+     *
+     * @param internships the internships
+     * @param date the date to order by
+     * @param limit the number of internships to keep
+     * @return the first internships in date order
+     */
+    public static List<Internship> inDateOrder(Collection<Internship> internships, Function<Internship, LocalDate> date,
+                                               int limit) {
+        return internships.stream().sorted(Comparator.comparing(date).thenComparing(Internship::getInternshipID))
+                .limit(limit).collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the data in a directory the way the application does, through a {@link SnapshotStore}.
+     *
+     * @param directory the data directory
+     * @return the loaded data manager, with its journal open
+     */
+    public static DataManager load(Path directory) {
+        DataManager dataManager = new DataManager();
+        new SnapshotStore(directory.toString()).load(dataManager);
+        return dataManager;
+    }
+
+    /**
+     * Returns the entity data held by a data manager in the layout of the data files, with the records
+     * of each file sorted so that two data managers holding the same entities compare equal.
+     * The modified flags of the data manager are left as they were.
+     *
+     * @param dataManager the data manager
+     * @return the records of every entity data file
+     * @throws IOException if the temporary files cannot be written or read
+     */
+    public static String dump(DataManager dataManager) throws IOException {
+        EnumSet<DataFile> modified = dataManager.getModifiedFiles();
+        Path directory = Files.createTempDirectory("internship-dump");
+        StringBuilder text = new StringBuilder();
+        try {
+            for (DataFile dataFile : DataFile.values()) {
+                if (dataFile == DataFile.ACTIVITY_LOGS) {
+                    continue;
+                }
+                Path path = directory.resolve(dataFile.getFileName());
+                dataManager.save(dataFile, path.toString());
+                List<String> lines = new ArrayList<>(Files.readAllLines(path));
+                Collections.sort(lines);
+                text.append("== ").append(dataFile.getFileName()).append('\n');
+                for (String line : lines) {
+                    text.append(line).append('\n');
+                }
+            }
+        } finally {
+            dataManager.restoreModifiedFiles(modified);
+            delete(directory);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the application IDs held by an internship, sorted.
+     *
+     * @param internship the internship
+     * @return the sorted application IDs
+     */
+    public static List<String> applicationIDs(Internship internship) {
+        return internship.getApplications().stream().map(InternshipApplication::getApplicationID).sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recursively deletes a file or directory if it exists.
+     *
+     * @param path the file or directory to delete
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(path)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path each : paths) {
+            Files.delete(each);
+        }
+    }
+}
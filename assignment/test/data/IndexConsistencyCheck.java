@@ -0,0 +1,246 @@
+package data;
+
+import static data.Checks.*;
+
+import control.*;
+import entity.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Checks that the internship indexes kept by the data manager, and the eligibility buckets kept by the
+ * student manager, give the same answers as a full scan of the internships after internships are
+ * modified through their setters, added and removed. Each round applies a batch of random changes and
+ * then compares every indexed query with the internships a scan finds.
+ *
+ * @version 1.0
+ */
+public class IndexConsistencyCheck {
+    private static final int ROUNDS = 30;
+    private static final int CHANGES_PER_ROUND = 25;
+
+    /**
+     * Runs the check.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        Random random = new Random(13);
+        DataManager dataManager = new DataManager();
+        StudentManager studentManager = new StudentManager(dataManager);
+        List<Student> students = new ArrayList<>();
+        for (int year = 1; year <= 4; year++) {
+            for (String major : MAJORS) {
+                Student student = new Student("U" + year + major, "Student", "password", year, major, "s@e.ntu.edu.sg");
+                dataManager.addUser(student);
+                students.add(student);
+            }
+        }
+        int nextID = 1;
+        for (; nextID <= 200; nextID++) {
+            dataManager.addInternship(newInternship(random, nextID));
+        }
+        for (Student student : students) {
+            studentManager.getAvailableInternships(student, false);
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            for (int change = 0; change < CHANGES_PER_ROUND; change++) {
+                List<Internship> all = new ArrayList<>(dataManager.getAllInternships());
+                all.sort(Comparator.comparing(Internship::getInternshipID));
+                Internship internship = all.get(random.nextInt(all.size()));
+                switch (random.nextInt(11)) {
+                    case 0: internship.setStatus(pick(random, STATUSES)); break;
+                    case 1: internship.setLevel(pick(random, LEVELS)); break;
+                    case 2: internship.setPreferredMajor(pick(random, MAJORS)); break;
+                    case 3: internship.setTitle(newTitle(random, internship.getInternshipID())); break;
+                    case 4: internship.setVisible(!internship.isVisible()); break;
+                    case 5: internship.setClosingDate(LocalDate.now().plusDays(random.nextInt(60) - 10)); break;
+                    case 6: internship.setOpeningDate(LocalDate.now().minusDays(random.nextInt(20))); break;
+                    case 7: internship.setFilledSlots(random.nextInt(internship.getNumSlots() + 1)); break;
+                    case 8: internship.setDescription(pick(random, TITLE_WORDS) + " work " + random.nextInt(5)); break;
+                    case 9: dataManager.removeInternship(internship.getInternshipID()); break;
+                    default: dataManager.addInternship(newInternship(random, nextID++)); break;
+                }
+            }
+            compareWithScan(dataManager, studentManager, students, random, "round " + round);
+        }
+        done("IndexConsistencyCheck");
+    }
+
+    /**
+     * Compares every indexed query with a full scan of the internships.
+     *
+     * @param dataManager the data manager
+     * @param studentManager the student manager holding the eligibility buckets
+     * @param students the students whose eligibility is checked
+     * @param random the source of query parameters
+     * @param round the description of the round
+     */
+    private static void compareWithScan(DataManager dataManager, StudentManager studentManager, List<Student> students,
+                                        Random random, String round) {
+        Collection<Internship> all = dataManager.getAllInternships();
+        for (String status : STATUSES) {
+            checkSame(scan(all, i -> i.getStatus().equals(status)), dataManager.getInternshipsByStatus(status),
+                    round + ": status " + status);
+            checkEquals(scan(all, i -> i.getStatus().equals(status)).size(),
+                    dataManager.countInternships(InternshipIndex.Attribute.STATUS, status), round + ": count of status " + status);
+        }
+        for (String major : MAJORS) {
+            checkSame(scan(all, i -> i.getPreferredMajor().equals(major)), dataManager.getInternshipsByMajor(major),
+                    round + ": major " + major);
+        }
+        for (String level : LEVELS) {
+            checkSame(scan(all, i -> i.getLevel().equals(level)), dataManager.getInternshipsByLevel(level),
+                    round + ": level " + level);
+        }
+        for (int rep = 1; rep <= 5; rep++) {
+            String company = "Company " + rep;
+            String repID = "rep" + rep + "@company.com";
+            checkSame(scan(all, i -> i.getCompanyName().equals(company)), dataManager.getInternshipsByCompany(company),
+                    round + ": company " + company);
+            checkSame(scan(all, i -> i.getRepInCharge().equals(repID)), dataManager.getInternshipsByRep(repID),
+                    round + ": representative " + repID);
+        }
+
+        for (int query = 0; query < 20; query++) {
+            String status = random.nextBoolean() ? pick(random, STATUSES) : null;
+            String major = random.nextBoolean() ? pick(random, MAJORS) : null;
+            String level = random.nextBoolean() ? pick(random, LEVELS) : null;
+            Boolean visible = random.nextBoolean() ? Boolean.valueOf(random.nextBoolean()) : null;
+            LocalDate closingBefore = random.nextBoolean() ? LocalDate.now().plusDays(random.nextInt(60) - 10) : null;
+            Predicate<Internship> filter = i -> (status == null || i.getStatus().equals(status))
+                    && (major == null || i.getPreferredMajor().equals(major))
+                    && (level == null || i.getLevel().equals(level))
+                    && (visible == null || i.isVisible() == visible)
+                    && (closingBefore == null || !i.getClosingDate().isAfter(closingBefore));
+            String description = round + ": filter " + status + "/" + major + "/" + level + "/" + visible + "/" + closingBefore;
+            List<Internship> expected = scan(all, filter);
+            checkSame(expected, dataManager.filterInternships(status, major, level, visible, closingBefore), description);
+            checkEquals(expected.size(), dataManager.countInternships(status, major, level, visible, closingBefore),
+                    "count of " + description);
+            int limit = 1 + random.nextInt(15);
+            checkEquals(ids(inTitleOrder(expected, limit)),
+                    ids(dataManager.filterInternshipsByTitle(status, major, level, visible, closingBefore, limit)),
+                    "title order of " + description);
+            checkEquals(ids(inTitleOrder(expected, limit)), ids(dataManager.firstInTitleOrder(filter, limit)),
+                    "title index walk of " + description);
+        }
+        checkEquals(ids(inTitleOrder(all, all.size())), ids(dataManager.sortByTitle(new ArrayList<>(all))),
+                round + ": all internships by title");
+
+        for (int query = 0; query < 5; query++) {
+            LocalDate from = random.nextBoolean() ? LocalDate.now().minusDays(random.nextInt(20)) : null;
+            LocalDate to = random.nextBoolean() ? LocalDate.now().plusDays(random.nextInt(50) - 10) : null;
+            String range = " between " + from + " and " + to;
+            List<Internship> opening = scan(all, i -> within(i.getOpeningDate(), from, to));
+            List<Internship> closing = scan(all, i -> within(i.getClosingDate(), from, to));
+            List<Internship> openingIndexed = dataManager.getInternshipsOpeningBetween(from, to);
+            List<Internship> closingIndexed = dataManager.getInternshipsClosingBetween(from, to);
+            checkSame(opening, openingIndexed, round + ": opening" + range);
+            checkSame(closing, closingIndexed, round + ": closing" + range);
+            checkEquals(opening.size(), dataManager.countInternshipsOpeningBetween(from, to), round + ": count opening" + range);
+            checkEquals(closing.size(), dataManager.countInternshipsClosingBetween(from, to), round + ": count closing" + range);
+            checkEquals(ids(inDateOrder(opening, Internship::getOpeningDate, opening.size())), ids(openingIndexed),
+                    round + ": opening" + range + " in date order");
+            checkEquals(ids(inDateOrder(closing, Internship::getClosingDate, closing.size())), ids(closingIndexed),
+                    round + ": closing" + range + " in date order");
+        }
+        List<Internship> shuffled = new ArrayList<>(all);
+        Collections.shuffle(shuffled, random);
+        for (int size : new int[] {shuffled.size(), shuffled.size() / 2, 5}) {
+            List<Internship> some = shuffled.subList(0, size);
+            checkEquals(ids(inDateOrder(some, Internship::getClosingDate, size)), ids(dataManager.sortByClosingDate(some)),
+                    round + ": " + size + " internships sorted by closing date");
+        }
+
+        for (int query = 0; query < 5; query++) {
+            String word = pick(random, TITLE_WORDS);
+            String keyword = random.nextBoolean() ? word.substring(0, 2 + random.nextInt(word.length() - 1))
+                    : word + " " + pick(random, TITLE_WORDS).substring(0, 3);
+            List<String> terms = tokens(keyword);
+            checkSame(scan(all, i -> matchesAll(i, terms)), dataManager.searchInternships(keyword),
+                    round + ": search for \"" + keyword + "\"");
+        }
+
+        for (Student student : students) {
+            List<Internship> expected = scan(all, i -> i.getStatus().equals("Approved") && i.isVisible()
+                    && i.getPreferredMajor().equals(student.getMajor()) && !i.isFull()
+                    && student.canApplyForLevel(i.getLevel()));
+            checkSame(expected, studentManager.getAvailableInternships(student, false),
+                    round + ": internships available to " + student.getUserID());
+        }
+    }
+
+    /**
+     * Returns the internships satisfying a condition, found by testing every one.
+     *
+     * @param internships the internships to scan
+     * @param filter the condition
+     * @return the matching internships
+     */
+    private static List<Internship> scan(Collection<Internship> internships, Predicate<Internship> filter) {
+        return internships.stream().filter(filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Fails unless two lists hold the same internships, ignoring order, and neither holds one twice.
+     *
+     * @param expected the internships found by a scan
+     * @param actual the internships returned by an index
+     * @param description what was compared
+     */
+    private static void checkSame(List<Internship> expected, List<Internship> actual, String description) {
+        checkEquals(new TreeSet<>(ids(expected)), new TreeSet<>(ids(actual)), description);
+        checkEquals(expected.size(), actual.size(), description + " without duplicates");
+    }
+
+    /**
+     * Checks whether a date lies within an inclusive range.
+     *
+     * @param date the date
+     * @param from the earliest date, or null for no lower bound
+     * @param to the latest date, or null for no upper bound
+     * @return true if the date is within the range
+     */
+    private static boolean within(LocalDate date, LocalDate from, LocalDate to) {
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    /**
+     * Splits text into lowercase words of letters and digits, the way the full-text index does.
+     *
+     * @param text the text
+     * @return the words in text order
+     */
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Checks whether every term starts a word of the title, description or company name of an internship.
+     *
+     * @param internship the internship
+     * @param terms the search terms
+     * @return true if the internship matches every term
+     */
+    private static boolean matchesAll(Internship internship, List<String> terms) {
+        List<String> words = new ArrayList<>(tokens(internship.getTitle()));
+        words.addAll(tokens(internship.getDescription()));
+        words.addAll(tokens(internship.getCompanyName()));
+        for (String term : terms) {
+            if (words.stream().noneMatch(word -> word.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,193 @@
+package data;
+
+import static data.Checks.*;
+
+import control.*;
+import entity.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Checks that replaying the write-ahead journal after a crash restores every change made through the
+ * managers. A crash is simulated by loading the data directory again without a checkpoint or closing
+ * the journal, which is what a restart after the process was killed would see.
+ *
+ * @version 1.0
+ */
+public class JournalReplayCheck {
+    /**
+     * Runs the check.
+     *
+     * @param args not used
+     * @throws Exception if the data directory cannot be prepared or the check fails
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = newDataDirectory(30, 40, 1);
+        try {
+            replaysManagerOperations(directory);
+            ignoresTornFinalRecord(directory);
+            journalsWithdrawalChangesOnce(directory);
+            doesNotResurrectRemovedEntities(directory);
+        } finally {
+            delete(directory);
+        }
+        done("JournalReplayCheck");
+    }
+
+    /**
+     * Applies, approves, accepts and withdraws through the managers, none of which is told which
+     * entities it changed, and checks that a reload reproduces the same data and links.
+     *
+     * @param directory the data directory
+     * @throws Exception if the check fails
+     */
+    private static void replaysManagerOperations(Path directory) throws Exception {
+        DataManager dataManager = load(directory);
+        StudentManager students = new StudentManager(dataManager);
+        CompanyRepresentativeManager reps = new CompanyRepresentativeManager(dataManager);
+        CareerCenterStaffManager staff = new CareerCenterStaffManager(dataManager);
+
+        for (Internship internship : new ArrayList<>(staff.getPendingInternships())) {
+            check(staff.approveInternship(internship.getInternshipID(), "staff1"), "pending internship is approved");
+        }
+        int applied = 0;
+        for (Student student : new ArrayList<>(dataManager.getAllStudents())) {
+            for (Internship internship : students.getAvailableInternships(student)) {
+                if (student.getApplications().size() < 2 && students.applyForInternship(student, internship.getInternshipID())) {
+                    applied++;
+                    Thread.sleep(2);
+                }
+            }
+        }
+        check(applied > 10, "students can apply for internships (applied " + applied + ")");
+        for (InternshipApplication application : new ArrayList<>(dataManager.getAllApplications())) {
+            reps.approveApplication(application.getApplicationID());
+        }
+        int accepted = 0;
+        for (Student student : new ArrayList<>(dataManager.getAllStudents())) {
+            for (InternshipApplication application : new ArrayList<>(student.getApplications())) {
+                if (students.acceptPlacement(student, application.getApplicationID())) {
+                    accepted++;
+                }
+            }
+        }
+        check(accepted > 0, "students can accept placements");
+        Student withdrawing = null;
+        for (Student student : dataManager.getAllStudents()) {
+            if (student.getAcceptedInternshipID() != null) {
+                withdrawing = student;
+                break;
+            }
+        }
+        for (InternshipApplication application : withdrawing.getApplications()) {
+            if (application.isConfirmed()) {
+                students.withdrawApplication(withdrawing, application.getApplicationID());
+                check(staff.approveWithdrawal(application.getApplicationID(), "staff1"), "withdrawal is approved");
+            }
+        }
+        dataManager.getStudent("U0000001A").setPassword("changed");
+        dataManager.saveChanges();
+
+        String expected = dump(dataManager);
+        check(dataManager.getJournalRecordCount() > 0, "changes are journaled");
+        check(!Files.exists(directory.resolve(SnapshotStore.MANIFEST_FILE)), "no checkpoint has been written");
+
+        DataManager restarted = load(directory);
+        checkEquals(expected, dump(restarted), "data after replaying the journal");
+        for (Internship internship : dataManager.getAllInternships()) {
+            checkEquals(applicationIDs(internship), applicationIDs(restarted.getInternship(internship.getInternshipID())),
+                    "applications linked to " + internship.getInternshipID());
+        }
+        for (Student student : dataManager.getAllStudents()) {
+            checkEquals(student.getApplications().size(), restarted.getStudent(student.getUserID()).getApplications().size(),
+                    "applications linked to " + student.getUserID());
+        }
+        checkEquals("changed", restarted.getStudent("U0000001A").getPassword(), "password changed before the crash");
+        dataManager.closeJournal();
+        restarted.closeJournal();
+    }
+
+    /**
+     * Appends half a record, as a crash in the middle of a write would leave, and checks that it is skipped
+     * and that records appended after the restart still replay.
+     *
+     * @param directory the data directory
+     * @throws Exception if the check fails
+     */
+    private static void ignoresTornFinalRecord(Path directory) throws Exception {
+        DataManager before = load(directory);
+        String expected = dump(before);
+        String title = before.getInternship("INT1").getTitle();
+        before.closeJournal();
+        Files.write(directory.resolve(SnapshotStore.JOURNAL_FILE), "PUT|INTERNSHIP|INT1|Torn".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        DataManager restarted = load(directory);
+        checkEquals(expected, dump(restarted), "data after replaying a journal ending in a torn record");
+        restarted.getInternship("INT2").setTitle("Renamed after crash");
+        restarted.closeJournal();
+
+        DataManager again = load(directory);
+        checkEquals("Renamed after crash", again.getInternship("INT2").getTitle(), "change journaled after a torn record");
+        checkEquals(title, again.getInternship("INT1").getTitle(), "torn record is not replayed after a second restart");
+        again.closeJournal();
+    }
+
+    /**
+     * Requests and cancels the withdrawal of an application, checking that each change writes a single
+     * journal record and that replay restores the request flag and reason together.
+     *
+     * @param directory the data directory
+     * @throws IOException if the check fails
+     */
+    private static void journalsWithdrawalChangesOnce(Path directory) throws IOException {
+        DataManager dataManager = load(directory);
+        InternshipApplication application = null;
+        for (InternshipApplication candidate : dataManager.getAllApplications()) {
+            if (!candidate.isWithdrawalRequested()) {
+                application = candidate;
+                break;
+            }
+        }
+        String applicationID = application.getApplicationID();
+        int records = dataManager.getJournalRecordCount();
+        application.requestWithdrawal("Changed plans");
+        checkEquals(records + 1, dataManager.getJournalRecordCount(), "a withdrawal request writes one journal record");
+        application.requestWithdrawal("Moving abroad");
+        checkEquals(records + 2, dataManager.getJournalRecordCount(), "a new withdrawal reason writes one journal record");
+        dataManager.closeJournal();
+
+        DataManager restarted = load(directory);
+        InternshipApplication replayed = restarted.getApplication(applicationID);
+        check(replayed.isWithdrawalRequested(), "withdrawal request after replay");
+        checkEquals("Moving abroad", replayed.getWithdrawalReason(), "withdrawal reason after replay");
+        records = restarted.getJournalRecordCount();
+        replayed.cancelWithdrawalRequest();
+        checkEquals(records + 1, restarted.getJournalRecordCount(), "cancelling a withdrawal writes one journal record");
+        restarted.closeJournal();
+
+        DataManager again = load(directory);
+        check(!again.getApplication(applicationID).isWithdrawalRequested(), "cancelled withdrawal after replay");
+        again.closeJournal();
+    }
+
+    /**
+     * Removes an internship and changes the removed object afterwards; the change must not bring it back.
+     *
+     * @param directory the data directory
+     * @throws IOException if the check fails
+     */
+    private static void doesNotResurrectRemovedEntities(Path directory) throws IOException {
+        DataManager dataManager = load(directory);
+        Internship removed = dataManager.getInternship("INT3");
+        dataManager.removeInternship("INT3");
+        removed.setTitle("Edited after removal");
+        dataManager.closeJournal();
+
+        DataManager restarted = load(directory);
+        check(restarted.getInternship("INT3") == null, "removed internship stays removed after replay");
+        restarted.closeJournal();
+    }
+}
@@ -0,0 +1,222 @@
+package data;
+
+import entity.*;
+import java.io.*;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Benchmark comparing the {@link PipeRecordReader} loaders with the String.split parsing they replaced.
+ * Generates an applications file and an activity logs file with a fixed seed, then parses each one
+ * alternately with both parsers for a number of rounds and prints the minimum, median and maximum time
+ * of each. Both parsers build the same entities, and the benchmark fails if they disagree on any record.
+ * Mapped loading is left off, so both sides parse on a single thread.
+ * <p>
+ * Usage: {@code java -Xms2g -Xmx2g -cp <classes> data.ParseBenchmark [records] [rounds]}
+ * (defaults: 1000000 records, 9 rounds).
+ *
+ * @version 1.0
+ */
+public class ParseBenchmark {
+    private static final String[] STATUSES = {"Pending", "Successful", "Unsuccessful", "Withdrawn"};
+    private static final String[] USER_TYPES = {"Student", "CompanyRepresentative", "CareerCenterStaff"};
+    private static final String[] ACTIVITIES = {"Applied for internship", "Approved application",
+        "Requested withdrawal for application", "Changed password", "Approved internship"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the number of records per file and the number of rounds (optional)
+     * @throws IOException if the generated files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+        Path directory = Files.createTempDirectory("parse-benchmark");
+        Path applications = directory.resolve("applications.txt");
+        Path activityLogs = directory.resolve("activitylogs.txt");
+        writeApplications(applications, records);
+        writeActivityLogs(activityLogs, records);
+
+        DataManager dataManager = new DataManager();
+        checkApplications(splitApplications(applications.toString()), dataManager.readApplications(applications.toString()));
+        checkActivityLogs(splitActivityLogs(activityLogs.toString()), dataManager.readActivityLogs(activityLogs.toString()));
+
+        long[][] times = new long[4][rounds];
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            checksum += splitApplications(applications.toString()).size();
+            times[0][round] = System.nanoTime() - start;
+            start = System.nanoTime();
+            checksum += dataManager.readApplications(applications.toString()).size();
+            times[1][round] = System.nanoTime() - start;
+            start = System.nanoTime();
+            checksum += splitActivityLogs(activityLogs.toString()).size();
+            times[2][round] = System.nanoTime() - start;
+            start = System.nanoTime();
+            checksum += dataManager.readActivityLogs(activityLogs.toString()).size();
+            times[3][round] = System.nanoTime() - start;
+        }
+
+        System.out.println(records + " records per file, " + rounds + " rounds (min / median / max ms)");
+        System.out.println("applications   split       " + summarize(times[0]));
+        System.out.println("applications   pipe reader " + summarize(times[1]));
+        System.out.println("activity logs  split       " + summarize(times[2]));
+        System.out.println("activity logs  pipe reader " + summarize(times[3]));
+        System.out.println("(" + checksum + " records parsed)");
+
+        Files.delete(applications);
+        Files.delete(activityLogs);
+        Files.delete(directory);
+    }
+
+    /**
+     * Parses an applications file the way the loader did before the pipe record reader.
+     *
+     * @param filePath the path to the applications file
+     * @return the applications in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static List<InternshipApplication> splitApplications(String filePath) throws IOException {
+        List<InternshipApplication> loaded = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                String[] parts = line.trim().split("\\|");
+                if (parts.length >= 5) {
+                    InternshipApplication application = new InternshipApplication(parts[0].trim(), parts[1].trim(), parts[2].trim());
+                    application.setStatus(parts[3].trim());
+                    application.setConfirmed(Boolean.parseBoolean(parts[4].trim()));
+                    if (parts.length > 5 && Boolean.parseBoolean(parts[5].trim())) {
+                        application.requestWithdrawal(parts.length > 6 ? parts[6].trim() : "");
+                    }
+                    loaded.add(application);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Parses an activity logs file the way the loader did before the pipe record reader.
+     *
+     * @param filePath the path to the activity logs file
+     * @return the activity logs in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static List<ActivityLog> splitActivityLogs(String filePath) throws IOException {
+        List<ActivityLog> loaded = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                String[] parts = line.trim().split("\\|");
+                if (parts.length >= 5) {
+                    loaded.add(new ActivityLog(parts[0].trim(), parts[1].trim(), parts[2].trim(), parts[3].trim(),
+                            LocalDateTime.parse(parts[4].trim()), parts.length > 5 ? parts[5].trim() : ""));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Writes an applications file with a fixed seed.
+     *
+     * @param path the file to write
+     * @param records the number of records
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeApplications(Path path, int records) throws IOException {
+        Random random = new Random(5);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < records; i++) {
+                boolean withdrawal = random.nextInt(10) == 0;
+                writer.write("APP" + (1700000000000L + i) + "|U" + (2300000 + random.nextInt(200000)) + "A|INT"
+                        + random.nextInt(5000) + "|" + STATUSES[random.nextInt(STATUSES.length)] + "|"
+                        + (random.nextInt(4) == 0) + "|" + withdrawal + "|" + (withdrawal ? "Withdrawal request" : ""));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes an activity logs file with a fixed seed.
+     *
+     * @param path the file to write
+     * @param records the number of records
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeActivityLogs(Path path, int records) throws IOException {
+        Random random = new Random(7);
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 8, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (int i = 0; i < records; i++) {
+                timestamp = timestamp.plusSeconds(1 + random.nextInt(30));
+                writer.write("LOG" + i + "|U" + (2300000 + random.nextInt(200000)) + "A|"
+                        + USER_TYPES[random.nextInt(USER_TYPES.length)] + "|" + ACTIVITIES[random.nextInt(ACTIVITIES.length)]
+                        + "|" + timestamp + "|INT" + random.nextInt(5000));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Fails unless both parsers produced the same applications.
+     *
+     * @param expected the applications parsed with String.split
+     * @param actual the applications parsed with the pipe record reader
+     */
+    private static void checkApplications(List<InternshipApplication> expected, List<InternshipApplication> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("Parsed " + actual.size() + " applications, expected " + expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            InternshipApplication e = expected.get(i);
+            InternshipApplication a = actual.get(i);
+            if (!e.getApplicationID().equals(a.getApplicationID()) || !e.getStudentID().equals(a.getStudentID())
+                    || !e.getInternshipID().equals(a.getInternshipID()) || !e.getStatus().equals(a.getStatus())
+                    || e.isConfirmed() != a.isConfirmed() || e.isWithdrawalRequested() != a.isWithdrawalRequested()
+                    || !Objects.equals(e.getWithdrawalReason(), a.getWithdrawalReason())) {
+                throw new IllegalStateException("Application record " + i + " differs");
+            }
+        }
+    }
+
+    /**
+     * Fails unless both parsers produced the same activity logs.
+     *
+     * @param expected the activity logs parsed with String.split
+     * @param actual the activity logs parsed with the pipe record reader
+     */
+    private static void checkActivityLogs(List<ActivityLog> expected, List<ActivityLog> actual) {
+        if (expected.size() != actual.size()) {
+            throw new IllegalStateException("Parsed " + actual.size() + " activity logs, expected " + expected.size());
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            ActivityLog e = expected.get(i);
+            ActivityLog a = actual.get(i);
+            if (!e.getActivityID().equals(a.getActivityID()) || !e.getUserID().equals(a.getUserID())
+                    || !e.getUserType().equals(a.getUserType()) || !e.getActivityDescription().equals(a.getActivityDescription())
+                    || !e.getTimestamp().equals(a.getTimestamp()) || !e.getRelatedEntity().equals(a.getRelatedEntity())) {
+                throw new IllegalStateException("Activity log record " + i + " differs");
+            }
+        }
+    }
+
+    /**
+     * Formats the minimum, median and maximum of a set of timings.
+     *
+     * @param nanos the timings in nanoseconds
+     * @return the formatted summary in milliseconds
+     */
+    private static String summarize(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%7.0f / %7.0f / %7.0f", sorted[0] / 1e6, sorted[sorted.length / 2] / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+}
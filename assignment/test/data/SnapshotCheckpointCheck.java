@@ -0,0 +1,142 @@
+package data;
+
+import static data.Checks.*;
+
+import entity.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Checks that a checkpoint which fails part-way leaves the previous generation current with its journal,
+ * and that retrying it writes every change made before the failure. The checkpoint is made to fail at
+ * its last step, replacing the manifest, by putting a directory where the temporary manifest is written;
+ * by then every modified data file has already been saved into the abandoned generation.
+ *
+ * @version 1.0
+ */
+public class SnapshotCheckpointCheck {
+    /**
+     * Runs the check.
+     *
+     * @param args not used
+     * @throws Exception if the data directory cannot be prepared or the check fails
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = newDataDirectory(20, 30, 2);
+        try {
+            retriesFailedCheckpoint(directory);
+        } finally {
+            delete(directory);
+        }
+        directory = newDataDirectory(5, 5, 3);
+        try {
+            skipsUnchangedSessions(directory);
+        } finally {
+            delete(directory);
+        }
+        done("SnapshotCheckpointCheck");
+    }
+
+    /**
+     * Checks that a session that changes nothing writes no generation on exit, both before the first
+     * checkpoint and after one, and that a session with a change does.
+     *
+     * @param directory the data directory
+     * @throws Exception if the check fails
+     */
+    private static void skipsUnchangedSessions(Path directory) throws Exception {
+        Path manifest = directory.resolve(SnapshotStore.MANIFEST_FILE);
+        SnapshotStore store = new SnapshotStore(directory.toString());
+        DataManager dataManager = new DataManager();
+        store.load(dataManager);
+        dataManager.getStudent("U0000001A").validatePassword("password");
+        store.checkpointIfChanged(dataManager);
+        dataManager.closeJournal();
+        check(!Files.exists(manifest), "an unchanged first session writes no generation");
+
+        store = new SnapshotStore(directory.toString());
+        dataManager = new DataManager();
+        store.load(dataManager);
+        dataManager.getStudent("U0000001A").setPassword("first");
+        store.checkpointIfChanged(dataManager);
+        dataManager.closeJournal();
+        checkEquals("gen-000001", manifest(directory), "a session with a change writes a generation");
+
+        store = new SnapshotStore(directory.toString());
+        dataManager = new DataManager();
+        store.load(dataManager);
+        store.checkpointIfChanged(dataManager);
+        dataManager.closeJournal();
+        checkEquals("gen-000001", manifest(directory), "an unchanged later session writes no generation");
+        check(!Files.exists(directory.resolve("snapshots").resolve("gen-000002")), "no new generation directory");
+        DataManager restarted = load(directory);
+        checkEquals("first", restarted.getStudent("U0000001A").getPassword(), "the change is kept");
+        restarted.closeJournal();
+    }
+
+    /**
+     * Fails a checkpoint twice, checks what a restart would load in between, and retries it.
+     *
+     * @param directory the data directory
+     * @throws Exception if the check fails
+     */
+    private static void retriesFailedCheckpoint(Path directory) throws Exception {
+        DataManager dataManager = new DataManager();
+        SnapshotStore store = new SnapshotStore(directory.toString());
+        store.load(dataManager);
+        store.checkpoint(dataManager);
+        checkEquals("gen-000001", manifest(directory), "first checkpoint is current");
+
+        dataManager.getInternship("INT1").setTitle("Retitled");
+        dataManager.getInternship("INT2").setStatus("Rejected");
+        dataManager.getStudent("U0000001A").setPassword("changed");
+        dataManager.addActivityLog(new ActivityLog("staff1", "CareerCenterStaff", "Rejected internship", "INT2"));
+        String expected = dump(dataManager);
+
+        Path blocker = directory.resolve(SnapshotStore.MANIFEST_FILE + ".tmp");
+        Files.createDirectories(blocker.resolve("blocked"));
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            store.checkpoint(dataManager);
+            checkEquals("gen-000001", manifest(directory), "failed checkpoint " + attempt + " leaves the manifest alone");
+            check(dataManager.isModified(DataFile.INTERNSHIPS), "internships are still modified after failure " + attempt);
+            check(dataManager.isModified(DataFile.STUDENTS), "students are still modified after failure " + attempt);
+
+            DataManager restarted = load(directory);
+            checkEquals(expected, dump(restarted), "data a restart loads after failure " + attempt);
+            restarted.closeJournal();
+        }
+        delete(blocker);
+
+        store.checkpoint(dataManager);
+        checkEquals("gen-000002", manifest(directory), "retried checkpoint is current");
+        check(!dataManager.isModified(DataFile.INTERNSHIPS), "internships are saved by the retried checkpoint");
+        checkEquals(0, dataManager.getJournalRecordCount(), "journal is empty after the retried checkpoint");
+        Path generation = directory.resolve("snapshots").resolve("gen-000002");
+        check(Files.readAllLines(generation.resolve(DataFile.INTERNSHIPS.getFileName())).stream()
+                .anyMatch(line -> line.startsWith("INT1|Retitled|")), "retried generation holds the retitled internship");
+        check(Files.size(generation.resolve(SnapshotStore.JOURNAL_FILE)) == 0, "retried generation starts an empty journal");
+
+        DataManager restarted = load(directory);
+        checkEquals(expected, dump(restarted), "data a restart loads after the retried checkpoint");
+        restarted.closeJournal();
+
+        dataManager.getInternship("INT3").setTitle("After retry");
+        store.checkpoint(dataManager);
+        dataManager.closeJournal();
+        DataManager again = load(directory);
+        checkEquals("After retry", again.getInternship("INT3").getTitle(), "checkpoint after the retry");
+        checkEquals("Retitled", again.getInternship("INT1").getTitle(), "retried change survives the next checkpoint");
+        again.closeJournal();
+    }
+
+    /**
+     * Reads the generation named by the manifest.
+     *
+     * @param directory the data directory
+     * @return the generation name
+     * @throws Exception if the manifest cannot be read
+     */
+    private static String manifest(Path directory) throws Exception {
+        return new String(Files.readAllBytes(directory.resolve(SnapshotStore.MANIFEST_FILE)), StandardCharsets.UTF_8).trim();
+    }
+}
@@ -0,0 +1,11 @@
+#!/bin/sh
+# Compiles the application together with the checks under test/ and runs every *Check class.
+# Usage: test/run-checks.sh (from the assignment directory)
+set -e
+cd "$(dirname "$0")/.."
+classes=$(mktemp -d)
+trap 'rm -rf "$classes"' EXIT
+javac -d "$classes" $(find app control data entity view test -name '*.java')
+for check in $(cd test && find . -name '*Check.java' | sed 's|^\./||; s|\.java$||; s|/|.|g' | sort); do
+    java -cp "$classes" "$check"
+done
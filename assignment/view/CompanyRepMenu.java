@@ -658,8 +658,7 @@ public class CompanyRepMenu {
             User currentUser = authManager.getCurrentUser();
             ActivityLog log = new ActivityLog(currentUser.getUserID(), "CompanyRepresentative", "Changed password", currentUser.getUserID());
             dataManager.addActivityLog(log);
-            dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-            dataManager.saveActivityLogs("data/activitylogs.txt");
+            dataManager.saveChanges();
             System.out.println("Password changed successfully! Please log in again.");
             authManager.logout();
             return true;
@@ -3,6 +3,7 @@ package view;
 import java.util.Scanner;
 import entity.*;
 import data.DataManager;
+import data.SnapshotStore;
 import control.*;
 
 /**
@@ -15,15 +16,18 @@ import control.*;
 public class MainMenu {
     private Scanner scanner;
     private DataManager dataManager;
+    private SnapshotStore snapshotStore;
     private AuthenticationManager authManager;
     private StudentManager studentManager;
     private CompanyRepresentativeManager companyRepManager;
     private CareerCenterStaffManager staffManager;
     private FilterManager filterManager;
+    private AutocompleteManager autocompleteManager;
 
     public MainMenu() {
         this.scanner = new Scanner(System.in);
         this.dataManager = new DataManager();
+        this.snapshotStore = new SnapshotStore("data");
         this.authManager = new AuthenticationManager(dataManager);
         this.studentManager = new StudentManager(dataManager);
         this.companyRepManager = new CompanyRepresentativeManager(dataManager);
@@ -32,13 +36,13 @@ public class MainMenu {
     }
 
     public void start() {
-        dataManager.loadStudents("data/students.txt");
-        dataManager.loadStaff("data/staff.txt");
-        dataManager.loadCompanyReps("data/companyreps.txt");
-        dataManager.loadInternships("data/internships.txt");
-        dataManager.linkInternshipsToReps();
-        dataManager.loadApplications("data/applications.txt");
-        dataManager.loadActivityLogs("data/activitylogs.txt");
+        dataManager.setMappedLoading(true);
+        snapshotStore.load(dataManager);
+        if (Boolean.getBoolean("internship.startup.timings")) {
+            snapshotStore.getStartupLoader().printTimings();
+        }
+        dataManager.enableGroupCommit(200, 64);
+        autocompleteManager = new AutocompleteManager(dataManager);
 
         while (true) {
             if (!authManager.isLoggedIn()) {
@@ -46,13 +50,13 @@ public class MainMenu {
             } else {
                 User user = authManager.getCurrentUser();
                 if (user instanceof Student) {
-                    new StudentMenu(scanner, dataManager, authManager, studentManager, filterManager).show((Student) user);
+                    new StudentMenu(scanner, dataManager, authManager, studentManager, filterManager, autocompleteManager).show((Student) user);
                 } else if (user instanceof CompanyRepresentative) {
                     new CompanyRepMenu(scanner, dataManager, authManager, companyRepManager).show((CompanyRepresentative) user);
                 } else if (user instanceof CareerCenterStaff) {
                     new StaffMenu(scanner, dataManager, authManager, staffManager, filterManager).show((CareerCenterStaff) user);
                 }
-                dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
+                snapshotStore.checkpointIfNeeded(dataManager);
             }
         }
     }
@@ -74,6 +78,9 @@ public class MainMenu {
                 registerCompanyRep();
                 break;
             case "3":
+                snapshotStore.checkpointIfChanged(dataManager);
+                dataManager.closeJournal();
+                dataManager.shutdownScanPool();
                 System.out.println("Thank you for using the system!");
                 System.exit(0);
                 break;
@@ -150,7 +157,7 @@ public class MainMenu {
         }
 
         if (authManager.resetPassword(userID, newPassword)) {
-            dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
+            dataManager.saveChanges();
             System.out.println("Password reset successfully!");
         } else {
             System.out.println("Password reset failed.");
@@ -173,7 +180,7 @@ public class MainMenu {
 
         CompanyRepresentative rep = new CompanyRepresentative(userID, name, password, companyName, department, position);
         dataManager.addUser(rep);
-        dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
+        dataManager.saveChanges();
         System.out.println("Registration submitted for approval. You will be notified once approved.");
     }
 
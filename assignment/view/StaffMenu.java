@@ -200,6 +200,7 @@ public class StaffMenu {
         System.out.println("2. Filter by Major");
         System.out.println("3. Filter by Level");
         System.out.println("4. View All Internships");
+        System.out.println("5. Closing Within Days");
         System.out.print("Choose filter: ");
 
         String choice = scanner.nextLine().trim();
@@ -221,6 +222,15 @@ public class StaffMenu {
             case "4":
                 results = new java.util.ArrayList<>(dataManager.getAllInternships());
                 break;
+            case "5":
+                try {
+                    int days = Integer.parseInt(getValidatedInput("Enter number of days: "));
+                    results = filterManager.getInternshipsClosingWithin(days);
+                } catch (NumberFormatException e) {
+                    System.out.println("Invalid number.");
+                    return;
+                }
+                break;
             default:
                 System.out.println("Invalid option.");
                 return;
@@ -235,6 +245,7 @@ public class StaffMenu {
                 System.out.println("Status: " + internship.getStatus());
                 System.out.println("Level: " + internship.getLevel());
                 System.out.println("Major: " + internship.getPreferredMajor());
+                System.out.println("Closing Date: " + internship.getClosingDate());
                 System.out.println();
             }
         } else {
@@ -261,8 +272,7 @@ public class StaffMenu {
             User currentUser = authManager.getCurrentUser();
             ActivityLog log = new ActivityLog(currentUser.getUserID(), "CareerCenterStaff", "Changed password", currentUser.getUserID());
             dataManager.addActivityLog(log);
-            dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-            dataManager.saveActivityLogs("data/activitylogs.txt");
+            dataManager.saveChanges();
             System.out.println("Password changed successfully! Please log in again.");
             authManager.logout();
             return true;
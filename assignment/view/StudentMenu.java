@@ -2,6 +2,10 @@ package view;
 
 import java.util.Scanner;
 import java.util.List;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Deque;
+import java.util.ArrayDeque;
 import entity.*;
 import data.DataManager;
 import control.*;
@@ -13,19 +17,26 @@ import control.*;
  * @version 1.0
  */
 public class StudentMenu {
+    private static final int SEARCH_RESULT_LIMIT = 10;
+    private static final int LISTING_PAGE_SIZE = 10;
+    private static final int SUGGESTION_LIMIT = 5;
+
     private Scanner scanner;
     private DataManager dataManager;
     private AuthenticationManager authManager;
     private StudentManager studentManager;
     private FilterManager filterManager;
+    private AutocompleteManager autocompleteManager;
 
     public StudentMenu(Scanner scanner, DataManager dataManager, AuthenticationManager authManager,
-                       StudentManager studentManager, FilterManager filterManager) {
+                       StudentManager studentManager, FilterManager filterManager,
+                       AutocompleteManager autocompleteManager) {
         this.scanner = scanner;
         this.dataManager = dataManager;
         this.authManager = authManager;
         this.studentManager = studentManager;
         this.filterManager = filterManager;
+        this.autocompleteManager = autocompleteManager;
     }
 
     public void show(Student student) {
@@ -75,10 +86,13 @@ public class StudentMenu {
 
     private void viewAvailableInternships(Student student) {
         boolean showAll = false;
+        Deque<String> previousCursors = new ArrayDeque<>();
+        String cursor = null;
         
         while (true) {
             System.out.println("\n===== Available Internships =====");
-            List<Internship> internships = studentManager.getAvailableInternships(student, !showAll);
+            InternshipPage page = studentManager.getAvailableInternships(student, !showAll, cursor, LISTING_PAGE_SIZE);
+            List<Internship> internships = page.getInternships();
             
             if (showAll) {
                 System.out.println("[Showing ALL internships - including closed and not-yet-open]");
@@ -92,6 +106,8 @@ public class StudentMenu {
                 String option = scanner.nextLine().trim().toUpperCase();
                 if (option.equals("T")) {
                     showAll = !showAll;
+                    previousCursors.clear();
+                    cursor = null;
                     continue;
                 } else {
                     break;
@@ -106,12 +122,26 @@ public class StudentMenu {
                 System.out.println("   Closing Date: " + internship.getClosingDate());
             }
 
-            System.out.println("\n(T)oggle view | Enter number to view details | (0) Go back");
+            System.out.println("\n(T)oggle view | (S)earch by keyword | Enter number to view details | (0) Go back");
+            if (page.hasNext() || !previousCursors.isEmpty()) {
+                System.out.println((page.hasNext() ? "(N)ext page" : "") + (page.hasNext() && !previousCursors.isEmpty() ? " | " : "")
+                        + (!previousCursors.isEmpty() ? "(P)revious page" : ""));
+            }
             System.out.print("Choice: ");
             String input = scanner.nextLine().trim().toUpperCase();
             
             if (input.equals("T")) {
                 showAll = !showAll;
+                previousCursors.clear();
+                cursor = null;
+            } else if (input.equals("N") && page.hasNext()) {
+                previousCursors.push(cursor != null ? cursor : "");
+                cursor = page.getNextCursor();
+            } else if (input.equals("P") && !previousCursors.isEmpty()) {
+                String previous = previousCursors.pop();
+                cursor = previous.isEmpty() ? null : previous;
+            } else if (input.equals("S")) {
+                searchInternships(student, studentManager.getAvailableInternships(student, !showAll));
             } else if (input.equals("0")) {
                 break;
             } else {
@@ -129,6 +159,82 @@ public class StudentMenu {
         }
     }
 
+    private String chooseTitleSuggestion(String prefix, List<Internship> available) {
+        List<String> suggestions = autocompleteManager.completeInternshipTitles(prefix, SUGGESTION_LIMIT, available);
+        if (suggestions.isEmpty()) {
+            System.out.println("No titles start with \"" + prefix + "\".");
+            return prefix;
+        }
+
+        System.out.println("\n===== Suggestions =====");
+        for (int i = 0; i < suggestions.size(); i++) {
+            System.out.println((i + 1) + ". " + suggestions.get(i));
+        }
+        System.out.print("Enter number to search for a suggestion, or press Enter to search for \"" + prefix + "\": ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            return prefix;
+        }
+        try {
+            int choice = Integer.parseInt(input);
+            if (choice > 0 && choice <= suggestions.size()) {
+                return suggestions.get(choice - 1);
+            }
+            System.out.println("Invalid input.");
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input.");
+        }
+        return prefix;
+    }
+
+    private void searchInternships(Student student, List<Internship> available) {
+        System.out.print("Enter keywords (end with * for title suggestions): ");
+        String keyword = scanner.nextLine().trim();
+        if (keyword.endsWith("*")) {
+            keyword = chooseTitleSuggestion(keyword.substring(0, keyword.length() - 1).trim(), available);
+        }
+        if (keyword.isEmpty()) {
+            return;
+        }
+        List<Internship> results = filterManager.rankInternships(keyword, SEARCH_RESULT_LIMIT, available);
+        String heading = "Best Matches for \"" + keyword + "\"";
+
+        if (results.isEmpty()) {
+            results = new ArrayList<>(filterManager.fuzzySearchInternships(keyword));
+            results.retainAll(new HashSet<>(available));
+            if (results.size() > SEARCH_RESULT_LIMIT) {
+                results = results.subList(0, SEARCH_RESULT_LIMIT);
+            }
+            heading = "Close Matches for \"" + keyword + "\"";
+        }
+
+        if (results.isEmpty()) {
+            System.out.println("No internships match your search.");
+            return;
+        }
+
+        System.out.println("\n===== " + heading + " =====");
+        for (int i = 0; i < results.size(); i++) {
+            Internship internship = results.get(i);
+            System.out.println((i + 1) + ". " + internship.getTitle() + " - " + internship.getCompanyName());
+            System.out.println("   Level: " + internship.getLevel());
+            System.out.println("   Closing Date: " + internship.getClosingDate());
+        }
+
+        System.out.print("\nEnter number to view details or (0) to go back: ");
+        String input = scanner.nextLine().trim();
+        try {
+            int choice = Integer.parseInt(input);
+            if (choice > 0 && choice <= results.size()) {
+                viewInternshipDetails(results.get(choice - 1), student);
+            } else if (choice != 0) {
+                System.out.println("Invalid input.");
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input.");
+        }
+    }
+
     private void viewInternshipDetails(Internship internship, Student student) {
         System.out.println("\n===== Internship Details =====");
         System.out.println("Title: " + internship.getTitle());
@@ -231,8 +337,7 @@ public class StudentMenu {
             User currentUser = authManager.getCurrentUser();
             ActivityLog log = new ActivityLog(currentUser.getUserID(), "Student", "Changed password", currentUser.getUserID());
             dataManager.addActivityLog(log);
-            dataManager.saveAllData("data/students.txt", "data/staff.txt", "data/companyreps.txt", "data/internships.txt", "data/applications.txt");
-            dataManager.saveActivityLogs("data/activitylogs.txt");
+            dataManager.saveChanges();
             System.out.println("Password changed successfully! Please log in again.");
             authManager.logout();
             return true;